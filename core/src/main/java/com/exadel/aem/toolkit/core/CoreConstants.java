@@ -17,6 +17,8 @@ package com.exadel.aem.toolkit.core;
  * Contains constant values used across the core module
  */
 public class CoreConstants {
+    public static final String NN_GRANITE_DATA = "granite:data";
+
     public static final String PN_APPEND = "append";
     public static final String PN_ITEM_RESOURCE_TYPE = "itemResourceType";
     public static final String PN_LIMIT = "limit";
@@ -30,6 +32,7 @@ public class CoreConstants {
 
     public static final String PARAMETER_ID = "@id";
     public static final String PARAMETER_NAME = "@name";
+    public static final String PARAMETER_TITLE = "@title";
 
     public static final String SEPARATOR_AT = "@";
     public static final String SEPARATOR_COLON = ":";
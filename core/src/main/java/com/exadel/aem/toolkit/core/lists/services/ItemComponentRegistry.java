@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services;
+
+import java.util.Map;
+
+import org.apache.sling.api.resource.ResourceResolver;
+
+/**
+ * Provides the collection of AEM components that can be used as Exadel Toolbox Lists items, i.e. the components
+ * under {@code /apps} that have the {@code listItem} flag
+ */
+public interface ItemComponentRegistry {
+
+    /**
+     * Retrieves the list item components that can be read with the given {@code ResourceResolver}
+     * @param resourceResolver {@code ResourceResolver} instance
+     * @return {@code Map} of component paths to component titles, or an empty map
+     */
+    Map<String, String> getItemComponents(ResourceResolver resourceResolver);
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services;
+
+import com.adobe.granite.jmx.annotation.Description;
+
+/**
+ * Exposes the statistics of the lists stored by {@link ListService} via JMX
+ */
+@Description("EToolbox Authoring Kit - Lists cache")
+public interface ListCacheMBean {
+
+    /**
+     * Retrieves the number of calls that were served with a stored list
+     * @return Long value
+     */
+    @Description("Number of calls served with a stored list")
+    long getHitCount();
+
+    /**
+     * Retrieves the number of calls that required reading a list from the repository
+     * @return Long value
+     */
+    @Description("Number of calls that required reading a list from the repository")
+    long getMissCount();
+
+    /**
+     * Retrieves the number of lists currently stored
+     * @return Integer value
+     */
+    @Description("Number of lists currently stored")
+    int getSize();
+
+    /**
+     * Discards all the stored lists and resets the statistics
+     */
+    @Description("Discards all the stored lists and resets the statistics")
+    void clear();
+}
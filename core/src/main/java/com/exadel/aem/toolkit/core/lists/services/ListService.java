@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+
+import com.exadel.aem.toolkit.core.lists.models.SimpleListItem;
+import com.exadel.aem.toolkit.core.lists.utils.ListHelper;
+
+/**
+ * Provides the same means of retrieving Exadel Toolbox Lists values as {@link ListHelper} does, but stores the lists
+ * of adapted items so that they are not read from the repository on every call. The stored lists and maps are
+ * unmodifiable and are shared between callers, therefore the item types must not retain the resources they were adapted
+ * from. Lists and maps of {@code Resource} objects are not stored, because a resource is bound to the
+ * {@code ResourceResolver} it was retrieved with
+ */
+public interface ListService {
+
+    /**
+     * Retrieves a collection of Sling {@link Resource}s representing list entries stored under given {@code path}
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @return List of resources. If the path provided is invalid or cannot be resolved, an empty list
+     * is returned
+     */
+    List<Resource> getResourceList(ResourceResolver resourceResolver, String path);
+
+    /**
+     * Retrieves a collection of {@link SimpleListItem} values representing list entries stored under given {@code path}
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @return Unmodifiable list of {@link SimpleListItem}s. If the path provided is invalid or cannot be resolved,
+     * an empty list is returned
+     */
+    List<SimpleListItem> getList(ResourceResolver resourceResolver, String path);
+
+    /**
+     * Retrieves a collection of items representing list entries stored under given {@code path} adapted to the provided
+     * {@code itemType}
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @param itemType         {@code Class} reference representing type of entries required
+     * @param <T>              Type of list entries, must be one adaptable from a Sling {@code Resource}
+     * @return Unmodifiable list of {@code <T>}-typed instances. If the path provided is invalid or cannot be resolved,
+     * or else a non-adaptable {@code itemType} is given, an empty list is returned
+     */
+    <T> List<T> getList(ResourceResolver resourceResolver, String path, Class<T> itemType);
+
+    /**
+     * Retrieves a collection of list entries stored under given {@code path} that is transformed into a key-value map.
+     * The keys represent {@code jcr:title} property of the underlying resource while the values are the underlying
+     * resources themselves. If several items have the same {@code jcr:title}, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @return Map representing title-to-value pairs. If the path provided is invalid or cannot be resolved, an empty
+     * map is returned
+     */
+    Map<String, Resource> getResourceMap(ResourceResolver resourceResolver, String path);
+
+    /**
+     * Retrieves a collection of list entries stored under given {@code path} that is transformed into a key-value map.
+     * The keys represent the attribute of the underlying resources specified by the given {@code keyName} while the
+     * values are the underlying resources themselves. If several items have the same key, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @param keyName          Item resource property that holds the key of the resulting map
+     * @return Map representing key-to-value pairs. If the path provided is invalid or cannot be resolved, an empty
+     * map is returned
+     */
+    Map<String, Resource> getResourceMap(ResourceResolver resourceResolver, String path, String keyName);
+
+    /**
+     * Retrieves a collection of list entries stored under given {@code path} that is transformed into a key-value map.
+     * The keys represent {@code jcr:title} property of the underlying resource while the value represents {@code value}
+     * property. If several items have the same {@code jcr:title}, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @return Unmodifiable map representing title-to-value pairs. If the path provided is invalid or cannot be
+     * resolved, an empty map is returned
+     */
+    Map<String, String> getMap(ResourceResolver resourceResolver, String path);
+
+    /**
+     * Retrieves a collection of list entries stored under given {@code path} that is transformed into a key-value map.
+     * Keys represent the attribute of the underlying resources specified by the given {@code keyName}. Values are the
+     * underlying resources themselves as adapted to the provided {@code itemType} model. If several items have the same
+     * key, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @param keyName          Item resource property that holds the key of the resulting map
+     * @param itemType         {@code Class} reference representing type of map values required
+     * @param <T>              Type of map values; must be one adaptable from a Sling {@code Resource}
+     * @return Unmodifiable map containing {@code <T>}-typed instances. If the path provided is invalid or cannot be
+     * resolved, or else a non-adaptable model {@code itemType} is given, an empty map is returned
+     */
+    <T> Map<String, T> getMap(ResourceResolver resourceResolver, String path, String keyName, Class<T> itemType);
+
+    /**
+     * Retrieves the {@code value} property of the list entry stored under given {@code path} that has the given
+     * {@code jcr:title}. If several items have the same {@code jcr:title}, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @param title            Title of the required entry
+     * @return String value, or null if there is no such entry
+     */
+    default String getValue(ResourceResolver resourceResolver, String path, String title) {
+        return getMap(resourceResolver, path).get(title);
+    }
+
+    /**
+     * Retrieves the list entry stored under given {@code path} that has the given key, as adapted to the provided
+     * {@code itemType} model. If several items have the same key, the last one is effective
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param path             JCR path of the items list
+     * @param keyName          Item resource property that holds the key
+     * @param key              Key of the required entry
+     * @param itemType         {@code Class} reference representing type of the entry required
+     * @param <T>              Type of the entry; must be one adaptable from a Sling {@code Resource}
+     * @return {@code <T>}-typed instance, or null if there is no such entry
+     */
+    default <T> T getItem(ResourceResolver resourceResolver, String path, String keyName, String key, Class<T> itemType) {
+        return getMap(resourceResolver, path, keyName, itemType).get(key);
+    }
+}
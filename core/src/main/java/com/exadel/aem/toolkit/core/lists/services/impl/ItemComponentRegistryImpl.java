@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services.impl;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.jcr.query.Query;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import com.day.cq.commons.jcr.JcrConstants;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.lists.services.ItemComponentRegistry;
+
+/**
+ * Implements {@link ItemComponentRegistry} to keep the collection of list item components in memory so that the
+ * repository is not queried every time the collection is requested. The collection is stored per user, because users
+ * may have different permissions for {@code /apps}. At most {@link #MAX_USERS} collections are kept, the least recently
+ * used being evicted first. A collection is populated when first requested, and discarded when any resource under
+ * {@code /apps} changes, including changes that originate from other cluster nodes
+ */
+@Component(
+    service = {ItemComponentRegistry.class, ResourceChangeListener.class},
+    property = ResourceChangeListener.PATHS + "=/apps"
+)
+public class ItemComponentRegistryImpl implements ItemComponentRegistry, ResourceChangeListener, ExternalResourceChangeListener {
+
+    private static final String SELECT_STATEMENT = String.format(
+        "SELECT * FROM [cq:Component] AS s WHERE ISDESCENDANTNODE(s,'/apps') AND [%s] = 'true'",
+        CoreConstants.PN_LIST_ITEM);
+
+    private static final int MAX_USERS = 100;
+
+    private final Map<String, Map<String, String>> itemComponentsByUser =
+        new LinkedHashMap<String, Map<String, String>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, String>> eldest) {
+                return size() > MAX_USERS;
+            }
+        };
+    private long version;
+
+    /**
+     * Discards the stored collections when the service is deactivated
+     */
+    @Deactivate
+    private synchronized void deactivate() {
+        itemComponentsByUser.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> getItemComponents(ResourceResolver resourceResolver) {
+        String userId = StringUtils.defaultString(resourceResolver.getUserID());
+        long initialVersion;
+        synchronized (this) {
+            Map<String, String> stored = itemComponentsByUser.get(userId);
+            if (stored != null) {
+                return stored;
+            }
+            initialVersion = version;
+        }
+        Map<String, String> result = findItemComponents(resourceResolver);
+        synchronized (this) {
+            // The collection is not stored if resources changed while the query was running
+            if (version == initialVersion) {
+                itemComponentsByUser.put(userId, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Discards the stored collections when resources under {@code /apps} change
+     * @param changes List of {@code ResourceChange} objects
+     */
+    @Override
+    public synchronized void onChange(@Nonnull List<ResourceChange> changes) {
+        version++;
+        itemComponentsByUser.clear();
+    }
+
+    /**
+     * Queries the repository for the list item components
+     * @param resourceResolver {@code ResourceResolver} instance used to run the query
+     * @return Unmodifiable {@code Map} of component paths to component titles
+     */
+    private static Map<String, String> findItemComponents(ResourceResolver resourceResolver) {
+        Map<String, String> result = new LinkedHashMap<>();
+        Iterator<Resource> resources = resourceResolver.findResources(SELECT_STATEMENT, Query.JCR_SQL2);
+        while (resources.hasNext()) {
+            Resource item = resources.next();
+            result.put(item.getPath(), item.getValueMap().get(JcrConstants.JCR_TITLE, StringUtils.EMPTY));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.management.DynamicMBean;
+import javax.management.NotCompliantMBeanException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import com.adobe.granite.jmx.annotation.AnnotatedStandardMBean;
+import com.day.cq.commons.jcr.JcrConstants;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.lists.models.SimpleListItem;
+import com.exadel.aem.toolkit.core.lists.services.ListCacheMBean;
+import com.exadel.aem.toolkit.core.lists.services.ListService;
+import com.exadel.aem.toolkit.core.lists.utils.ListHelper;
+
+/**
+ * Implements {@link ListService} to keep the lists of adapted items in memory. The lists are stored per user, because
+ * users may have different permissions for the list pages, and are keyed by the path of the list, the type of items,
+ * and the form of the collection. A stored list is discarded when a resource of the list page changes, including the
+ * changes brought by replication. Storing is disabled unless enabled in the configuration, because the stored items are
+ * shared between callers. The statistics of the stored lists are exposed via JMX
+ */
+@Component(
+    service = {ListService.class, ResourceChangeListener.class, DynamicMBean.class},
+    property = {
+        ResourceChangeListener.PATHS + "=/content",
+        "jmx.objectname=com.exadel.aem.toolkit:type=ListCache"
+    }
+)
+@Designate(ocd = ListServiceImpl.Configuration.class)
+public class ListServiceImpl extends AnnotatedStandardMBean implements ListService, ListCacheMBean, ResourceChangeListener {
+
+    private static final String KIND_LIST = "list";
+    private static final String KIND_MAP = "map";
+
+    private final Map<List<Object>, Entry> entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+            return size() > capacity;
+        }
+    };
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    private volatile boolean enabled;
+    private volatile int capacity;
+    private long version;
+
+    /**
+     * Creates a new instance of this class that exposes the {@link ListCacheMBean} interface via JMX
+     * @throws NotCompliantMBeanException If the interface does not comply with the JMX specification
+     */
+    public ListServiceImpl() throws NotCompliantMBeanException {
+        super(ListCacheMBean.class);
+    }
+
+    /**
+     * Applies the service configuration
+     * @param configuration {@link Configuration} instance
+     */
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        enabled = configuration.cache_enabled() && configuration.cache_size() > 0;
+        capacity = configuration.cache_size();
+        clear();
+    }
+
+    /**
+     * Discards the stored lists when the service is deactivated
+     */
+    @Deactivate
+    private void deactivate() {
+        enabled = false;
+        clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> getResourceList(ResourceResolver resourceResolver, String path) {
+        return ListHelper.getResourceList(resourceResolver, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SimpleListItem> getList(ResourceResolver resourceResolver, String path) {
+        return getList(resourceResolver, path, SimpleListItem.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> List<T> getList(ResourceResolver resourceResolver, String path, Class<T> itemType) {
+        if (Resource.class.equals(itemType)) {
+            return ListHelper.getList(resourceResolver, path, itemType);
+        }
+        return getStored(
+            resourceResolver,
+            Arrays.asList(path, KIND_LIST, itemType.getName()),
+            () -> Collections.unmodifiableList(ListHelper.getList(resourceResolver, path, itemType)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Resource> getResourceMap(ResourceResolver resourceResolver, String path) {
+        return ListHelper.getResourceMap(resourceResolver, path);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Resource> getResourceMap(ResourceResolver resourceResolver, String path, String keyName) {
+        return ListHelper.getResourceMap(resourceResolver, path, keyName);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, String> getMap(ResourceResolver resourceResolver, String path) {
+        return getStored(
+            resourceResolver,
+            Arrays.asList(path, KIND_MAP, JcrConstants.JCR_TITLE, CoreConstants.PN_VALUE),
+            () -> Collections.unmodifiableMap(ListHelper.getMap(resourceResolver, path)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Map<String, T> getMap(ResourceResolver resourceResolver, String path, String keyName, Class<T> itemType) {
+        if (Resource.class.equals(itemType)) {
+            return ListHelper.getMap(resourceResolver, path, keyName, itemType);
+        }
+        return getStored(
+            resourceResolver,
+            Arrays.asList(path, KIND_MAP, keyName, itemType.getName()),
+            () -> Collections.unmodifiableMap(ListHelper.getMap(resourceResolver, path, keyName, itemType)));
+    }
+
+    /**
+     * Discards the stored lists that are affected by the changes of resources
+     * @param changes List of {@code ResourceChange} objects
+     */
+    @Override
+    public synchronized void onChange(@Nonnull List<ResourceChange> changes) {
+        version++;
+        if (entries.isEmpty()) {
+            return;
+        }
+        changes.forEach(change -> entries.values().removeIf(entry ->
+            isSameOrDescendant(change.getPath(), entry.path) || isSameOrDescendant(entry.path, change.getPath())));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void clear() {
+        version++;
+        entries.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    /**
+     * Retrieves the stored collection for the given user and key, or else creates it with the provided {@code Supplier}
+     * and stores it
+     * @param resourceResolver Sling {@code ResourceResolver} instance used to access the list
+     * @param key              {@code List} of key components that identify the collection for any user
+     * @param supplier         {@code Supplier} that creates the collection
+     * @param <T>              Type of the collection
+     * @return Collection of the required type
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getStored(ResourceResolver resourceResolver, List<Object> key, Supplier<T> supplier) {
+        String path = (String) key.get(0);
+        if (!enabled || resourceResolver == null || StringUtils.isBlank(path)) {
+            return supplier.get();
+        }
+        List<Object> userKey = Arrays.asList(StringUtils.defaultString(resourceResolver.getUserID()), key);
+        long initialVersion;
+        synchronized (this) {
+            Entry entry = entries.get(userKey);
+            if (entry != null) {
+                hitCount.incrementAndGet();
+                return (T) entry.value;
+            }
+            initialVersion = version;
+        }
+        missCount.incrementAndGet();
+        T result = supplier.get();
+        synchronized (this) {
+            // The collection is not stored if resources changed while it was being created
+            if (version == initialVersion) {
+                entries.put(userKey, new Entry(path, result));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets whether the given path is the same as the given ancestor path, or is the path of a descendant resource
+     * @param path         Path to test
+     * @param ancestorPath Path of the possible ancestor
+     * @return True or false
+     */
+    private static boolean isSameOrDescendant(String path, String ancestorPath) {
+        if (StringUtils.isAnyEmpty(path, ancestorPath)) {
+            return false;
+        }
+        return path.equals(ancestorPath)
+            || path.startsWith(StringUtils.appendIfMissing(ancestorPath, CoreConstants.SEPARATOR_SLASH));
+    }
+
+    /**
+     * Represents a stored collection of list items
+     */
+    private static class Entry {
+        private final String path;
+        private final Object value;
+
+        /**
+         * Creates a new instance of this class
+         * @param path  Path to the list page
+         * @param value Unmodifiable collection of list items
+         */
+        private Entry(String path, Object value) {
+            this.path = path;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Represents the configuration of the list service
+     */
+    @ObjectClassDefinition(name = "EToolbox Authoring Kit - Lists")
+    public @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enable cache",
+            description = "Whether lists of adapted items are stored in memory. Stored items are shared between callers")
+        boolean cache_enabled() default false;
+
+        @AttributeDefinition(
+            name = "Cache size",
+            description = "Maximal number of stored lists")
+        int cache_size() default 500;
+    }
+}
@@ -15,13 +15,11 @@ package com.exadel.aem.toolkit.core.lists.servlets;
 
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nonnull;
-import javax.jcr.query.Query;
 import javax.servlet.Servlet;
 
-import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingException;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
@@ -32,6 +30,7 @@ import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.servlets.HttpConstants;
 import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.day.cq.commons.jcr.JcrConstants;
@@ -41,10 +40,11 @@ import com.adobe.granite.ui.components.ds.SimpleDataSource;
 import com.adobe.granite.ui.components.ds.ValueMapResource;
 
 import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.lists.services.ItemComponentRegistry;
 
 /**
  * Provides the collection of AEM resources that will represent Exadel Toolbox Lists items. This collection will be displayed
- * in a Granite UI {@code Select} widget
+ * in a Granite UI {@code Select} widget. The collection is retrieved from the {@link ItemComponentRegistry}
  */
 @Component(
     service = Servlet.class,
@@ -56,9 +56,8 @@ import com.exadel.aem.toolkit.core.CoreConstants;
 public class ItemComponentsServlet extends SlingSafeMethodsServlet {
     private static final Logger LOG = LoggerFactory.getLogger(ItemComponentsServlet.class);
 
-    private static final String SELECT_STATEMENT = String.format(
-        "SELECT * FROM [cq:Component] AS s WHERE ISDESCENDANTNODE(s,'/apps') AND [%s] = 'true'",
-        CoreConstants.PN_LIST_ITEM);
+    @Reference
+    private transient ItemComponentRegistry itemComponentRegistry;
 
     /**
      * Processes {@code GET} requests to the current endpoint to add to the {@code SlingHttpServletRequest}
@@ -70,13 +69,11 @@ public class ItemComponentsServlet extends SlingSafeMethodsServlet {
     protected void doGet(@Nonnull SlingHttpServletRequest request, @Nonnull SlingHttpServletResponse response) {
         try {
             ResourceResolver resolver = request.getResourceResolver();
-            Iterator<Resource> resources = resolver.findResources(SELECT_STATEMENT, Query.JCR_SQL2);
             List<Resource> actualList = new ArrayList<>();
-            while (resources.hasNext()) {
-                Resource item = resources.next();
+            for (Map.Entry<String, String> item : itemComponentRegistry.getItemComponents(resolver).entrySet()) {
                 ValueMap valueMap = new ValueMapDecorator(new HashMap<>());
-                valueMap.put(CoreConstants.PN_VALUE, item.getPath());
-                valueMap.put(CoreConstants.PN_TEXT, item.getValueMap().get(JcrConstants.JCR_TITLE, StringUtils.EMPTY));
+                valueMap.put(CoreConstants.PN_VALUE, item.getKey());
+                valueMap.put(CoreConstants.PN_TEXT, item.getValue());
                 actualList.add(new ValueMapResource(resolver, new ResourceMetadata(), JcrConstants.NT_UNSTRUCTURED, valueMap));
             }
             DataSource dataSource = new SimpleDataSource(actualList.iterator());
@@ -13,11 +13,17 @@
  */
 package com.exadel.aem.toolkit.core.lists.servlets;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 import javax.annotation.Nonnull;
@@ -31,13 +37,21 @@ import org.apache.sling.api.SlingHttpServletResponse;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
 import org.apache.sling.api.resource.ResourceWrapper;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
 import org.apache.sling.api.scripting.SlingBindings;
 import org.apache.sling.api.scripting.SlingScriptHelper;
 import org.apache.sling.api.servlets.HttpConstants;
 import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
 import org.apache.sling.jcr.resource.api.JcrResourceConstants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import com.day.cq.commons.jcr.JcrConstants;
 import com.day.cq.wcm.api.NameConstants;
 import com.adobe.granite.ui.components.Config;
@@ -52,28 +66,54 @@ import com.exadel.aem.toolkit.core.CoreConstants;
 
 /**
  * Provides the collection of AEM resources that either represent Exadel Toolbox Lists or serve as folders for Exadel Toolbox Lists
- * to be displayed in the Exadel Toolbox Lists console
+ * to be displayed in the Exadel Toolbox Lists console. If caching is enabled, the classification of child pages is reused
+ * until it expires or until a resource under the parent page changes
  */
 @Component(
-    service = Servlet.class,
+    service = {Servlet.class, ResourceChangeListener.class},
     property = {
         "sling.servlet.resourceTypes=/apps/etoolbox-authoring-kit/datasources/lists",
-        "sling.servlet.methods=" + HttpConstants.METHOD_GET
+        "sling.servlet.methods=" + HttpConstants.METHOD_GET,
+        ResourceChangeListener.PATHS + "=/content"
     }
 )
-public class ListsServlet extends SlingSafeMethodsServlet {
+@Designate(ocd = ListsServlet.Configuration.class)
+public class ListsServlet extends SlingSafeMethodsServlet implements ResourceChangeListener, ExternalResourceChangeListener {
     private static final String LIST_TEMPLATE_NAME = "/conf/etoolbox-authoring-kit/settings/wcm/templates/list";
-    private static final String PATH_JCR_CONTENT = CoreConstants.SEPARATOR_SLASH + JcrConstants.JCR_CONTENT;
     private static final String PREFIX_REP = "rep:";
 
+    private static final int CACHE_CAPACITY = 100;
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+
     @Reference
     private transient ExpressionResolver expressionResolver;
 
+    private final transient Map<List<Object>, ClassificationEntry> classificationCache = Collections.synchronizedMap(
+        new LinkedHashMap<List<Object>, ClassificationEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, ClassificationEntry> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        });
+    private volatile long cacheTimeToLive;
+
+    /**
+     * Applies the servlet configuration
+     * @param configuration {@link Configuration} instance
+     */
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        cacheTimeToLive = configuration.cache_ttl() * MILLISECONDS_IN_SECOND;
+        classificationCache.clear();
+    }
+
     /**
      * Processes {@code GET} requests to the current endpoint to add to the {@code SlingHttpServletRequest}
      * a {@code DataSource} object filled with all child pages under the current root path, which are either
      * lists themselves, or folders that may contain lists inside.
-     * The result is then limited by {@code offset} and {@code limit} parameter values.
+     * The result is then limited by {@code offset} and {@code limit} parameter values. Child pages are classified
+     * as the resulting collection is iterated, so that the pages beyond the limit are not inspected
      * @param request  {@code SlingHttpServletRequest} instance
      * @param response {@code SlingHttpServletResponse} instance
      */
@@ -94,34 +134,73 @@ public class ListsServlet extends SlingSafeMethodsServlet {
 
             Resource parent = parentPath != null ? resolver.getResource(parentPath) : null;
             if (parent != null) {
-                List<Resource> resources = getValidChildren(resolver, parent);
-                dataSource = new PagingDataSource(resources, offset, limit, itemResourceType);
+                Predicate<Resource> filter = getFilter(resolver, parent);
+                dataSource = new PagingDataSource(
+                    () -> getChildrenStream(parent).filter(filter).iterator(),
+                    offset,
+                    limit,
+                    itemResourceType);
             }
         }
         request.setAttribute(DataSource.class.getName(), dataSource);
     }
 
     /**
-     * Retrieves the collection of resources which are either Exadel Toolbox Lists or folders that can contain lists.
-     * Service and content nodes are excluded from the output
+     * Discards the cached classification of the children of resources that are affected by the changes
+     * @param changes List of {@code ResourceChange} objects
+     */
+    @Override
+    public void onChange(@Nonnull List<ResourceChange> changes) {
+        synchronized (classificationCache) {
+            changes.forEach(change -> classificationCache.values().removeIf(entry ->
+                isSameOrDescendant(change.getPath(), entry.path) || isSameOrDescendant(entry.path, change.getPath())));
+        }
+    }
+
+    /**
+     * Retrieves the predicate that tells whether a child of the given resource is valid. If the cache is enabled,
+     * the classification results are shared by the requests of the same user to the same parent resource within
+     * the cache time to live. Otherwise, every child is inspected once per request
      * @param resolver {@code ResourceResolver} object
      * @param parent   {@code Resource} instance used as the source of markup
-     * @return List of {@code Resource} objects
+     * @return {@code Predicate} object
+     */
+    private Predicate<Resource> getFilter(ResourceResolver resolver, Resource parent) {
+        if (cacheTimeToLive <= 0) {
+            Map<String, Boolean> requestClassification = new HashMap<>();
+            return resource -> requestClassification.computeIfAbsent(resource.getName(), name -> isValid(resource));
+        }
+        List<Object> key = Arrays.asList(StringUtils.defaultString(resolver.getUserID()), parent.getPath());
+        long now = System.currentTimeMillis();
+        Map<String, Boolean> classification;
+        synchronized (classificationCache) {
+            ClassificationEntry entry = classificationCache.get(key);
+            if (entry == null || entry.createdAt + cacheTimeToLive < now) {
+                entry = new ClassificationEntry(parent.getPath(), now);
+                classificationCache.put(key, entry);
+            }
+            classification = entry.classification;
+        }
+        return resource -> classification.computeIfAbsent(resource.getName(), name -> isValid(resource));
+    }
+
+    /**
+     * Checks whether the resource is either an Exadel Toolbox List or a folder that can contain lists. The cheaper checks
+     * go first
+     * @param resource {@code Resource} instance
+     * @return True or false
      */
-    private List<Resource> getValidChildren(ResourceResolver resolver, Resource parent) {
-        return getChildrenStream(parent)
-            .filter(resource -> !isServiceNode(resource) && (isFolder(resource) || containsResource(resource) || isList(resolver, resource)))
-            .collect(Collectors.toList());
+    private static boolean isValid(Resource resource) {
+        return !isServiceNode(resource) && (isFolder(resource) || isList(resource) || containsResource(resource));
     }
 
     /**
      * Checks whether the resource is a Exadel Toolbox List page
-     * @param resolver {@code ResourceResolver} object
      * @param resource {@code Resource} instance
      * @return True or false
      */
-    private static boolean isList(ResourceResolver resolver, Resource resource) {
-        Resource childParameters = resolver.getResource(resource.getPath() + PATH_JCR_CONTENT);
+    private static boolean isList(Resource resource) {
+        Resource childParameters = resource.getChild(JcrConstants.JCR_CONTENT);
         if (childParameters != null) {
             String template = childParameters.getValueMap().get(NameConstants.NN_TEMPLATE, StringUtils.EMPTY);
             return template.equals(LIST_TEMPLATE_NAME);
@@ -162,6 +241,16 @@ public class ListsServlet extends SlingSafeMethodsServlet {
         return resource.getName().startsWith(PREFIX_REP) || resource.getName().equals(JcrConstants.JCR_CONTENT);
     }
 
+    /**
+     * Checks whether the given path is the same as or a descendant of the ancestor path
+     * @param path         Path to check
+     * @param ancestorPath Path of the presumed ancestor
+     * @return True or false
+     */
+    private static boolean isSameOrDescendant(String path, String ancestorPath) {
+        return path.equals(ancestorPath) || path.startsWith(StringUtils.appendIfMissing(ancestorPath, CoreConstants.SEPARATOR_SLASH));
+    }
+
     private static Stream<Resource> getChildrenStream(Resource resource) {
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(resource.listChildren(), Spliterator.ORDERED), false);
     }
@@ -180,12 +269,12 @@ public class ListsServlet extends SlingSafeMethodsServlet {
      * Implements the {@code DataSource} pattern for displaying matched resources in pages
      */
     private static class PagingDataSource extends AbstractDataSource {
-        private final List<Resource> resources;
+        private final Iterable<Resource> resources;
         private final int offset;
         private final int limit;
         private final String itemResourceType;
 
-        private PagingDataSource(List<Resource> resources, int offset, int limit, String itemResourceType) {
+        private PagingDataSource(Iterable<Resource> resources, int offset, int limit, String itemResourceType) {
             this.resources = resources;
             this.offset = offset;
             this.limit = limit;
@@ -206,4 +295,30 @@ public class ListsServlet extends SlingSafeMethodsServlet {
             });
         }
     }
+
+    /**
+     * Represents the classification results stored in the cache
+     */
+    private static class ClassificationEntry {
+        private final String path;
+        private final long createdAt;
+        private final Map<String, Boolean> classification = new ConcurrentHashMap<>();
+
+        private ClassificationEntry(String path, long createdAt) {
+            this.path = path;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Represents the configuration of the lists datasource servlet
+     */
+    @ObjectClassDefinition(name = "EToolbox Authoring Kit - Lists Console")
+    public @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Cache time to live",
+            description = "Time, in seconds, for which the classification of child pages is reused. Zero means no caching")
+        long cache_ttl() default 0;
+    }
 }
@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.optionprovider.services;
+
+import java.util.Arrays;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+
+/**
+ * Contains the validators and the caching directive for a set of options prepared by {@link OptionProviderService}.
+ * Used to answer conditional HTTP requests and to set caching headers to the response
+ */
+public class CacheHeaders {
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+
+    private static final String VALUE_ANY = "*";
+    private static final String VALUE_NO_CACHE = "no-cache";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+
+    private final String eTag;
+    private final long lastModified;
+    private final String cacheControl;
+
+    /**
+     * Creates a new instance of this class
+     * @param eTag         Nullable quoted entity tag of the set of options
+     * @param lastModified Time the set of options was last modified, in milliseconds, or a negative number if unknown
+     * @param cacheControl Nullable value of the {@code Cache-Control} header
+     */
+    public CacheHeaders(String eTag, long lastModified, String cacheControl) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+        this.cacheControl = cacheControl;
+    }
+
+    /**
+     * Retrieves the entity tag of the set of options
+     * @return String value, or null
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * Retrieves the time the set of options was last modified
+     * @return Time in milliseconds, or a negative number if unknown
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Retrieves the value of the {@code Cache-Control} header. If no value is specified for the datasource, and the set
+     * of options has a validator, the response must be revalidated on every use
+     * @return String value, or null
+     */
+    public String getCacheControl() {
+        if (StringUtils.isNotBlank(cacheControl)) {
+            return cacheControl;
+        }
+        return eTag != null ? VALUE_NO_CACHE : null;
+    }
+
+    /**
+     * Gets whether the client that sent the given request already has the current set of options. The
+     * {@code If-None-Match} header takes precedence over the {@code If-Modified-Since} header
+     * @param request {@code HttpServletRequest} object
+     * @return True or false
+     */
+    public boolean isNotModified(HttpServletRequest request) {
+        if (eTag == null) {
+            return false;
+        }
+        String ifNoneMatch = request.getHeader(HEADER_IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return Arrays.stream(ifNoneMatch.split(CoreConstants.SEPARATOR_COMMA))
+                .map(String::trim)
+                .map(value -> StringUtils.removeStart(value, WEAK_ETAG_PREFIX))
+                .anyMatch(value -> value.equals(eTag) || value.equals(VALUE_ANY));
+        }
+        if (lastModified < 0) {
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HEADER_IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && lastModified / MILLISECONDS_IN_SECOND <= ifModifiedSince / MILLISECONDS_IN_SECOND;
+        } catch (IllegalArgumentException e) {
+            // The header value is not a valid date
+            return false;
+        }
+    }
+
+    /**
+     * Sets the caching headers to the given response
+     * @param response {@code HttpServletResponse} object
+     */
+    public void setTo(HttpServletResponse response) {
+        if (eTag != null) {
+            response.setHeader(HEADER_ETAG, eTag);
+        }
+        if (eTag != null && lastModified >= 0) {
+            response.setDateHeader(HEADER_LAST_MODIFIED, lastModified);
+        }
+        if (getCacheControl() != null) {
+            response.setHeader(HEADER_CACHE_CONTROL, getCacheControl());
+        }
+    }
+}
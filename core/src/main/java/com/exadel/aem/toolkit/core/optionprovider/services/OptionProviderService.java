@@ -13,12 +13,19 @@
  */
 package com.exadel.aem.toolkit.core.optionprovider.services;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ValueMap;
 import org.apache.sling.api.wrappers.ValueMapDecorator;
 
+import com.exadel.aem.toolkit.core.CoreConstants;
+
 /**
  * Prepares option sets for Granite-compliant custom data sources used in Granite UI.
  * Works with an accompanying Sling Http Servlet to serve option sets to the Granite UI frontend
@@ -31,4 +38,68 @@ public interface OptionProviderService {
      * @return List of {@link ValueMapDecorator} options, or an empty list if no options could be created
      */
     List<Resource> getOptions(SlingHttpServletRequest request);
+
+    /**
+     * Prepares datasource options and passes them one by one to the given consumer in the order they would be rendered.
+     * Unlike {@link OptionProviderService#getOptions(SlingHttpServletRequest)}, this method is not required to create
+     * synthetic resources for the options
+     * @param request  {@code SlingHttpServletRequest} object
+     * @param consumer {@link OptionConsumer} instance that receives the options
+     * @return Number of options passed to the consumer
+     * @throws IOException in case the consumer fails to process an option
+     */
+    default int getOptions(SlingHttpServletRequest request, OptionConsumer consumer) throws IOException {
+        List<Resource> options = getOptions(request);
+        consumer.acceptTotal(options.size());
+        for (Resource option : options) {
+            ValueMap valueMap = option.getValueMap();
+            Resource graniteData = option.getChild(CoreConstants.NN_GRANITE_DATA);
+            Map<String, Object> attributes = Collections.emptyMap();
+            if (graniteData != null) {
+                attributes = new LinkedHashMap<>();
+                for (String attribute : graniteData.getValueMap().keySet()) {
+                    attributes.put(attribute, graniteData.getValueMap().get(attribute, String.class));
+                }
+            }
+            consumer.accept(
+                valueMap.get(CoreConstants.PN_TEXT, String.class),
+                valueMap.get(CoreConstants.PN_VALUE, String.class),
+                attributes);
+        }
+        return options.size();
+    }
+
+    /**
+     * Retrieves the validators and the caching directive for the set of options that would be prepared for the given
+     * request. The validators are only available if they can be determined without preparing the options
+     * @param request {@code SlingHttpServletRequest} object
+     * @return {@link CacheHeaders} object, non-null
+     */
+    default CacheHeaders getCacheHeaders(SlingHttpServletRequest request) {
+        return new CacheHeaders(null, -1L, null);
+    }
+
+    /**
+     * Represents a routine that receives the datasource options prepared by {@link OptionProviderService}
+     */
+    @FunctionalInterface
+    interface OptionConsumer {
+        /**
+         * Receives a datasource option
+         * @param text       Text of the option
+         * @param value      Value of the option
+         * @param attributes {@code Map} of custom attributes of the option, non-null
+         * @throws IOException in case the option cannot be processed
+         */
+        void accept(String text, String value, Map<String, Object> attributes) throws IOException;
+
+        /**
+         * Receives the total number of options that match the user-specified settings. This number can be greater
+         * than the number of options passed to the consumer if only a portion of options is requested. Called before
+         * the options are passed
+         * @param total Non-negative integer value
+         */
+        default void acceptTotal(int total) {
+        }
+    }
 }
@@ -14,8 +14,10 @@
 package com.exadel.aem.toolkit.core.optionprovider.services.impl;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import javax.jcr.Node;
@@ -45,6 +47,8 @@ class Option {
 
     private Resource resource;
     private ResourceResolver resourceResolver;
+    private Tag tag;
+    private Locale locale;
 
     private String text;
     private String value;
@@ -59,12 +63,43 @@ class Option {
     private StringTransformation textTransform;
     private StringTransformation valueTransform;
 
+    private Map<String, Object> customAttributes;
+
     /**
      * Default (instantiation-restricting) constructor
      */
     private Option() {
     }
 
+    /**
+     * Creates a copy of this option that holds the text, value, and custom attributes already retrieved from the
+     * underlying resource, but no reference to the resource itself. Such a copy can be stored and reused beyond
+     * the current request
+     * @return New {@code Option} instance
+     */
+    Option detach() {
+        Option result = new Option();
+        result.text = getText();
+        result.value = getValue();
+        result.customAttributes = Collections.unmodifiableMap(getCustomAttributes());
+        return result;
+    }
+
+    /**
+     * Creates a copy of a detached option that is bound to the given {@code ResourceResolver}
+     * @param resourceResolver {@code ResourceResolver} instance to create the option resource with
+     * @return New {@code Option} instance
+     * @see Option#detach()
+     */
+    Option attach(ResourceResolver resourceResolver) {
+        Option result = new Option();
+        result.resourceResolver = resourceResolver;
+        result.text = text;
+        result.value = value;
+        result.customAttributes = customAttributes;
+        return result;
+    }
+
     /**
      * Generates a Granite-compliant {@link ValueMapResource} representing a particular option with specified label and value
      * @return {@code ValueMapResource} item that stands for the datasource option, or null in case this
@@ -137,7 +172,10 @@ class Option {
      * Gets custom attributes of the option entry
      * @return {@code Map<String, String>} object, or an empty map
      */
-    private Map<String, Object> getCustomAttributes() {
+    Map<String, Object> getCustomAttributes() {
+        if (customAttributes != null) {
+            return new HashMap<>(customAttributes);
+        }
         Map<String, Object> result = new HashMap<>();
         if (!isValid(resource)) {
             return result;
@@ -176,6 +214,9 @@ class Option {
             return getResourceId();
         } else if (CoreConstants.PARAMETER_NAME.equals(attributeMember)) {
             return resource.getName();
+        } else if (CoreConstants.PARAMETER_TITLE.equals(attributeMember)) {
+            String title = StringUtils.defaultString(getTitle());
+            return StringUtils.isBlank(title) || attributeTransform == null ? title : attributeTransform.apply(title);
         }
         // Tf [textMember]-valued or [valueMember]-valued attribute not found within this Resource, there's still
         // a chance that it may be found under jcr:content subnode (relevant for the case when current option is an
@@ -191,12 +232,27 @@ class Option {
         return attributeTransform.apply(result);
     }
 
+    /**
+     * Returns resource title as requested by the user setting. For a Tag, the title localized according to the current
+     * locale is returned
+     * @return String value, or null
+     */
+    private String getTitle() {
+        if (tag == null) {
+            return resource.getValueMap().get(JcrConstants.JCR_TITLE, String.class);
+        }
+        return locale != null ? tag.getTitle(locale) : tag.getTitle();
+    }
+
     /**
      * Returns resource ID as requested by the user setting. For an ordinary resource node (such as an ACS List -like
      * option) this resolves to merely node name, but for a Tag, the namespace-qualified tag identifier is returned
      * @return String value
      */
     private String getResourceId() {
+        if (tag != null) {
+            return tag.getTagID();
+        }
         try {
             Node resourceNode = Objects.requireNonNull(resource.adaptTo(Node.class));
             if (resourceNode.isNodeType(TagConstants.NT_TAG)) {
@@ -233,6 +289,16 @@ class Option {
             return this;
         }
 
+        Builder tag(Tag value) {
+            dataSourceOption.tag = value;
+            return this;
+        }
+
+        Builder locale(Locale value) {
+            dataSourceOption.locale = value;
+            return this;
+        }
+
         Builder resourceResolver(ResourceResolver value) {
             dataSourceOption.resourceResolver = value;
             return this;
@@ -0,0 +1,270 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.optionprovider.services.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sling.api.resource.Resource;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
+
+/**
+ * Stores lists of {@link Option}s retrieved from datasource resources so that they are not retrieved anew on every
+ * request. The cache is bounded by size and by the time to live of an entry. Entries are keyed by the ID of the user,
+ * the path of the datasource, and the settings that affect how the options are read. Only datasources that reside
+ * under the watched paths are cached, so that every entry can be invalidated on a resource change. Every entry carries
+ * a digest of its options, so that validators built upon it stay consistent across service activations and instances
+ * @see OptionProviderService
+ */
+class OptionCache {
+
+    private static final String DIGEST_ALGORITHM = "SHA-1";
+    private static final char DIGEST_SEPARATOR = ':';
+
+    private final int capacity;
+    private final long timeToLive;
+    private final String[] paths;
+    private final String[] observedPaths;
+
+    private final Map<List<Object>, Entry> entries;
+
+    /**
+     * Creates a new instance of this class
+     * @param capacity      Maximal number of entries
+     * @param timeToLive    Time to live of an entry, in milliseconds
+     * @param paths         Array of paths the datasources must reside under to be cached
+     * @param observedPaths Array of paths under which the changes of resources are reported to the cache. A datasource
+     *                      outside these paths is not cached even if it resides under one of {@code paths}, because
+     *                      its entry would never be invalidated
+     */
+    OptionCache(int capacity, long timeToLive, String[] paths, String[] observedPaths) {
+        this.capacity = capacity;
+        this.timeToLive = timeToLive;
+        this.paths = ArrayUtils.nullToEmpty(paths);
+        this.observedPaths = ArrayUtils.nullToEmpty(observedPaths);
+        this.entries = new LinkedHashMap<List<Object>, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, Entry> eldest) {
+                return size() > OptionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets whether options of the datasource with the given path can be cached
+     * @param path Path to the datasource resource
+     * @return True or false
+     */
+    boolean isCacheable(String path) {
+        return capacity > 0
+            && Arrays.stream(paths).anyMatch(watchedPath -> isSameOrDescendant(path, watchedPath))
+            && Arrays.stream(observedPaths).anyMatch(observedPath -> isSameOrDescendant(path, observedPath));
+    }
+
+    /**
+     * Retrieves the cached options for the given key
+     * @param key Key created with {@link OptionCache#getKey(String, Resource, PathParameters)}
+     * @return List of detached {@link Option} objects, or null if there are no valid cached options
+     */
+    synchronized List<Option> get(List<Object> key) {
+        Entry entry = getEntry(key);
+        return entry != null ? entry.options : null;
+    }
+
+    /**
+     * Retrieves the cache entry for the given key
+     * @param key Key created with {@link OptionCache#getKey(String, Resource, PathParameters)}
+     * @return {@link Entry} object, or null if there is no valid entry
+     */
+    synchronized Entry getEntry(List<Object> key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.createdAt + timeToLive < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Stores the options for the given key
+     * @param key     Key created with {@link OptionCache#getKey(String, Resource, PathParameters)}
+     * @param path    Path to the datasource resource
+     * @param options List of detached {@link Option} objects
+     */
+    void put(List<Object> key, String path, List<Option> options) {
+        Entry entry = new Entry(
+            path,
+            Collections.unmodifiableList(options),
+            getDigest(options),
+            System.currentTimeMillis());
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Removes the entries of the datasources that are affected by a change of the resource with the given path. These
+     * are the datasources that contain the resource, or are contained in it
+     * @param path Path to the changed resource
+     */
+    synchronized void invalidate(String path) {
+        entries.values().removeIf(entry -> isSameOrDescendant(path, entry.path) || isSameOrDescendant(entry.path, path));
+    }
+
+    /**
+     * Removes all the entries
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Creates a cache key for the options of the given datasource as read by the given user. The locale is only a part
+     * of the key if the datasource is a tag collection, and the options refer to the localized tag titles
+     * @param userId     ID of the user whose {@code ResourceResolver} is used to read the options
+     * @param dataSource {@code Resource} object representing the datasource
+     * @param parameters {@link PathParameters} object containing the settings that affect how the options are read
+     * @return {@code List} of key components
+     */
+    static List<Object> getKey(String userId, Resource dataSource, PathParameters parameters) {
+        String locale = parameters.refersToTitle() && OptionSourceResolver.isTagCollection(dataSource)
+            ? String.valueOf(parameters.getLocale())
+            : null;
+        return Arrays.asList(
+            StringUtils.defaultString(userId),
+            dataSource.getPath(),
+            parameters.getTextMember(),
+            parameters.getValueMember(),
+            Arrays.asList(ArrayUtils.nullToEmpty(parameters.getAttributeMembers())),
+            Arrays.asList(ArrayUtils.nullToEmpty(parameters.getAttributes())),
+            parameters.getTextTransform(),
+            parameters.getValueTransform(),
+            parameters.getDepth(),
+            locale);
+    }
+
+    /**
+     * Creates a hexadecimal digest of the given string
+     * @param value String value, non-null
+     * @return String value
+     */
+    static String getDigest(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance(DIGEST_ALGORITHM).digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder result = new StringBuilder();
+            for (byte b : digest) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates a digest of the texts, values, and custom attributes of the given options. Every string is prefixed with
+     * its length so that different sets of options cannot produce the same payload
+     * @param options List of detached {@link Option} objects
+     * @return String value
+     */
+    private static String getDigest(List<Option> options) {
+        StringBuilder payload = new StringBuilder();
+        for (Option option : options) {
+            appendTo(payload, option.getText());
+            appendTo(payload, option.getValue());
+            Map<String, Object> attributes = new TreeMap<>(option.getCustomAttributes());
+            payload.append(attributes.size()).append(DIGEST_SEPARATOR);
+            attributes.forEach((name, value) -> {
+                appendTo(payload, name);
+                appendTo(payload, value != null ? String.valueOf(value) : null);
+            });
+        }
+        return getDigest(payload.toString());
+    }
+
+    /**
+     * Appends the given string prefixed with its length to the given payload
+     * @param payload {@code StringBuilder} object
+     * @param value   Nullable string value
+     */
+    private static void appendTo(StringBuilder payload, String value) {
+        if (value == null) {
+            payload.append(DIGEST_SEPARATOR);
+            return;
+        }
+        payload.append(value.length()).append(DIGEST_SEPARATOR).append(value);
+    }
+
+    /**
+     * Gets whether the given path is the same as the given ancestor path, or is the path of a descendant resource
+     * @param path         Path to test
+     * @param ancestorPath Path of the possible ancestor
+     * @return True or false
+     */
+    private static boolean isSameOrDescendant(String path, String ancestorPath) {
+        if (StringUtils.isAnyEmpty(path, ancestorPath)) {
+            return false;
+        }
+        return path.equals(ancestorPath)
+            || path.startsWith(StringUtils.appendIfMissing(ancestorPath, CoreConstants.SEPARATOR_SLASH));
+    }
+
+    /**
+     * Represents a cached list of options
+     */
+    static class Entry {
+        private final String path;
+        private final List<Option> options;
+        private final String digest;
+        private final long createdAt;
+
+        /**
+         * Creates a new instance of this class
+         * @param path      Path to the datasource resource
+         * @param options   List of detached {@link Option} objects
+         * @param digest    Digest of the options
+         * @param createdAt Time, in milliseconds, when the entry was created
+         */
+        private Entry(String path, List<Option> options, String digest, long createdAt) {
+            this.path = path;
+            this.options = options;
+            this.digest = digest;
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * Retrieves the digest of the cached options. Entries with the same options have the same digest regardless
+         * of when and by which cache instance they were created
+         * @return String value
+         */
+        String getDigest() {
+            return digest;
+        }
+    }
+}
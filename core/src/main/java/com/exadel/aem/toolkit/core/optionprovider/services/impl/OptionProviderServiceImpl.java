@@ -13,65 +13,233 @@
  */
 package com.exadel.aem.toolkit.core.optionprovider.services.impl;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
-import java.util.regex.Pattern;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import javax.annotation.Nonnull;
 
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.LoginException;
 import org.apache.sling.api.resource.NonExistingResource;
 import org.apache.sling.api.resource.Resource;
 import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import com.day.cq.commons.jcr.JcrConstants;
+import com.day.cq.tagging.Tag;
+import com.day.cq.tagging.TagManager;
 
 import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.CacheHeaders;
 import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
 
 /**
  * Implements {@link OptionProviderService} to prepare option sets for Granite-compliant custom data sources
- * used in Granite UI widgets
+ * used in Granite UI widgets. Options retrieved from datasources are cached per user, and the cache entries are
+ * invalidated when resources of the datasources change
  */
-@Component(service = OptionProviderService.class)
-public class OptionProviderServiceImpl implements OptionProviderService {
+@Component(
+    service = {OptionProviderService.class, ResourceChangeListener.class},
+    property = {
+        ResourceChangeListener.PATHS + "=" + OptionProviderServiceImpl.PATH_CONTENT,
+        ResourceChangeListener.PATHS + "=" + OptionProviderServiceImpl.PATH_ETC,
+        ResourceChangeListener.PATHS + "=" + OptionProviderServiceImpl.PATH_CONF
+    })
+@Designate(ocd = OptionProviderServiceImpl.Configuration.class)
+public class OptionProviderServiceImpl implements OptionProviderService, ResourceChangeListener, ExternalResourceChangeListener {
+    private static final Logger LOG = LoggerFactory.getLogger(OptionProviderServiceImpl.class);
 
-    private static final String FULL_STRING_MATCH_TEMPLATE = "^%s$";
-    private static final String USER_WILDCARD_PATTERN = "(?<![\\\\'])\\*";
-    private static final String REGEXP_WILDCARD_PATTERN = ".*";
+    private static final String ETAG_TEMPLATE = "\"%s\"";
+    private static final String VALIDATOR_MISSING_DATASOURCE = "-";
+    private static final String THREAD_NAME_TEMPLATE = "etoolbox-option-provider-%d";
 
+    static final String PATH_CONTENT = "/content";
+    static final String PATH_ETC = "/etc";
+    static final String PATH_CONF = "/conf";
+    private static final String[] OBSERVED_PATHS = {PATH_CONTENT, PATH_ETC, PATH_CONF};
+
+    private static final long MILLISECONDS_IN_SECOND = 1000L;
+
+    private volatile OptionCache cache;
+    private volatile ExecutorService executor;
+
+    /**
+     * Initializes or re-initializes the cache of options and the executor for resolving datasources concurrently
+     * according to the provided configuration
+     * @param configuration {@link Configuration} instance
+     */
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        cache = configuration.cache_enabled()
+            ? new OptionCache(
+                configuration.cache_size(),
+                configuration.cache_ttl() * MILLISECONDS_IN_SECOND,
+                configuration.resource_paths(),
+                OBSERVED_PATHS)
+            : null;
+        ExecutorService previousExecutor = executor;
+        executor = configuration.parallel_enabled() && configuration.parallel_threads() > 1
+            ? Executors.newFixedThreadPool(configuration.parallel_threads(), new DaemonThreadFactory())
+            : null;
+        if (previousExecutor != null) {
+            previousExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Discards the cache of options and shuts down the executor when the service is deactivated
+     */
+    @Deactivate
+    private void deactivate() {
+        cache = null;
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
 
     /**
-    * {@inheritDoc}
+     * Invalidates the cached options that are affected by the changes of resources, including the changes that come
+     * from other cluster instances
+     * @param changes List of {@code ResourceChange} objects
      */
     @Override
-    public List<Resource> getOptions(SlingHttpServletRequest request) {
-        Set<Option> options = new LinkedHashSet<>();
-        List<Option> result;
+    public void onChange(@Nonnull List<ResourceChange> changes) {
+        OptionCache currentCache = cache;
+        if (currentCache == null) {
+            return;
+        }
+        changes.forEach(change -> currentCache.invalidate(change.getPath()));
+    }
 
-        // Parse user-specified datasource settings from the request and/or underlying "datasource" resource,
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CacheHeaders getCacheHeaders(SlingHttpServletRequest request) {
         OptionSourceParameters parameters = OptionSourceParameters.forRequest(request);
+        OptionCache currentCache = cache;
+        if (currentCache == null) {
+            return new CacheHeaders(null, -1L, parameters.getCacheControl());
+        }
 
-        // For each of the datasource paths, try retrieve a list of JCR-stored options
+        // The validator is composed of the settings that affect the set of options, and of the digests of the cached
+        // option lists. If any of the lists is not cached, the validator cannot be determined without preparing options.
+        // No modification time is reported since the time an entry was cached does not tell whether its content changed
+        String userId = request.getResourceResolver().getUserID();
+        StringBuilder validator = new StringBuilder()
+            .append(userId)
+            .append(Arrays.toString(parameters.getPrependedOptions()))
+            .append(Arrays.toString(parameters.getAppendedOptions()))
+            .append(Arrays.toString(parameters.getExcludedOptions()))
+            .append(parameters.getSelectedValue())
+            .append(parameters.isSorted())
+            .append(parameters.getQuery())
+            .append(parameters.getQueryMode())
+            .append(parameters.getOffset())
+            .append(parameters.getLimit());
         for (PathParameters pathParameters : parameters.getPathParameters()) {
             Resource datasourceResource = OptionSourceResolver.resolve(request, pathParameters.getPath(), pathParameters.getFallbackPath());
             if (datasourceResource == null || datasourceResource instanceof NonExistingResource) {
+                validator.append(VALIDATOR_MISSING_DATASOURCE);
                 continue;
             }
-            options.addAll(getOptions(datasourceResource, pathParameters));
+            if (!currentCache.isCacheable(datasourceResource.getPath())) {
+                return new CacheHeaders(null, -1L, parameters.getCacheControl());
+            }
+            List<Object> key = OptionCache.getKey(userId, datasourceResource, pathParameters);
+            OptionCache.Entry entry = currentCache.getEntry(key);
+            if (entry == null) {
+                return new CacheHeaders(null, -1L, parameters.getCacheControl());
+            }
+            validator.append(key).append(entry.getDigest());
         }
+        return new CacheHeaders(getETag(validator.toString()), -1L, parameters.getCacheControl());
+    }
 
-        // Transform the resulting collection to sortable list and sort it as optioned by user
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Resource> getOptions(SlingHttpServletRequest request) {
+        OptionSourceParameters parameters = OptionSourceParameters.forRequest(request);
+        return getPage(getOptionList(request, parameters), parameters).stream()
+                .map(Option::toValueMapEntry)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getOptions(SlingHttpServletRequest request, OptionConsumer consumer) throws IOException {
+        OptionSourceParameters parameters = OptionSourceParameters.forRequest(request);
+        List<Option> options = getOptionList(request, parameters);
+        consumer.acceptTotal(options.size());
+        int count = 0;
+        for (Option option : getPage(options, parameters)) {
+            if (!option.isValid()) {
+                continue;
+            }
+            consumer.accept(option.getText(), option.getValue(), option.getCustomAttributes());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getOptions(SlingHttpServletRequest)} and
+     * {@link OptionProviderServiceImpl#getOptions(SlingHttpServletRequest, OptionConsumer)} to prepare the list
+     * of {@link Option} items that match the user-specified settings, in the order they are rendered
+     * @param request    {@code SlingHttpServletRequest} object
+     * @param parameters {@link OptionSourceParameters} object parsed from the request
+     * @return {@code List<Option>} object, or an empty list
+     */
+    private List<Option> getOptionList(SlingHttpServletRequest request, OptionSourceParameters parameters) {
+        Set<Option> options = new LinkedHashSet<>();
+        List<Option> result;
+
+        // For each of the datasource paths, try retrieve a list of JCR-stored options
+        ExecutorService currentExecutor = executor;
+        List<List<Option>> concurrentOptions = currentExecutor != null && parameters.getPathParameters().size() > 1
+            ? getOptionsConcurrently(request, parameters.getPathParameters(), currentExecutor)
+            : null;
+        if (concurrentOptions != null) {
+            concurrentOptions.forEach(options::addAll);
+        } else {
+            parameters.getPathParameters().forEach(pathParameters -> options.addAll(getDatasourceOptions(request, pathParameters)));
+        }
+
+        // Transform the resulting collection to sortable list, and sort it as optioned by user
         result = new ArrayList<>(options);
         if (parameters.isSorted()) {
             result.sort(Option.COMPARATOR);
@@ -79,15 +247,36 @@ public class OptionProviderServiceImpl implements OptionProviderService {
 
         // Extract "prepended" and "appended" options from the user-provided params; preserve only those of them
         // that do not have values already present in the "original" list
-        result.addAll(0, getExtraOptions(request.getResource().getResourceResolver(),
-                parameters.getPrependedOptions(),
-                options));
-        result.addAll(getExtraOptions(request.getResource().getResourceResolver(),
-                parameters.getAppendedOptions(),
-                options));
+        OptionRules rules = OptionRules.forParameters(parameters);
+        ResourceResolver resourceResolver = request.getResource().getResourceResolver();
+        result.addAll(0, rules.getPrependedOptions(resourceResolver, options));
+        result.addAll(rules.getAppendedOptions(resourceResolver, options));
+
+        // Remove options that are specified in "exclude" parameter. This is done before filtering by the user-specified
+        // query, because an excluded option also takes away the options that share its value
+        rules.removeExcludedOptions(result);
 
-        // Remove options that are specified in "exclude" parameter
-        removeExcludedOptions(result, parameters.getExcludedOptions());
+        // Leave only the options that match the user-specified query
+        result.removeIf(option -> !isMatch(option, parameters));
+
+        return result;
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getOptions(SlingHttpServletRequest)} and
+     * {@link OptionProviderServiceImpl#getOptions(SlingHttpServletRequest, OptionConsumer)} to extract the portion
+     * of options specified by the user-defined {@code offset} and {@code limit} settings. The options of the portion
+     * are marked as selected if they match the user-defined {@code selected} setting
+     * @param options    List of {@link Option} items
+     * @param parameters {@link OptionSourceParameters} object parsed from the request
+     * @return {@code List<Option>} object, or an empty list
+     */
+    private static List<Option> getPage(List<Option> options, OptionSourceParameters parameters) {
+        int fromIndex = Math.min(parameters.getOffset(), options.size());
+        int toIndex = parameters.getLimit() > 0
+                ? (int) Math.min((long) fromIndex + parameters.getLimit(), options.size())
+                : options.size();
+        List<Option> result = options.subList(fromIndex, toIndex);
 
         // Set "selected" flag to appropriate option(s) if "selected value" parameter is specified
         if (StringUtils.isNotBlank(parameters.getSelectedValue())) {
@@ -96,16 +285,145 @@ public class OptionProviderServiceImpl implements OptionProviderService {
                             || StringUtils.equals(option.getText(), parameters.getSelectedValue()))
                     .forEach(Option::select);
         }
+        return result;
+    }
 
-        // Render the resulting collection
-        return result.stream()
-                .map(Option::toValueMapEntry)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    /**
+     * Gets whether the text of the given option matches the user-specified {@code query} setting. Matching is
+     * case-insensitive
+     * @param option     {@link Option} object to test
+     * @param parameters {@link OptionSourceParameters} object parsed from the request
+     * @return True or false
+     */
+    private static boolean isMatch(Option option, OptionSourceParameters parameters) {
+        if (StringUtils.isEmpty(parameters.getQuery())) {
+            return true;
+        }
+        return parameters.getQueryMode() == OptionSourceParameters.QueryMode.PREFIX
+                ? StringUtils.startsWithIgnoreCase(option.getText(), parameters.getQuery())
+                : StringUtils.containsIgnoreCase(option.getText(), parameters.getQuery());
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getOptionList(SlingHttpServletRequest, OptionSourceParameters)} to
+     * resolve the datasources and retrieve their options concurrently. Every datasource is resolved with a separate
+     * clone of the request's {@code ResourceResolver}. The lists of options are returned in the order of the provided
+     * path settings, and the options are bound to the request's {@code ResourceResolver}
+     * @param request        {@code SlingHttpServletRequest} object
+     * @param pathParameters List of {@link PathParameters} objects
+     * @param executor       {@code ExecutorService} that runs the tasks
+     * @return List of {@code List<Option>} objects, where an empty list stands for a datasource that could not be
+     * resolved; or null if the tasks could not be submitted or the current thread was interrupted, so that the caller
+     * falls back to retrieving the options sequentially
+     */
+    private List<List<Option>> getOptionsConcurrently(SlingHttpServletRequest request,
+                                                      List<PathParameters> pathParameters,
+                                                      ExecutorService executor) {
+        List<Future<List<Option>>> futures = new ArrayList<>();
+        try {
+            for (PathParameters parameters : pathParameters) {
+                futures.add(executor.submit(() -> getDetachedOptions(request, parameters)));
+            }
+        } catch (RejectedExecutionException e) {
+            // The executor has been shut down due to the service reconfiguration
+            futures.forEach(future -> future.cancel(true));
+            return null;
+        }
+
+        List<List<Option>> result = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                result.add(attach(futures.get(i).get(), request.getResourceResolver()));
+            } catch (InterruptedException e) {
+                LOG.warn("Retrieving datasource options concurrently was interrupted", e);
+                futures.forEach(pending -> pending.cancel(true));
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                // The datasource is read anew in the current thread, so that the outcome is the same as for
+                // sequential retrieval
+                LOG.warn("Could not retrieve datasource options concurrently", e.getCause());
+                result.add(getDatasourceOptions(request, pathParameters.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getOptionList(SlingHttpServletRequest, OptionSourceParameters)} to
+     * resolve a datasource with the request's {@code ResourceResolver} and retrieve its options
+     * @param request    {@code SlingHttpServletRequest} object
+     * @param parameters Path-related user settings that came with the request
+     * @return {@code List<Option>} object, or an empty list
+     */
+    private List<Option> getDatasourceOptions(SlingHttpServletRequest request, PathParameters parameters) {
+        Resource datasourceResource = OptionSourceResolver.resolve(request, parameters.getPath(), parameters.getFallbackPath());
+        if (datasourceResource == null || datasourceResource instanceof NonExistingResource) {
+            return Collections.emptyList();
+        }
+        return getCachedOptions(datasourceResource, parameters);
     }
 
     /**
-     * Called from {@link OptionProviderServiceImpl#getOptions(SlingHttpServletRequest)} to extract a list
+     * Called from {@link OptionProviderServiceImpl#getOptionsConcurrently(SlingHttpServletRequest, List, ExecutorService)}
+     * to resolve a datasource with a clone of the request's {@code ResourceResolver} and retrieve its options. The options
+     * are detached so that they can outlive the cloned resolver
+     * @param request    {@code SlingHttpServletRequest} object
+     * @param parameters Path-related user settings that came with the request
+     * @return {@code List<Option>} object, or an empty list
+     */
+    private List<Option> getDetachedOptions(SlingHttpServletRequest request, PathParameters parameters) {
+        try (ResourceResolver resourceResolver = request.getResourceResolver().clone(null)) {
+            Resource datasourceResource = OptionSourceResolver.resolve(
+                request,
+                resourceResolver,
+                parameters.getPath(),
+                parameters.getFallbackPath());
+            if (datasourceResource == null || datasourceResource instanceof NonExistingResource) {
+                return Collections.emptyList();
+            }
+            return getCachedOptions(datasourceResource, parameters).stream().map(Option::detach).collect(Collectors.toList());
+        } catch (LoginException e) {
+            LOG.error("Could not clone the resource resolver", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Binds the given detached options to the given {@code ResourceResolver}
+     * @param options          List of detached {@link Option} objects
+     * @param resourceResolver {@code ResourceResolver} instance
+     * @return New {@code List<Option>} object
+     */
+    private static List<Option> attach(List<Option> options, ResourceResolver resourceResolver) {
+        return options.stream().map(option -> option.attach(resourceResolver)).collect(Collectors.toList());
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getOptionList(SlingHttpServletRequest, OptionSourceParameters)} to retrieve a list
+     * of {@link Option} items for the particular datasource from the cache, or else to extract them from the datasource
+     * and store to the cache. Options are cached per user, so that the permissions of the user are respected
+     * @param dataSource {@code Resource} instance representing selected datasource
+     * @param parameters Path-related user settings that came with the request
+     * @return {@code List<DataSourceOption>} object, or an empty list
+     */
+    private List<Option> getCachedOptions(Resource dataSource, PathParameters parameters) {
+        OptionCache currentCache = cache;
+        if (currentCache == null || !currentCache.isCacheable(dataSource.getPath())) {
+            return getOptions(dataSource, parameters);
+        }
+        ResourceResolver resourceResolver = dataSource.getResourceResolver();
+        List<Object> key = OptionCache.getKey(resourceResolver.getUserID(), dataSource, parameters);
+        List<Option> cachedOptions = currentCache.get(key);
+        if (cachedOptions == null) {
+            cachedOptions = getOptions(dataSource, parameters).stream().map(Option::detach).collect(Collectors.toList());
+            currentCache.put(key, dataSource.getPath(), cachedOptions);
+        }
+        return cachedOptions.stream().map(option -> option.attach(resourceResolver)).collect(Collectors.toList());
+    }
+
+    /**
+     * Called from {@link OptionProviderServiceImpl#getCachedOptions(Resource, PathParameters)} to extract a list
      * of {@link Option} items from the particular datasource
      * @param dataSource {@code Resource} instance representing selected datasource
      * @param parameters Path-related user settings that came with the request
@@ -113,7 +431,14 @@ public class OptionProviderServiceImpl implements OptionProviderService {
      */
     private List<Option> getOptions(Resource dataSource,
                                     PathParameters parameters) {
-        final String defaultValueMember = !OptionSourceResolver.isTagCollection(dataSource)
+        boolean isTagCollection = OptionSourceResolver.isTagCollection(dataSource);
+        if (isTagCollection) {
+            List<Option> tagOptions = getTagOptions(dataSource, parameters);
+            if (tagOptions != null) {
+                return tagOptions;
+            }
+        }
+        final String defaultValueMember = !isTagCollection
                 ? CoreConstants.PN_VALUE
                 : CoreConstants.PARAMETER_ID;
         return StreamSupport.stream(dataSource.getChildren().spliterator(), false)
@@ -132,54 +457,124 @@ public class OptionProviderServiceImpl implements OptionProviderService {
     }
 
     /**
-     * Generates a list of user-specified extra options that are outside the normal JCR structure
-     * @param resourceResolver {@code ResourceResolver} instance to create "virtual" datasource entry resource
-     * @param optionStrings    Array of strings representing extra options
-     * @param skip             List of the [already existing] options to omit in the extra options collection
-     * @return List of "virtual" datasource items resources that can be merged to the original resource list
+     * Called from {@link OptionProviderServiceImpl#getOptions(Resource, PathParameters)} to extract a list of
+     * {@link Option} items from a tag collection. The {@code TagManager} is retrieved once per datasource, and the tags
+     * are traversed to the user-specified depth. Nested tags follow their parent tag in the resulting flat list
+     * @param dataSource {@code Resource} instance representing a tag collection
+     * @param parameters Path-related user settings that came with the request
+     * @return {@code List<DataSourceOption>} object, or null if tags cannot be retrieved via the {@code TagManager}
      */
-    private static List<Option> getExtraOptions(ResourceResolver resourceResolver,
-                                                String[] optionStrings,
-                                                Set<Option> skip) {
-        if (optionStrings == null) {
-            return Collections.emptyList();
+    private static List<Option> getTagOptions(Resource dataSource, PathParameters parameters) {
+        TagManager tagManager = dataSource.getResourceResolver().adaptTo(TagManager.class);
+        if (tagManager == null) {
+            return null;
         }
-        return Stream.of(optionStrings)
-                .map(option -> option.split(OptionSourceParameters.KEV_VALUE_SEPARATOR_PATTERN, 2))
-                .filter(parts -> ArrayUtils.getLength(parts) == 2 && StringUtils.isNotBlank(parts[0]))
-                .map(parts -> Pair.of(
-                        parts[0].trim().replaceAll(OptionSourceParameters.INLINE_COLON_PATTERN, CoreConstants.SEPARATOR_COLON),
-                        parts[1].trim().replaceAll(OptionSourceParameters.INLINE_COLON_PATTERN, CoreConstants.SEPARATOR_COLON)))
-                .filter(partsPair -> skip.stream().noneMatch(opt -> partsPair.getRight().equals(opt.getValue())))
-                .map(partsPair -> Option.builder()
-                        .resourceResolver(resourceResolver)
-                        .text(partsPair.getLeft())
-                        .value(partsPair.getRight())
+        Iterator<Tag> children;
+        Tag rootTag = tagManager.resolve(dataSource.getPath());
+        if (rootTag != null) {
+            children = rootTag.listChildren();
+        } else {
+            children = StreamSupport.stream(dataSource.getChildren().spliterator(), false)
+                    .map(child -> tagManager.resolve(child.getPath()))
+                    .filter(Objects::nonNull)
+                    .iterator();
+        }
+        List<Tag> tags = new ArrayList<>();
+        collectTags(children, parameters.getDepth(), tags);
+        return tags.stream()
+                .map(tag -> Option.builder()
+                        .resource(tag.adaptTo(Resource.class))
+                        .tag(tag)
+                        .locale(parameters.getLocale())
+                        .textMember(parameters.getTextMember())
+                        .valueMember(StringUtils.defaultString(parameters.getValueMember(), CoreConstants.PARAMETER_ID))
+                        .attributeMembers(parameters.getAttributeMembers())
+                        .attributes(parameters.getAttributes())
+                        .textTransform(parameters.getTextTransform())
+                        .valueTransform(parameters.getValueTransform())
                         .build())
+                .filter(Option::isValid)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Browses through the provided list of options and removes the items that match the user-provided {@code exclude}
-     * setting
-     * @param options Collection of {@code Option} objects to test
-     * @param excludeStrings Value of the user-specified {@code exclude} setting
+     * Adds the given tags, and their nested tags down to the given depth, to the resulting list
+     * @param tags   {@code Iterator} of {@code Tag} objects
+     * @param depth  Number of levels of tags to add
+     * @param result List of {@code Tag} objects to add to
      */
-    private static void removeExcludedOptions(List<Option> options, String[] excludeStrings) {
-        if (CollectionUtils.isEmpty(options) || ArrayUtils.isEmpty(excludeStrings)) {
-            return;
+    private static void collectTags(Iterator<Tag> tags, int depth, List<Tag> result) {
+        while (tags.hasNext()) {
+            Tag tag = tags.next();
+            result.add(tag);
+            if (depth > 1) {
+                collectTags(tag.listChildren(), depth - 1, result);
+            }
+        }
+    }
+
+    /**
+     * Creates an entity tag out of the given validator string
+     * @param validator String value that changes whenever the set of options changes
+     * @return Quoted string value
+     */
+    private static String getETag(String validator) {
+        return String.format(ETAG_TEMPLATE, OptionCache.getDigest(validator));
+    }
+
+    /**
+     * Creates named daemon threads for resolving datasources concurrently, so that the threads are easy to tell apart
+     * in a thread dump and never prevent the JVM from shutting down
+     */
+    private static class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Thread newThread(@Nonnull Runnable runnable) {
+            Thread thread = new Thread(runnable, String.format(THREAD_NAME_TEMPLATE, counter.incrementAndGet()));
+            thread.setDaemon(true);
+            return thread;
         }
-        List<Pattern> patterns = Arrays.stream(excludeStrings)
-            .filter(StringUtils::isNotBlank)
-            .map(str -> String.format(FULL_STRING_MATCH_TEMPLATE, str.replaceAll(USER_WILDCARD_PATTERN, REGEXP_WILDCARD_PATTERN)))
-            .map(str -> Pattern.compile(str, Pattern.CASE_INSENSITIVE))
-            .collect(Collectors.toList());
-
-        List<Option> excludedOptions = options
-            .stream()
-            .filter(option -> patterns.stream().anyMatch(pattern -> pattern.matcher(option.getValue()).matches()
-                || pattern.matcher(option.getText()).matches()))
-            .collect(Collectors.toList());
-        options.removeAll(excludedOptions);
+    }
+
+    /**
+     * Represents the configuration of the option provider
+     */
+    @ObjectClassDefinition(name = "EToolbox Authoring Kit - Option Provider")
+    public @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enable cache",
+            description = "Whether options retrieved from datasources are cached")
+        boolean cache_enabled() default true;
+
+        @AttributeDefinition(
+            name = "Cache size",
+            description = "Maximal number of cached option lists")
+        int cache_size() default 1000;
+
+        @AttributeDefinition(
+            name = "Cache time to live",
+            description = "Time, in seconds, after which a cached option list is discarded")
+        long cache_ttl() default 300;
+
+        @AttributeDefinition(
+            name = "Watched paths",
+            description = "Paths under which the datasources are cached. Changes of resources under these paths invalidate the cache. "
+                + "Only paths under /content, /etc, or /conf are observed; datasources elsewhere are not cached")
+        String[] resource_paths() default {"/content", "/etc", "/conf"};
+
+        @AttributeDefinition(
+            name = "Resolve datasources concurrently",
+            description = "Whether the datasources specified with several paths are resolved and read concurrently")
+        boolean parallel_enabled() default false;
+
+        @AttributeDefinition(
+            name = "Number of threads",
+            description = "Maximal number of datasources resolved concurrently")
+        int parallel_threads() default 4;
     }
 }
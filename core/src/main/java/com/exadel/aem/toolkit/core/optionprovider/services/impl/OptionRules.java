@@ -0,0 +1,228 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.optionprovider.services.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sling.api.resource.ResourceResolver;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+
+/**
+ * Contains the user-specified {@code exclude}, {@code prepend}, and {@code append} settings in the form that is ready
+ * to be applied to a list of {@link Option}s. The settings are parsed, and the exclusion patterns are compiled, once
+ * for every distinct combination of settings; the result is cached
+ * @see OptionProviderServiceImpl
+ */
+class OptionRules {
+
+    private static final String FULL_STRING_MATCH_TEMPLATE = "^%s$";
+    private static final String USER_WILDCARD_PATTERN = "(?<![\\\\'])\\*";
+    private static final String REGEXP_WILDCARD_PATTERN = ".*";
+    private static final String REGEXP_SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}<>-=!";
+
+    private static final int CACHE_CAPACITY = 256;
+    private static final Map<List<List<String>>, OptionRules> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<List<List<String>>, OptionRules>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<List<String>>, OptionRules> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        });
+
+    private final Set<String> excludedLiterals;
+    private final List<Pattern> excludedPatterns;
+    private final List<Pair<String, String>> prependedOptions;
+    private final List<Pair<String, String>> appendedOptions;
+
+    /**
+     * Creates a new instance of this class
+     * @param excludeStrings Nullable array of strings representing the {@code exclude} setting
+     * @param prependStrings Nullable array of strings representing the {@code prepend} setting
+     * @param appendStrings  Nullable array of strings representing the {@code append} setting
+     */
+    private OptionRules(String[] excludeStrings, String[] prependStrings, String[] appendStrings) {
+        List<String> effectiveExcludeStrings = Arrays.stream(ArrayUtils.nullToEmpty(excludeStrings))
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toList());
+        excludedLiterals = effectiveExcludeStrings.stream()
+            .filter(OptionRules::isLiteral)
+            .map(OptionRules::toLowerCase)
+            .collect(Collectors.toSet());
+        excludedPatterns = effectiveExcludeStrings.stream()
+            .filter(str -> !isLiteral(str))
+            .map(str -> String.format(FULL_STRING_MATCH_TEMPLATE, str.replaceAll(USER_WILDCARD_PATTERN, REGEXP_WILDCARD_PATTERN)))
+            .map(str -> Pattern.compile(str, Pattern.CASE_INSENSITIVE))
+            .collect(Collectors.toList());
+        prependedOptions = parseExtraOptions(prependStrings);
+        appendedOptions = parseExtraOptions(appendStrings);
+    }
+
+    /**
+     * Retrieves an instance of {@link OptionRules} for the given user-specified settings. An instance is created
+     * and cached for every distinct combination of settings
+     * @param parameters {@link OptionSourceParameters} object
+     * @return {@code OptionRules} instance
+     */
+    static OptionRules forParameters(OptionSourceParameters parameters) {
+        List<List<String>> key = Arrays.asList(
+            Arrays.asList(ArrayUtils.nullToEmpty(parameters.getExcludedOptions())),
+            Arrays.asList(ArrayUtils.nullToEmpty(parameters.getPrependedOptions())),
+            Arrays.asList(ArrayUtils.nullToEmpty(parameters.getAppendedOptions())));
+        return CACHE.computeIfAbsent(key, k -> new OptionRules(
+            parameters.getExcludedOptions(),
+            parameters.getPrependedOptions(),
+            parameters.getAppendedOptions()));
+    }
+
+    /**
+     * Generates the list of user-specified options that are prepended to the options retrieved from datasources
+     * @param resourceResolver {@code ResourceResolver} instance to create "virtual" datasource entry resource
+     * @param skip             Collection of the [already existing] options to omit in the extra options collection
+     * @return List of "virtual" datasource items
+     */
+    List<Option> getPrependedOptions(ResourceResolver resourceResolver, Collection<Option> skip) {
+        return getExtraOptions(resourceResolver, prependedOptions, skip);
+    }
+
+    /**
+     * Generates the list of user-specified options that are appended to the options retrieved from datasources
+     * @param resourceResolver {@code ResourceResolver} instance to create "virtual" datasource entry resource
+     * @param skip             Collection of the [already existing] options to omit in the extra options collection
+     * @return List of "virtual" datasource items
+     */
+    List<Option> getAppendedOptions(ResourceResolver resourceResolver, Collection<Option> skip) {
+        return getExtraOptions(resourceResolver, appendedOptions, skip);
+    }
+
+    /**
+     * Browses through the provided list of options and removes the items that match the user-provided {@code exclude}
+     * setting, together with the items that have the same values
+     * @param options Collection of {@code Option} objects to test
+     */
+    void removeExcludedOptions(List<Option> options) {
+        if (options.isEmpty() || (excludedLiterals.isEmpty() && excludedPatterns.isEmpty())) {
+            return;
+        }
+        Set<String> excludedValues = options
+            .stream()
+            .filter(this::isExcluded)
+            .map(Option::getValue)
+            .collect(Collectors.toSet());
+        if (!excludedValues.isEmpty()) {
+            options.removeIf(option -> excludedValues.contains(option.getValue()));
+        }
+    }
+
+    /**
+     * Gets whether the given option matches the user-provided {@code exclude} setting
+     * @param option {@code Option} object to test
+     * @return True or false
+     */
+    private boolean isExcluded(Option option) {
+        if (!excludedLiterals.isEmpty()
+            && (excludedLiterals.contains(toLowerCase(option.getValue())) || excludedLiterals.contains(toLowerCase(option.getText())))) {
+            return true;
+        }
+        return excludedPatterns.stream().anyMatch(pattern -> pattern.matcher(option.getValue()).matches()
+            || pattern.matcher(option.getText()).matches());
+    }
+
+    /**
+     * Creates "virtual" datasource items out of the parsed {@code prepend} or {@code append} setting
+     * @param resourceResolver {@code ResourceResolver} instance to create "virtual" datasource entry resource
+     * @param textValuePairs   List of parsed text-value pairs
+     * @param skip             Collection of the [already existing] options to omit in the extra options collection
+     * @return List of "virtual" datasource items
+     */
+    private static List<Option> getExtraOptions(ResourceResolver resourceResolver,
+                                                List<Pair<String, String>> textValuePairs,
+                                                Collection<Option> skip) {
+        if (textValuePairs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Set<String> skippedValues = new HashSet<>();
+        skip.forEach(option -> skippedValues.add(option.getValue()));
+        return textValuePairs
+            .stream()
+            .filter(textValuePair -> !skippedValues.contains(textValuePair.getRight()))
+            .map(textValuePair -> Option.builder()
+                .resourceResolver(resourceResolver)
+                .text(textValuePair.getLeft())
+                .value(textValuePair.getRight())
+                .build())
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Parses the user-specified {@code prepend} or {@code append} setting into a list of text-value pairs
+     * @param optionStrings Nullable array of strings representing extra options
+     * @return List of {@code Pair} objects
+     */
+    private static List<Pair<String, String>> parseExtraOptions(String[] optionStrings) {
+        if (optionStrings == null) {
+            return Collections.emptyList();
+        }
+        return Stream.of(optionStrings)
+            .map(option -> option.split(OptionSourceParameters.KEV_VALUE_SEPARATOR_PATTERN, 2))
+            .filter(parts -> ArrayUtils.getLength(parts) == 2 && StringUtils.isNotBlank(parts[0]))
+            .map(parts -> Pair.of(
+                parts[0].trim().replaceAll(OptionSourceParameters.INLINE_COLON_PATTERN, CoreConstants.SEPARATOR_COLON),
+                parts[1].trim().replaceAll(OptionSourceParameters.INLINE_COLON_PATTERN, CoreConstants.SEPARATOR_COLON)))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets whether the given {@code exclude} string can be matched as a plain string rather than a regular expression.
+     * This is true for a string consisting of ASCII characters that have no special meaning in a regular expression
+     * @param value String value to test
+     * @return True or false
+     */
+    private static boolean isLiteral(String value) {
+        return value.chars().allMatch(chr -> chr < 128 && REGEXP_SPECIAL_CHARACTERS.indexOf(chr) < 0);
+    }
+
+    /**
+     * Converts the ASCII letters of the given string to lower case. Other characters are left intact, the same way as
+     * a {@link Pattern#CASE_INSENSITIVE} pattern ignores the case of ASCII letters only
+     * @param value Nullable string value
+     * @return String value, or null
+     */
+    private static String toLowerCase(String value) {
+        if (value == null) {
+            return null;
+        }
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] >= 'A' && chars[i] <= 'Z') {
+                chars[i] = (char) (chars[i] + ('a' - 'A'));
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -47,9 +47,13 @@ public class OptionSourceParameters {
 
     private static final String QUERY_KEY_ATTRIBUTE_MEMBERS = "attributeMembers";
     private static final String QUERY_KEY_ATTRIBUTES = "attributes";
+    private static final String QUERY_KEY_CACHE_CONTROL = "cacheControl";
+    private static final String QUERY_KEY_DEPTH = "depth";
     private static final String QUERY_KEY_EXCLUDE_OPTIONS = "exclude";
     private static final String QUERY_KEY_FALLBACK_PATH = "fallbackPath";
     private static final String QUERY_KEY_PATH = "path";
+    private static final String QUERY_KEY_QUERY = "query";
+    private static final String QUERY_KEY_QUERY_MODE = "queryMode";
     private static final String QUERY_KEY_SORTED = "sorted";
     private static final String QUERY_KEY_TEXT_MEMBER = "textMember";
     private static final String QUERY_KEY_TEXT_TRANSFORM = "textTransform";
@@ -64,6 +68,11 @@ public class OptionSourceParameters {
     private String[] excludeOptions;
     private String selectedValue;
     private boolean sorted;
+    private String query;
+    private QueryMode queryMode;
+    private int offset;
+    private int limit;
+    private String cacheControl;
 
     private OptionSourceParameters() {
         pathParameters = new ArrayList<>();
@@ -117,6 +126,46 @@ public class OptionSourceParameters {
         return sorted;
     }
 
+    /**
+     * Gets the user-specified {@code query} setting value
+     * @return String value, or null
+     */
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * Gets the user-specified {@code queryMode} setting value
+     * @return {@link QueryMode} value, non-null
+     */
+    QueryMode getQueryMode() {
+        return queryMode;
+    }
+
+    /**
+     * Gets the user-specified {@code offset} setting value
+     * @return Non-negative integer value
+     */
+    int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the user-specified {@code limit} setting value
+     * @return Integer value; zero or a negative number means that the number of options is not limited
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Gets the user-specified {@code cacheControl} setting value
+     * @return String value, or null
+     */
+    String getCacheControl() {
+        return cacheControl;
+    }
+
     /**
      * Creates an instance of {@link OptionSourceParameters} for the current request
      * @param request {@code SlingHttpServletRequest} instance
@@ -165,6 +214,11 @@ public class OptionSourceParameters {
                         repository.get(QUERY_KEY_VALUE_TRANSFORM + suffix, String.class),
                         repository.get(QUERY_KEY_VALUE_TRANSFORM, String.class)
                     ))
+                    .depth(
+                        repository.get(QUERY_KEY_DEPTH + suffix, Integer.class),
+                        repository.get(QUERY_KEY_DEPTH, Integer.class)
+                    )
+                    .locale(request.getLocale())
                     .build()
             );
         }
@@ -175,6 +229,18 @@ public class OptionSourceParameters {
 
         result.selectedValue = repository.get(CoreConstants.PN_SELECTED, String.class);
         result.sorted = repository.get(QUERY_KEY_SORTED, Boolean.FALSE.toString()).equalsIgnoreCase(Boolean.TRUE.toString());
+        // A query string containing a comma is split by the parameter repository, so it is joined back
+        String[] queryParts = repository.get(QUERY_KEY_QUERY, String[].class);
+        result.query = queryParts != null ? String.join(CoreConstants.SEPARATOR_COMMA, queryParts) : null;
+        result.queryMode = EnumUtils.getEnum(
+            QueryMode.class,
+            repository.get(QUERY_KEY_QUERY_MODE, QueryMode.CONTAINS.toString()).toUpperCase());
+        if (result.queryMode == null) {
+            result.queryMode = QueryMode.CONTAINS;
+        }
+        result.offset = Math.max(repository.get(CoreConstants.PN_OFFSET, 0), 0);
+        result.limit = repository.get(CoreConstants.PN_LIMIT, 0);
+        result.cacheControl = repository.get(QUERY_KEY_CACHE_CONTROL, String.class);
 
         return result;
     }
@@ -235,4 +301,11 @@ public class OptionSourceParameters {
         }
         return result;
     }
+
+    /**
+     * Enumerates the ways the user-specified {@code query} is matched against the text of an option
+     */
+    enum QueryMode {
+        PREFIX, CONTAINS
+    }
 }
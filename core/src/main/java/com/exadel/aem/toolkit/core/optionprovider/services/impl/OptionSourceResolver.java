@@ -21,6 +21,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.resource.NonExistingResource;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
 import com.day.cq.commons.jcr.JcrConstants;
 import com.day.cq.tagging.TagConstants;
 
@@ -41,9 +42,8 @@ class OptionSourceResolver {
     private OptionSourceResolver() {}
 
     /**
-     * Calls {@link OptionSourceResolver#resolvePath(SlingHttpServletRequest, String)} with the {@code path} argument,
-     * and returns a non-null resulting value. If null is returned, calls the same method once again with the
-     * {@code fallbackPath} argument
+     * Calls {@link OptionSourceResolver#resolve(SlingHttpServletRequest, ResourceResolver, String, String)} with the
+     * {@code ResourceResolver} of the current request
      * @param request      Current {@code SlingHttpServletRequest}
      * @param path         Path to {@code Resource} that either represents datasource or contains user-authored path to
      *                     an actual datasource
@@ -52,11 +52,28 @@ class OptionSourceResolver {
      * @return {@code Resource} instance, or null
      */
     static Resource resolve(SlingHttpServletRequest request, String path, String fallbackPath) {
-        Resource result = resolvePath(request, path);
+        return resolve(request, request.getResourceResolver(), path, fallbackPath);
+    }
+
+    /**
+     * Calls {@link OptionSourceResolver#resolvePath(SlingHttpServletRequest, ResourceResolver, String)} with the
+     * {@code path} argument, and returns a non-null resulting value. If null is returned, calls the same method once
+     * again with the {@code fallbackPath} argument. Resources are retrieved with the given {@code ResourceResolver}
+     * rather than the resolver of the request
+     * @param request          Current {@code SlingHttpServletRequest}
+     * @param resourceResolver {@code ResourceResolver} instance used to retrieve resources
+     * @param path             Path to {@code Resource} that either represents datasource or contains user-authored
+     *                         path to an actual datasource
+     * @param fallbackPath     Path to a {@code Resource} that either represents datasource or contains the user-authored
+     *                         path to an actual datasource. Used if the {@code path} resolves to null
+     * @return {@code Resource} instance, or null
+     */
+    static Resource resolve(SlingHttpServletRequest request, ResourceResolver resourceResolver, String path, String fallbackPath) {
+        Resource result = resolvePath(request, resourceResolver, path);
         if (result != null) {
             return result;
         }
-        return resolvePath(request, fallbackPath);
+        return resolvePath(request, resourceResolver, fallbackPath);
     }
 
     /**
@@ -65,18 +82,20 @@ class OptionSourceResolver {
      * <p>Also, both direct and <i>referenced</i> paths are supported. For instance, if a user-provided setting
      * contains the {@code @} symbol, this is considered to be a <u>reference</u> to a <i>foreign</i> node and its
      * attribute in which the actual path to datasource is authored (say, via a dialog path picker)
-     * @param request Current {@code SlingHttpServletRequest}
-     * @param path    Path to a {@code Resource} that either represents a datasource or contains user-authored path
-     *                to an actual datasource
+     * @param request          Current {@code SlingHttpServletRequest}
+     * @param resourceResolver {@code ResourceResolver} instance used to retrieve resources
+     * @param path             Path to a {@code Resource} that either represents a datasource or contains user-authored
+     *                         path to an actual datasource
      * @return {@code Resource} instance, or null
      */
-    private static Resource resolvePath(SlingHttpServletRequest request, String path) {
+    private static Resource resolvePath(SlingHttpServletRequest request, ResourceResolver resourceResolver, String path) {
         if (StringUtils.isBlank(path)) {
             return null;
         }
         // Path containing "@" is considered path-and-attribute and is further parsed at the second method's overload
         if (path.contains(CoreConstants.SEPARATOR_AT)) {
             return resolvePath(request,
+                    resourceResolver,
                     StringUtils.substringBefore(path, CoreConstants.SEPARATOR_AT),
                     StringUtils.substringAfter(path, CoreConstants.SEPARATOR_AT));
         }
@@ -84,12 +103,12 @@ class OptionSourceResolver {
         Resource result;
         if (path.startsWith(CoreConstants.SEPARATOR_SLASH)) {
             // Path starting with "/" is considered absolute, so it is resolved directly  via ResourceResolver
-            result = request.getResourceResolver().resolve(path);
+            result = resourceResolver.resolve(path);
         } else {
             // For a non-absolute path, we must resolve *target* content resource
             // (whilst the current resource is rather the Granite node of the component's structure under /apps)
             // the target resource path is passed via request suffix
-            result = resolvePathViaRequestSuffix(request, path);
+            result = resolvePathViaRequestSuffix(request, resourceResolver, path);
         }
 
         // Early return in case result is not resolvable
@@ -117,14 +136,18 @@ class OptionSourceResolver {
      * stored, and the name of node's attribute. Absolute and relative paths are supported, and so are direct and
      * referenced paths
      * @param request            Current {@code SlingHttpServletRequest}
+     * @param resourceResolver   {@code ResourceResolver} instance used to retrieve resources
      * @param referencePath      Path to the {@code Resource} that contains a user-authored path to the actual datasource
      * @param referenceAttribute Name of the attribute that exposes a user-authored path to the actual datasource
      * @return {@code Resource} instance, or null
      */
-    private static Resource resolvePath(SlingHttpServletRequest request, String referencePath, String referenceAttribute) {
+    private static Resource resolvePath(SlingHttpServletRequest request,
+                                        ResourceResolver resourceResolver,
+                                        String referencePath,
+                                        String referenceAttribute) {
         Resource contentResource = referencePath.startsWith(CoreConstants.SEPARATOR_SLASH)
-                ? request.getResourceResolver().resolve(referencePath)
-                : resolvePathViaRequestSuffix(request, referencePath);
+                ? resourceResolver.resolve(referencePath)
+                : resolvePathViaRequestSuffix(request, resourceResolver, referencePath);
         if (contentResource == null || contentResource instanceof NonExistingResource) {
             return null;
         }
@@ -132,30 +155,33 @@ class OptionSourceResolver {
         if (StringUtils.isBlank(contentResourceAttributeValue)) {
             return null;
         }
-        return resolvePath(request, contentResourceAttributeValue);
+        return resolvePath(request, resourceResolver, contentResourceAttributeValue);
     }
 
     /**
-     * Utility method called by {@link OptionSourceResolver#resolvePath(SlingHttpServletRequest, String)}
-     * and {@link OptionSourceResolver#resolve(SlingHttpServletRequest, String, String)} to marshal
+     * Utility method called by {@link OptionSourceResolver#resolvePath(SlingHttpServletRequest, ResourceResolver, String)}
+     * and {@link OptionSourceResolver#resolvePath(SlingHttpServletRequest, ResourceResolver, String, String)} to marshal
      * retrieving a <i>content</i> resource via the current {@code SlingHttpServletRequest}'s path suffix, rather
      * than the referenced Granite resource
-     * @param request      Current {@code SlingHttpServletRequest}
-     * @param relativePath Path to another content resource
+     * @param request          Current {@code SlingHttpServletRequest}
+     * @param resourceResolver {@code ResourceResolver} instance used to retrieve resources
+     * @param relativePath     Path to another content resource
      * @return {@code Resource} instance, or null
      */
-    private static Resource resolvePathViaRequestSuffix(SlingHttpServletRequest request, String relativePath) {
+    private static Resource resolvePathViaRequestSuffix(SlingHttpServletRequest request,
+                                                        ResourceResolver resourceResolver,
+                                                        String relativePath) {
         String contentResourcePath = request.getRequestPathInfo().getSuffix();
         if (StringUtils.isEmpty(contentResourcePath)) {
             return null;
         }
-        Resource contentResource =  request.getResourceResolver().resolve(contentResourcePath);
+        Resource contentResource =  resourceResolver.resolve(contentResourcePath);
         if (contentResource instanceof NonExistingResource
                 || StringUtils.isEmpty(relativePath)
                 || relativePath.equals("./")) {
             return contentResource;
         }
-        return request.getResourceResolver().getResource(contentResource, relativePath);
+        return resourceResolver.getResource(contentResource, relativePath);
     }
 
     /**
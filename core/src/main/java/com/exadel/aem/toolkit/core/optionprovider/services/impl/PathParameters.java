@@ -13,10 +13,13 @@
  */
 package com.exadel.aem.toolkit.core.optionprovider.services.impl;
 
+import java.util.Locale;
+
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 
 import com.exadel.aem.toolkit.api.annotations.meta.StringTransformation;
+import com.exadel.aem.toolkit.core.CoreConstants;
 import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
 
 /**
@@ -36,6 +39,9 @@ class PathParameters {
     private StringTransformation textTransform;
     private StringTransformation valueTransform;
 
+    private int depth;
+    private Locale locale;
+
     /**
      * Default (instantiation-restricting) constructor
      */
@@ -106,6 +112,34 @@ class PathParameters {
         return valueTransform;
     }
 
+    /**
+     * Gets the user-specified {@code depth} setting. It defines how many levels of nested tags are rendered as options
+     * when the datasource is a tag collection
+     * @return Positive integer value
+     */
+    int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Gets the locale used to retrieve localized tag titles
+     * @return {@code Locale} object, or null
+     */
+    Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Gets whether the text, the value, or any of the attributes of an option is retrieved via the {@code @title}
+     * reference. For a tag, such a value depends on the locale
+     * @return True or false
+     */
+    boolean refersToTitle() {
+        return CoreConstants.PARAMETER_TITLE.equals(textMember)
+            || CoreConstants.PARAMETER_TITLE.equals(valueMember)
+            || ArrayUtils.contains(attributeMembers, CoreConstants.PARAMETER_TITLE);
+    }
+
     /**
      * Gets a builder for a new {@link PathParameters} instance
      * @return {@code DataSourcePathParameter} object
@@ -164,6 +198,17 @@ class PathParameters {
             return this;
         }
 
+        Builder depth(Integer value, Integer defaultValue) {
+            Integer effectiveValue = value != null ? value : defaultValue;
+            optionSourcePathParameters.depth = effectiveValue != null ? Math.max(effectiveValue, 1) : 1;
+            return this;
+        }
+
+        Builder locale(Locale value) {
+            optionSourcePathParameters.locale = value;
+            return this;
+        }
+
         PathParameters build() {
             return optionSourcePathParameters;
         }
@@ -14,15 +14,20 @@
 package com.exadel.aem.toolkit.core.optionprovider.servlets;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import javax.annotation.Nonnull;
 import javax.servlet.Servlet;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletResponse;
 
-import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.sling.api.SlingHttpServletRequest;
 import org.apache.sling.api.SlingHttpServletResponse;
 import org.apache.sling.api.request.RequestParameter;
@@ -31,14 +36,21 @@ import org.apache.sling.api.servlets.HttpConstants;
 import org.apache.sling.api.servlets.SlingSafeMethodsServlet;
 import org.json.JSONException;
 import org.json.JSONWriter;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.metatype.annotations.AttributeDefinition;
+import org.osgi.service.metatype.annotations.Designate;
+import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 import com.adobe.granite.ui.components.ds.DataSource;
 import com.adobe.granite.ui.components.ds.SimpleDataSource;
 
 import com.exadel.aem.toolkit.api.annotations.meta.ResourceTypes;
 import com.exadel.aem.toolkit.api.annotations.widgets.radio.RadioGroup;
 import com.exadel.aem.toolkit.api.annotations.widgets.select.Select;
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.CacheHeaders;
 import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
 
 /**
@@ -46,7 +58,8 @@ import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService
  * or a {@link Select}. Supports a number of settings that are either stored as attributes of the {@code datasource} node
  * in Granite UI setup or passed in an HTTP request as query arguments. Datasource options are rendered from either
  * a node tree, an Exadel Toolbox List / ACS List -like node structure ({@code [...]/node/jcr:content/list/[items]}),
- * or a tag folder
+ * or a tag folder. JSON output is streamed to the response, optionally gzip-compressed, and is supplied with an entity tag so
+ * that conditional requests can be answered with {@code 304 Not Modified}
  */
 @Component(
     service = Servlet.class,
@@ -55,20 +68,39 @@ import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService
         "sling.servlet.resourceTypes=/apps/" + ResourceTypes.OPTION_PROVIDER,
         "sling.servlet.methods=" + HttpConstants.METHOD_GET
     })
+@Designate(ocd = OptionProviderServlet.Configuration.class)
 public class OptionProviderServlet extends SlingSafeMethodsServlet {
     private static final String CONTENT_TYPE_JSON = "application/json;charset=utf-8";
 
+    private static final String QUERY_KEY_LIMIT = "limit";
+    private static final String QUERY_KEY_OFFSET = "offset";
     private static final String QUERY_KEY_OUTPUT = "output";
+    private static final String QUERY_KEY_QUERY = "query";
     private static final String QUERY_VALUE_JSON = "json";
 
-    private static final String ATTRIBUTE_TEXT = "text";
-    private static final String ATTRIBUTE_VALUE = "value";
-
-    private static final String NODE_GRANITE_DATA = "granite:data";
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+    private static final String HEADER_VARY = "Vary";
+    private static final String ENCODING_GZIP = "gzip";
+    private static final String ETAG_SUFFIX_GZIP = "-gzip";
+    private static final String ETAG_QUOTE = "\"";
 
     @Reference
     private transient OptionProviderService optionProvider;
 
+    private volatile boolean compressionEnabled;
+
+    /**
+     * Applies the servlet configuration
+     * @param configuration {@link Configuration} instance
+     */
+    @Activate
+    @Modified
+    private void activate(Configuration configuration) {
+        compressionEnabled = configuration.compression_enabled();
+    }
+
     /**
      * Processes HTTP GET requests to the current endpoint and outputs a {@link SimpleDataSource} or a JSON string
      * according to the query parameters
@@ -78,26 +110,54 @@ public class OptionProviderServlet extends SlingSafeMethodsServlet {
     @Override
     protected void doGet(@Nonnull SlingHttpServletRequest request, @Nonnull SlingHttpServletResponse response) throws ServletException, IOException {
 
+        if (isJsonOutput(request)) {
+            doGetJson(request, response);
+            return;
+        }
+
         List<Resource> options = optionProvider.getOptions(request);
+        DataSource ds = new SimpleDataSource(options.iterator());
+        request.setAttribute(DataSource.class.getName(), ds);
+    }
 
-        if (CollectionUtils.isEmpty(options) && isJsonOutput(request)) {
-            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            return;
+    /**
+     * Called from {@link OptionProviderServlet#doGet(SlingHttpServletRequest, SlingHttpServletResponse)} to output
+     * the options in JSON format. The options are written to the response as they are received from the service,
+     * without building the whole JSON string in memory
+     * @param request  {@code SlingHttpServletRequest} instance
+     * @param response {@code SlingHttpServletResponse} instance
+     * @throws ServletException in case the JSON output cannot be produced
+     * @throws IOException      in case a writing operation fails or a JSON format violation occurs
+     */
+    private void doGetJson(SlingHttpServletRequest request, SlingHttpServletResponse response) throws ServletException, IOException {
+        // Whenever compression is possible, the representation depends on the Accept-Encoding header, so any response,
+        // including 304 Not Modified, must tell caches about it
+        boolean isCompressed = false;
+        if (compressionEnabled) {
+            response.addHeader(HEADER_VARY, HEADER_ACCEPT_ENCODING);
+            isCompressed = acceptsGzip(request);
         }
 
-        if (isJsonOutput(request)) {
-            response.setContentType(CONTENT_TYPE_JSON);
-            response.setCharacterEncoding(StandardCharsets.UTF_8.toString());
-            try {
-                response.getWriter().print(getJsonOutput(options));
-            } catch (JSONException | NullPointerException e) {
-                throw new ServletException(e);
-            }
+        // A client that already has the current set of options is answered without preparing the options anew
+        CacheHeaders cacheHeaders = forEncoding(optionProvider.getCacheHeaders(request), isCompressed);
+        if (cacheHeaders.isNotModified(request)) {
+            cacheHeaders.setTo(response);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
             return;
         }
 
-        DataSource ds = new SimpleDataSource(options.iterator());
-        request.setAttribute(DataSource.class.getName(), ds);
+        JsonOptionWriter optionWriter = new JsonOptionWriter(request, response, cacheHeaders, isCompressed);
+        try {
+            // An empty page of a filtered or paged request is a valid answer; otherwise, no options means that there
+            // is no usable datasource
+            if (optionProvider.getOptions(request, optionWriter) == 0 && !isFilteredOrPaged(request)) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            optionWriter.close();
+        } catch (NullPointerException e) {
+            throw new ServletException(e);
+        }
     }
 
     /**
@@ -114,44 +174,165 @@ public class OptionProviderServlet extends SlingSafeMethodsServlet {
     }
 
     /**
-     * Generates the JSON representation of the options list as requested by the user
-     * @param entries List of datasource options
-     * @return JSON string
-     * @throws JSONException in case of a JSON format violation
-     * @throws IOException in case a writing operation fails
+     * Gets whether the current request has any of the {@code query}, {@code offset}, or {@code limit} parameters
+     * @param request {@code SlingHttpServletRequest} object
+     * @return True or false
      */
-    private static String getJsonOutput(List<Resource> entries) throws IOException, JSONException {
-        try (StringWriter stringWriter = new StringWriter()) {
-            JSONWriter jsonWriter = new JSONWriter(stringWriter);
-            jsonWriter.array();
-            for (Resource entry : entries) {
+    private static boolean isFilteredOrPaged(SlingHttpServletRequest request) {
+        return Stream.of(QUERY_KEY_QUERY, QUERY_KEY_OFFSET, QUERY_KEY_LIMIT)
+            .anyMatch(key -> request.getRequestParameter(key) != null);
+    }
+
+    /**
+     * Gets whether the client that sent the current request accepts gzip-compressed content
+     * @param request {@code SlingHttpServletRequest} object
+     * @return True or false
+     */
+    private static boolean acceptsGzip(SlingHttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HEADER_ACCEPT_ENCODING);
+        return acceptEncoding != null && Arrays.stream(acceptEncoding.split(CoreConstants.SEPARATOR_COMMA))
+            .map(encoding -> StringUtils.substringBefore(encoding, ";").trim())
+            .anyMatch(ENCODING_GZIP::equalsIgnoreCase);
+    }
+
+    /**
+     * Adapts the given caching headers to the encoding of the response. The compressed representation is a different
+     * sequence of bytes than the uncompressed one, so it gets a distinct strong entity tag
+     * @param cacheHeaders {@link CacheHeaders} object
+     * @param isCompressed True if the response is gzip-compressed
+     * @return {@code CacheHeaders} object
+     */
+    private static CacheHeaders forEncoding(CacheHeaders cacheHeaders, boolean isCompressed) {
+        if (!isCompressed || cacheHeaders.getETag() == null) {
+            return cacheHeaders;
+        }
+        String eTag = StringUtils.removeEnd(cacheHeaders.getETag(), ETAG_QUOTE) + ETAG_SUFFIX_GZIP + ETAG_QUOTE;
+        return new CacheHeaders(eTag, cacheHeaders.getLastModified(), cacheHeaders.getCacheControl());
+    }
+
+    /**
+     * Implements {@link OptionProviderService.OptionConsumer} to write datasource options to the response as a JSON
+     * array. The response headers are set, and the output is opened, when the first option is received or when the
+     * writer is closed, so that the response stays intact if it turns out that there is nothing to write
+     */
+    private class JsonOptionWriter implements OptionProviderService.OptionConsumer {
+        private final SlingHttpServletRequest request;
+        private final SlingHttpServletResponse response;
+        private final boolean isCompressed;
+        private CacheHeaders cacheHeaders;
+        private int total = -1;
+
+        private Writer writer;
+        private JSONWriter jsonWriter;
+
+        /**
+         * Creates a new instance of this class
+         * @param request      {@code SlingHttpServletRequest} instance
+         * @param response     {@code SlingHttpServletResponse} instance
+         * @param cacheHeaders {@link CacheHeaders} object retrieved before the options were prepared
+         * @param isCompressed True if the output must be gzip-compressed
+         */
+        JsonOptionWriter(SlingHttpServletRequest request, SlingHttpServletResponse response, CacheHeaders cacheHeaders, boolean isCompressed) {
+            this.request = request;
+            this.response = response;
+            this.cacheHeaders = cacheHeaders;
+            this.isCompressed = isCompressed;
+        }
+
+        /**
+         * Writes a JSON entity representing a single datasource option
+         * @param text       Text of the option
+         * @param value      Value of the option
+         * @param attributes {@code Map} of custom attributes of the option
+         * @throws IOException in case a writing operation fails or a JSON format violation occurs
+         */
+        @Override
+        public void accept(String text, String value, Map<String, Object> attributes) throws IOException {
+            try {
+                if (jsonWriter == null) {
+                    open();
+                }
                 jsonWriter.object();
-                writeResourceAttributes(jsonWriter, entry);
+                jsonWriter.key(CoreConstants.PN_TEXT).value(text);
+                jsonWriter.key(CoreConstants.PN_VALUE).value(value);
+                if (!attributes.isEmpty()) {
+                    jsonWriter.key(CoreConstants.NN_GRANITE_DATA).object();
+                    for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+                        jsonWriter.key(attribute.getKey()).value(attribute.getValue() != null ? attribute.getValue().toString() : null);
+                    }
+                    jsonWriter.endObject();
+                }
                 jsonWriter.endObject();
+            } catch (JSONException e) {
+                throw new IOException(e);
+            }
+        }
+
+        /**
+         * Stores the total number of options to report it in the response header
+         * @param total Non-negative integer value
+         */
+        @Override
+        public void acceptTotal(int total) {
+            this.total = total;
+        }
+
+        /**
+         * Sets the response headers and opens the JSON array
+         * @throws IOException    in case the output cannot be opened
+         * @throws JSONException in case of a JSON format violation
+         */
+        private void open() throws IOException, JSONException {
+            // The validators may become available after the options are prepared and cached
+            if (cacheHeaders.getETag() == null) {
+                cacheHeaders = forEncoding(optionProvider.getCacheHeaders(request), isCompressed);
+            }
+            cacheHeaders.setTo(response);
+            if (total >= 0) {
+                response.setHeader(HEADER_TOTAL_COUNT, String.valueOf(total));
+            }
+            response.setContentType(CONTENT_TYPE_JSON);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.toString());
+            if (isCompressed) {
+                response.setHeader(HEADER_CONTENT_ENCODING, ENCODING_GZIP);
+                writer = new OutputStreamWriter(new GZIPOutputStream(response.getOutputStream()), StandardCharsets.UTF_8);
+            } else {
+                writer = response.getWriter();
+            }
+            jsonWriter = new JSONWriter(writer);
+            jsonWriter.array();
+        }
+
+        /**
+         * Closes the JSON array and flushes the output. If no options were received, an empty array is written
+         * @throws IOException in case a writing operation fails or a JSON format violation occurs
+         */
+        void close() throws IOException {
+            try {
+                if (jsonWriter == null) {
+                    open();
+                }
+                jsonWriter.endArray();
+            } catch (JSONException e) {
+                throw new IOException(e);
+            }
+            if (writer instanceof OutputStreamWriter) {
+                writer.close();
+            } else {
+                writer.flush();
             }
-            jsonWriter.endArray();
-            return stringWriter.toString();
         }
     }
 
     /**
-     * Called by {@link OptionProviderServlet#getJsonOutput(List)} to create internals on a JSON entity representing
-     * a single datasource option
-     * @param writer {@code JSONWriter} instance
-     * @param entry  {@code Resource} to take data from
-     * @throws JSONException in case of a JSON format violation
+     * Represents the configuration of the option provider servlet
      */
-    private static void writeResourceAttributes(JSONWriter writer, Resource entry) throws JSONException {
-        writer.key(ATTRIBUTE_TEXT).value(entry.getValueMap().get(ATTRIBUTE_TEXT, String.class));
-        writer.key(ATTRIBUTE_VALUE).value(entry.getValueMap().get(ATTRIBUTE_VALUE, String.class));
-        Resource graniteData = entry.getChild(NODE_GRANITE_DATA);
-        if (graniteData == null) {
-            return;
-        }
-        writer.key(NODE_GRANITE_DATA).object();
-        for (String attribute : graniteData.getValueMap().keySet()) {
-            writer.key(attribute).value(graniteData.getValueMap().get(attribute, String.class));
-        }
-        writer.endObject();
+    @ObjectClassDefinition(name = "EToolbox Authoring Kit - Option Provider Servlet")
+    public @interface Configuration {
+
+        @AttributeDefinition(
+            name = "Enable compression",
+            description = "Whether JSON output is gzip-compressed for the clients that accept it")
+        boolean compression_enabled() default false;
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services;
+
+import java.util.Collections;
+import java.util.List;
+import javax.management.NotCompliantMBeanException;
+
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.core.lists.models.SimpleListItem;
+import com.exadel.aem.toolkit.core.lists.services.impl.ListServiceImpl;
+
+import io.wcm.testing.mock.aem.junit.AemContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ListServiceTest {
+
+    private static final String SIMPLE_LIST_PATH = "/content/etoolbox-lists/simpleList";
+
+    @Rule
+    public AemContext context = new AemContext(ResourceResolverType.RESOURCERESOLVER_MOCK);
+
+    private ListServiceImpl listService;
+
+    @Before
+    public void setUp() throws NotCompliantMBeanException {
+        context.load().json("/com/exadel/aem/toolkit/core/lists/utils/simpleList.json", SIMPLE_LIST_PATH);
+        context.addModelsForClasses(SimpleListItem.class);
+        listService = context.registerInjectActivateService(new ListServiceImpl(), "cache.enabled", true);
+    }
+
+    @Test
+    public void shouldNotStoreListsUnlessEnabled() throws NotCompliantMBeanException {
+        ListServiceImpl defaultService = context.registerInjectActivateService(new ListServiceImpl());
+        List<SimpleListItem> actual = defaultService.getList(context.resourceResolver(), SIMPLE_LIST_PATH);
+        assertEquals(5, actual.size());
+        assertNotSame(actual, defaultService.getList(context.resourceResolver(), SIMPLE_LIST_PATH));
+        assertEquals(0, defaultService.getSize());
+    }
+
+    @Test
+    public void shouldStoreAdaptedLists() {
+        List<SimpleListItem> actual = listService.getList(context.resourceResolver(), SIMPLE_LIST_PATH);
+        assertEquals(5, actual.size());
+        assertSame(actual, listService.getList(context.resourceResolver(), SIMPLE_LIST_PATH));
+        assertEquals("value3", listService.getValue(context.resourceResolver(), SIMPLE_LIST_PATH, "key1"));
+
+        assertEquals(1, listService.getHitCount());
+        assertEquals(2, listService.getMissCount());
+        assertEquals(2, listService.getSize());
+    }
+
+    @Test
+    public void shouldDiscardChangedLists() {
+        List<SimpleListItem> actual = listService.getList(context.resourceResolver(), SIMPLE_LIST_PATH);
+        listService.onChange(Collections.singletonList(new ResourceChange(
+            ResourceChange.ChangeType.CHANGED,
+            SIMPLE_LIST_PATH + "/jcr:content/list/item0",
+            false)));
+        assertEquals(0, listService.getSize());
+        assertNotSame(actual, listService.getList(context.resourceResolver(), SIMPLE_LIST_PATH));
+    }
+}
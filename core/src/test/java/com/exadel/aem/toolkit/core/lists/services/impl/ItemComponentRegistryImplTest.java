@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.lists.services.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.jcr.query.Query;
+
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.ResourceResolver;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mockito;
+import com.day.cq.commons.jcr.JcrConstants;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+
+import io.wcm.testing.mock.aem.junit.AemContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ItemComponentRegistryImplTest {
+
+    private static final String ITEM_PATH = "/apps/etoolbox-authoring-kit/lists/components/content/genericItem";
+    private static final String ITEM_TITLE = "Generic List Item";
+    private static final int MAX_USERS = 100;
+
+    @Rule
+    public AemContext context = new AemContext();
+
+    private ItemComponentRegistryImpl registry;
+    private Resource itemComponent;
+
+    @Before
+    public void setUp() {
+        itemComponent = context.create().resource(
+            ITEM_PATH,
+            JcrConstants.JCR_TITLE, ITEM_TITLE,
+            CoreConstants.PN_LIST_ITEM, "true");
+        registry = context.registerInjectActivateService(new ItemComponentRegistryImpl());
+    }
+
+    @Test
+    public void shouldDiscardCollectionsOnChange() {
+        ResourceResolver resolver = createResolver("user");
+
+        Map<String, String> itemComponents = registry.getItemComponents(resolver);
+        assertEquals(Collections.singletonMap(ITEM_PATH, ITEM_TITLE), itemComponents);
+        assertSame(itemComponents, registry.getItemComponents(resolver));
+        verifyQueried(resolver, 1);
+
+        registry.onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, ITEM_PATH, false)));
+        assertEquals(itemComponents, registry.getItemComponents(resolver));
+        verifyQueried(resolver, 2);
+    }
+
+    @Test
+    public void shouldNotStoreCollectionComputedDuringChange() {
+        ResourceResolver resolver = createResolver("user");
+        // The first query is interleaved with a change under /apps
+        Mockito.when(resolver.findResources(Mockito.anyString(), Mockito.eq(Query.JCR_SQL2)))
+            .thenAnswer(invocation -> {
+                registry.onChange(Collections.singletonList(
+                    new ResourceChange(ResourceChange.ChangeType.ADDED, ITEM_PATH, false)));
+                return Collections.singletonList(itemComponent).iterator();
+            })
+            .thenAnswer(invocation -> Collections.singletonList(itemComponent).iterator());
+
+        assertEquals(Collections.singletonMap(ITEM_PATH, ITEM_TITLE), registry.getItemComponents(resolver));
+        registry.getItemComponents(resolver);
+        verifyQueried(resolver, 2);
+
+        // The collection computed without interference is stored
+        registry.getItemComponents(resolver);
+        verifyQueried(resolver, 2);
+    }
+
+    @Test
+    public void shouldKeepCollectionsPerUser() {
+        List<ResourceResolver> resolvers = new ArrayList<>();
+        for (int i = 0; i <= MAX_USERS; i++) {
+            ResourceResolver resolver = createResolver("user" + i);
+            registry.getItemComponents(resolver);
+            resolvers.add(resolver);
+        }
+        // The collections of the most recently served users are kept
+        for (ResourceResolver resolver : resolvers.subList(1, resolvers.size())) {
+            registry.getItemComponents(resolver);
+            verifyQueried(resolver, 1);
+        }
+        // The collection of the least recently served user is evicted
+        registry.getItemComponents(resolvers.get(0));
+        verifyQueried(resolvers.get(0), 2);
+    }
+
+    private ResourceResolver createResolver(String userId) {
+        ResourceResolver resolver = Mockito.mock(ResourceResolver.class);
+        Mockito.when(resolver.getUserID()).thenReturn(userId);
+        Mockito.when(resolver.findResources(Mockito.anyString(), Mockito.eq(Query.JCR_SQL2)))
+            .thenAnswer(invocation -> Collections.singletonList(itemComponent).iterator());
+        return resolver;
+    }
+
+    private static void verifyQueried(ResourceResolver resolver, int times) {
+        Mockito.verify(resolver, Mockito.times(times)).findResources(Mockito.anyString(), Mockito.eq(Query.JCR_SQL2));
+    }
+}
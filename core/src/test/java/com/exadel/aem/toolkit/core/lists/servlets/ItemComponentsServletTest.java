@@ -21,6 +21,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import com.adobe.granite.ui.components.ds.DataSource;
 
+import com.exadel.aem.toolkit.core.lists.services.impl.ItemComponentRegistryImpl;
+
 import io.wcm.testing.mock.aem.junit.AemContext;
 import static org.junit.Assert.assertEquals;
 
@@ -40,7 +42,8 @@ public class ItemComponentsServletTest {
 
     @Test
     public void shouldReturnDataSourceFromApps() {
-        ItemComponentsServlet servlet = new ItemComponentsServlet();
+        context.registerInjectActivateService(new ItemComponentRegistryImpl());
+        ItemComponentsServlet servlet = context.registerInjectActivateService(new ItemComponentsServlet());
         servlet.doGet(context.request(), context.response());
 
         DataSource dataSource = (DataSource) context.request().getAttribute(DataSource.class.getName());
@@ -15,12 +15,16 @@ package com.exadel.aem.toolkit.core.lists.servlets;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import javax.servlet.http.HttpServletResponse;
 
+import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ResourceChange;
 import org.apache.sling.testing.mock.sling.ResourceResolverType;
 import org.junit.Before;
 import org.junit.Rule;
@@ -32,16 +36,24 @@ import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
 import com.adobe.granite.ui.components.ExpressionResolver;
 import com.adobe.granite.ui.components.ds.DataSource;
+import com.day.cq.commons.jcr.JcrConstants;
 
 import io.wcm.testing.mock.aem.junit.AemContext;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ListsServletTest {
     private static final String SIMPLE_LIST_PATH = "/content/etoolbox-authoring-kit/lists/simpleList";
     private static final String CUSTOM_LIST_PATH = "/content/etoolbox-authoring-kit/lists/etoolbox-lists/customList";
+    private static final String PAGING_PATH = "/content/etoolbox-authoring-kit/paging";
     private static final String DATASOURCE_PATH = "/datasource";
 
+    private static final String PATH_EXPRESSION = "${requestPathInfo.suffix}";
+    private static final String OFFSET_EXPRESSION = "${requestPathInfo.selectors[0]}";
+    private static final String LIMIT_EXPRESSION = "${empty requestPathInfo.selectors[1] ? &quot;41&quot; : requestPathInfo.selectors[1] + 1}";
+
     @Rule
     public AemContext context = new AemContext(ResourceResolverType.JCR_OAK);
 
@@ -57,9 +69,18 @@ public class ListsServletTest {
         context.load().json("/com/exadel/aem/toolkit/core/lists/utils/customList.json", CUSTOM_LIST_PATH);
         context.load().json("/com/exadel/aem/toolkit/core/lists/datasource/datasource.json", DATASOURCE_PATH);
 
-        Mockito.when(expressionResolver.resolve("${requestPathInfo.suffix}", Locale.US, String.class, context.request())).thenReturn("/content/etoolbox-authoring-kit/lists");
-        Mockito.when(expressionResolver.resolve("${requestPathInfo.selectors[0]}", Locale.US, Integer.class, context.request())).thenReturn(0);
-        Mockito.when(expressionResolver.resolve("${empty requestPathInfo.selectors[1] ? &quot;41&quot; : requestPathInfo.selectors[1] + 1}", Locale.US, Integer.class, context.request())).thenReturn(100);
+        // Children of the page used for paging: jcr:content, plain1, list1, plain2, list2, list3. "Plain" children
+        // contain no pages and are therefore skipped
+        context.create().page(PAGING_PATH);
+        context.create().resource(PAGING_PATH + "/plain1", JcrConstants.JCR_PRIMARYTYPE, JcrConstants.NT_UNSTRUCTURED);
+        context.create().page(PAGING_PATH + "/list1/page");
+        context.create().resource(PAGING_PATH + "/plain2");
+        context.create().page(PAGING_PATH + "/list2/page");
+        context.create().page(PAGING_PATH + "/list3/page");
+
+        Mockito.when(expressionResolver.resolve(PATH_EXPRESSION, Locale.US, String.class, context.request())).thenReturn("/content/etoolbox-authoring-kit/lists");
+        Mockito.when(expressionResolver.resolve(OFFSET_EXPRESSION, Locale.US, Integer.class, context.request())).thenReturn(0);
+        Mockito.when(expressionResolver.resolve(LIMIT_EXPRESSION, Locale.US, Integer.class, context.request())).thenReturn(100);
     }
 
     @Test
@@ -78,4 +99,55 @@ public class ListsServletTest {
         assertEquals(HttpServletResponse.SC_OK, context.response().getStatus());
         assertEquals(expected, actualList);
     }
+
+    @Test
+    public void shouldPageOverValidChildren() {
+        assertEquals(Arrays.asList("list1", "list2", "list3"), getNames(servlet, PAGING_PATH, 0, 100));
+        assertEquals(Collections.singletonList("list1"), getNames(servlet, PAGING_PATH, 0, 1));
+        assertEquals(Collections.singletonList("list2"), getNames(servlet, PAGING_PATH, 1, 1));
+        assertEquals(Collections.singletonList("list3"), getNames(servlet, PAGING_PATH, 2, 5));
+        assertEquals(Collections.emptyList(), getNames(servlet, PAGING_PATH, 3, 5));
+    }
+
+    @Test
+    public void shouldCacheClassificationUntilChanged() throws IllegalAccessException {
+        context.registerService(ExpressionResolver.class, expressionResolver);
+        ListsServlet cachingServlet = context.registerInjectActivateService(new ListsServlet(), "cache.ttl", 60L);
+        Map<?, ?> cache = (Map<?, ?>) FieldUtils.readField(cachingServlet, "classificationCache", true);
+
+        assertEquals(Collections.singletonList("list1"), getNames(cachingServlet, PAGING_PATH, 0, 1));
+        assertEquals(1, cache.size());
+        // Children beyond the requested page are not classified
+        Map<?, ?> classification = (Map<?, ?>) FieldUtils.readField(cache.values().iterator().next(), "classification", true);
+        assertEquals(Boolean.FALSE, classification.get("plain1"));
+        assertEquals(Boolean.TRUE, classification.get("list1"));
+        assertFalse(classification.containsKey("list3"));
+
+        assertEquals(Arrays.asList("list2", "list3"), getNames(cachingServlet, PAGING_PATH, 1, 5));
+        assertEquals(1, cache.size());
+
+        cachingServlet.onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, "/content/etoolbox-authoring-kit/lists", false)));
+        assertEquals(1, cache.size());
+
+        context.create().page(PAGING_PATH + "/plain1/page");
+        cachingServlet.onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.ADDED, PAGING_PATH + "/plain1/page", false)));
+        assertTrue(cache.isEmpty());
+        assertEquals(Arrays.asList("plain1", "list1", "list2", "list3"), getNames(cachingServlet, PAGING_PATH, 0, 100));
+    }
+
+    private List<String> getNames(ListsServlet listsServlet, String path, int offset, int limit) {
+        Mockito.when(expressionResolver.resolve(PATH_EXPRESSION, Locale.US, String.class, context.request())).thenReturn(path);
+        Mockito.when(expressionResolver.resolve(OFFSET_EXPRESSION, Locale.US, Integer.class, context.request())).thenReturn(offset);
+        Mockito.when(expressionResolver.resolve(LIMIT_EXPRESSION, Locale.US, Integer.class, context.request())).thenReturn(limit);
+
+        context.request().setResource(context.resourceResolver().getResource(DATASOURCE_PATH));
+        listsServlet.doGet(context.request(), context.response());
+
+        DataSource dataSource = (DataSource) context.request().getAttribute(DataSource.class.getName());
+        List<String> result = new ArrayList<>();
+        dataSource.iterator().forEachRemaining(resource -> result.add(resource.getName()));
+        return result;
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.optionprovider.services.impl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.apache.sling.api.SlingHttpServletRequest;
+import org.apache.sling.api.resource.Resource;
+import org.apache.sling.testing.mock.sling.ResourceResolverType;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.meta.ResourceTypes;
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
+
+import io.wcm.testing.mock.aem.junit.AemContext;
+
+public class OptionProviderTagsTest {
+    private static final String TAGS_PATH = "/content/cq:tags/colors";
+
+    @Rule
+    public final AemContext context = new AemContext(ResourceResolverType.JCR_MOCK);
+
+    private OptionProviderService optionProvider;
+
+    @Before
+    public void setUp() {
+        context.load().json("/com/exadel/aem/toolkit/core/optionprovider/tags.json", TAGS_PATH);
+        optionProvider = context.registerInjectActivateService(new OptionProviderServiceImpl());
+    }
+
+    @Test
+    public void shouldRetrieveTagsViaTagManager() {
+        List<Resource> options = optionProvider.getOptions(createRequest("path=" + TAGS_PATH, Locale.ENGLISH));
+        Assert.assertEquals(Arrays.asList("colors:red", "colors:green"), getValues(options, CoreConstants.PN_VALUE));
+        Assert.assertEquals(Arrays.asList("Red", "Green"), getValues(options, CoreConstants.PN_TEXT));
+    }
+
+    @Test
+    public void shouldRetrieveNestedTagsDownToDepth() {
+        List<Resource> options = optionProvider.getOptions(createRequest("path=" + TAGS_PATH + "&depth=2", Locale.ENGLISH));
+        Assert.assertEquals(
+            Arrays.asList("colors:red", "colors:red/dark", "colors:green"),
+            getValues(options, CoreConstants.PN_VALUE));
+
+        // Depth less than 1 is treated as 1
+        options = optionProvider.getOptions(createRequest("path=" + TAGS_PATH + "&depth=0", Locale.ENGLISH));
+        Assert.assertEquals(Arrays.asList("colors:red", "colors:green"), getValues(options, CoreConstants.PN_VALUE));
+    }
+
+    @Test
+    public void shouldLocalizeTitles() {
+        String queryString = "path=" + TAGS_PATH + "&textMember=@title&depth=2";
+        Assert.assertEquals(
+            Arrays.asList("Red", "Dark red", "Green"),
+            getValues(optionProvider.getOptions(createRequest(queryString, Locale.ENGLISH)), CoreConstants.PN_TEXT));
+        // Options cached for one locale are not served for another
+        Assert.assertEquals(
+            Arrays.asList("Rot", "Dunkelrot", "Gruen"),
+            getValues(optionProvider.getOptions(createRequest(queryString, Locale.GERMAN)), CoreConstants.PN_TEXT));
+        Assert.assertEquals(
+            Arrays.asList("Red", "Dark red", "Green"),
+            getValues(optionProvider.getOptions(createRequest(queryString, Locale.ENGLISH)), CoreConstants.PN_TEXT));
+    }
+
+    @Test
+    public void shouldShareCachedOptionsBetweenLocalesUnlessLocalized() {
+        String queryString = "path=" + TAGS_PATH;
+        optionProvider.getOptions(createRequest(queryString, Locale.ENGLISH));
+        Assert.assertNotNull(optionProvider.getCacheHeaders(createRequest(queryString, Locale.GERMAN)).getETag());
+
+        String localizedQueryString = queryString + "&textMember=@title";
+        optionProvider.getOptions(createRequest(localizedQueryString, Locale.ENGLISH));
+        Assert.assertNotNull(optionProvider.getCacheHeaders(createRequest(localizedQueryString, Locale.ENGLISH)).getETag());
+        Assert.assertNull(optionProvider.getCacheHeaders(createRequest(localizedQueryString, Locale.GERMAN)).getETag());
+    }
+
+    private SlingHttpServletRequest createRequest(String queryString, Locale locale) {
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(context.resourceResolver(), context.bundleContext()) {
+            @Override
+            public Locale getLocale() {
+                return locale;
+            }
+        };
+        request.setResource(context.resourceResolver().getResource(TAGS_PATH));
+        request.setQueryString(queryString);
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setResourcePath("/apps/" + ResourceTypes.OPTION_PROVIDER);
+        return request;
+    }
+
+    private static List<String> getValues(List<Resource> options, String name) {
+        return options.stream()
+            .map(option -> option.getValueMap().get(name, String.class))
+            .collect(Collectors.toList());
+    }
+}
@@ -13,19 +13,35 @@
  */
 package com.exadel.aem.toolkit.core.optionprovider.services.impl;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.sling.api.resource.ModifiableValueMap;
+import org.apache.sling.api.resource.PersistenceException;
 import org.apache.sling.api.resource.Resource;
+import org.apache.sling.api.resource.observation.ExternalResourceChangeListener;
+import org.apache.sling.api.resource.observation.ResourceChange;
+import org.apache.sling.api.resource.observation.ResourceChangeListener;
 import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import com.day.cq.commons.jcr.JcrConstants;
 
 import com.exadel.aem.toolkit.api.annotations.meta.ResourceTypes;
 import com.exadel.aem.toolkit.api.annotations.meta.StringTransformation;
 import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.CacheHeaders;
 import com.exadel.aem.toolkit.core.optionprovider.services.OptionProviderService;
 
 import io.wcm.testing.mock.aem.junit.AemContext;
@@ -106,4 +122,188 @@ public class OptionProviderTest {
         Assert.assertEquals("value4", options.get(5).getValueMap().get("value"));
         Assert.assertEquals("prefix:more", options.get(options.size() - 1).getValueMap().get(CoreConstants.PN_VALUE));
     }
+
+    @Test
+    public void shouldCacheOptionsUntilDatasourceChanges() throws PersistenceException {
+        List<Resource> options = optionProvider.getOptions(context.request());
+        Assert.assertEquals("Option 0", options.get(1).getValueMap().get(CoreConstants.PN_TEXT));
+
+        Resource option = context.resourceResolver().getResource("/content/options/option0");
+        Assert.assertNotNull(option);
+        option.adaptTo(ModifiableValueMap.class).put(JcrConstants.JCR_TITLE, "modified option");
+        context.resourceResolver().commit();
+
+        options = optionProvider.getOptions(context.request());
+        Assert.assertEquals("Option 0", options.get(1).getValueMap().get(CoreConstants.PN_TEXT));
+
+        ((ResourceChangeListener) optionProvider).onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, option.getPath(), false)));
+        options = optionProvider.getOptions(context.request());
+        Assert.assertEquals("Modified Option", options.get(1).getValueMap().get(CoreConstants.PN_TEXT));
+    }
+
+    @Test
+    public void shouldCacheOnlyObservedPaths() {
+        context.load().json("/com/exadel/aem/toolkit/core/optionprovider/content.json", "/var/optionprovider");
+        OptionProviderService rootWatchingProvider = context.registerInjectActivateService(
+            new OptionProviderServiceImpl(),
+            "resource.paths", new String[] {"/"});
+        Assert.assertTrue(rootWatchingProvider instanceof ExternalResourceChangeListener);
+
+        rootWatchingProvider.getOptions(context.request());
+        Assert.assertNotNull(rootWatchingProvider.getCacheHeaders(context.request()).getETag());
+
+        // Changes under /var are not reported to the service, therefore options from there are not cached
+        context.request().setQueryString("path=/var/optionprovider/options");
+        Assert.assertFalse(rootWatchingProvider.getOptions(context.request()).isEmpty());
+        Assert.assertNull(rootWatchingProvider.getCacheHeaders(context.request()).getETag());
+    }
+
+    @Test
+    public void shouldProvideCacheHeadersForCachedOptions() {
+        Assert.assertNull(optionProvider.getCacheHeaders(context.request()).getETag());
+
+        optionProvider.getOptions(context.request());
+        CacheHeaders cacheHeaders = optionProvider.getCacheHeaders(context.request());
+        Assert.assertNotNull(cacheHeaders.getETag());
+        Assert.assertEquals(cacheHeaders.getETag(), optionProvider.getCacheHeaders(context.request()).getETag());
+        Assert.assertFalse(cacheHeaders.isNotModified(context.request()));
+
+        context.request().addHeader("If-None-Match", "W/" + cacheHeaders.getETag());
+        Assert.assertTrue(cacheHeaders.isNotModified(context.request()));
+
+        ((ResourceChangeListener) optionProvider).onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, "/content/options/option0", false)));
+        Assert.assertNull(optionProvider.getCacheHeaders(context.request()).getETag());
+    }
+
+    @Test
+    public void shouldProvideDistinctETagsForDistinctContent() throws PersistenceException {
+        optionProvider.getOptions(context.request());
+        CacheHeaders originalHeaders = optionProvider.getCacheHeaders(context.request());
+        Assert.assertNotNull(originalHeaders.getETag());
+        Assert.assertTrue(originalHeaders.getLastModified() < 0);
+
+        Resource option = context.resourceResolver().getResource("/content/options/option0");
+        Assert.assertNotNull(option);
+        String originalTitle = option.getValueMap().get(JcrConstants.JCR_TITLE, String.class);
+        option.adaptTo(ModifiableValueMap.class).put(JcrConstants.JCR_TITLE, "modified option");
+        context.resourceResolver().commit();
+
+        // A newly activated service starts with an empty cache; still, different content must not produce the same validator
+        OptionProviderService reactivated = context.registerInjectActivateService(new OptionProviderServiceImpl());
+        reactivated.getOptions(context.request());
+        String modifiedETag = reactivated.getCacheHeaders(context.request()).getETag();
+        Assert.assertNotNull(modifiedETag);
+        Assert.assertNotEquals(originalHeaders.getETag(), modifiedETag);
+
+        // The same content produces the same validator regardless of the service instance
+        option.adaptTo(ModifiableValueMap.class).put(JcrConstants.JCR_TITLE, originalTitle);
+        context.resourceResolver().commit();
+        OptionProviderService restored = context.registerInjectActivateService(new OptionProviderServiceImpl());
+        restored.getOptions(context.request());
+        Assert.assertEquals(originalHeaders.getETag(), restored.getCacheHeaders(context.request()).getETag());
+    }
+
+    @Test
+    public void shouldRetrieveOptionsConcurrently() throws IllegalAccessException {
+        context.request().setQueryString("path2=/content/optionsPathHolder@moreOptionsPath&textMember2=text&attributes=a:value");
+        List<String> expected = describe(optionProvider.getOptions(context.request()));
+        Assert.assertFalse(expected.isEmpty());
+
+        OptionProviderService concurrentProvider = context.registerInjectActivateService(
+            new OptionProviderServiceImpl(),
+            "parallel.enabled", true,
+            "parallel.threads", 2);
+
+        // The options of all the datasources come in the order of the paths, both when read anew and when cached
+        for (int i = 0; i < 2; i++) {
+            List<Resource> options = concurrentProvider.getOptions(context.request());
+            Assert.assertEquals(expected, describe(options));
+            // The options are detached in the worker threads and attached to the resource resolver of the request
+            options.forEach(option -> Assert.assertSame(context.request().getResourceResolver(), option.getResourceResolver()));
+        }
+
+        // The datasources are read sequentially if the executor rejects the tasks due to the service reconfiguration
+        ((ExecutorService) FieldUtils.readField(concurrentProvider, "executor", true)).shutdown();
+        ((ResourceChangeListener) concurrentProvider).onChange(Collections.singletonList(
+            new ResourceChange(ResourceChange.ChangeType.CHANGED, "/content", false)));
+        Assert.assertEquals(expected, describe(concurrentProvider.getOptions(context.request())));
+    }
+
+    @Test
+    public void shouldPassOptionsToConsumer() throws IOException {
+        String queryString = "path2=/content/optionsPathHolder@moreOptionsPath"
+                + "&textMember2=text&exclude=Excluded*,*6";
+        context.request().setQueryString(queryString);
+
+        List<Resource> expected = optionProvider.getOptions(context.request());
+        List<String> values = new ArrayList<>();
+        int count = optionProvider.getOptions(context.request(), (text, value, attributes) -> values.add(value));
+
+        Assert.assertEquals(expected.size(), count);
+        Assert.assertEquals(
+            expected.stream().map(option -> option.getValueMap().get(CoreConstants.PN_VALUE, String.class)).collect(Collectors.toList()),
+            values);
+    }
+
+    @Test
+    public void shouldFilterAndPageOptions() throws IOException {
+        context.request().setQueryString("query=on");
+        Assert.assertEquals(4, optionProvider.getOptions(context.request()).size());
+
+        context.request().setQueryString("query=on&queryMode=prefix");
+        Assert.assertTrue(optionProvider.getOptions(context.request()).isEmpty());
+
+        context.request().setQueryString("query=OPTION&offset=1&limit=1");
+        List<String> values = new ArrayList<>();
+        AtomicInteger total = new AtomicInteger(-1);
+        int count = optionProvider.getOptions(context.request(), new OptionProviderService.OptionConsumer() {
+            @Override
+            public void accept(String text, String value, Map<String, Object> attributes) {
+                values.add(value);
+            }
+
+            @Override
+            public void acceptTotal(int value) {
+                total.set(value);
+            }
+        });
+        Assert.assertEquals(1, count);
+        Assert.assertEquals(3, total.get());
+        Assert.assertEquals(Collections.singletonList("value1"), values);
+    }
+
+    @Test
+    public void shouldExcludeOptionsBeforeFiltering() {
+        // The excluded option takes away the option with the same value even though the former does not match the query
+        context.request().setQueryString("prepend=Apple:x&append=Banana:x&exclude=Apple&query=Ban");
+        Assert.assertTrue(optionProvider.getOptions(context.request()).isEmpty());
+
+        context.request().setQueryString("prepend=Apple:x&append=Banana:y&exclude=Apple&query=Ban");
+        List<Resource> options = optionProvider.getOptions(context.request());
+        Assert.assertEquals(1, options.size());
+        Assert.assertEquals("y", options.get(0).getValueMap().get(CoreConstants.PN_VALUE));
+    }
+
+    @Test
+    public void shouldExcludeOptionsByLiteralsAndPatterns() {
+        context.request().setQueryString("exclude=OPTION%201,value2,n*e");
+        List<Resource> options = optionProvider.getOptions(context.request());
+
+        Assert.assertEquals(2, options.size());
+        Assert.assertEquals("value0", options.get(0).getValueMap().get(CoreConstants.PN_VALUE));
+        Assert.assertEquals("prefix:more", options.get(1).getValueMap().get(CoreConstants.PN_VALUE));
+    }
+
+    private static List<String> describe(List<Resource> options) {
+        return options.stream()
+            .map(option -> {
+                Resource graniteData = option.getChild(CoreConstants.NN_GRANITE_DATA);
+                return option.getValueMap().get(CoreConstants.PN_TEXT, String.class)
+                    + "|" + option.getValueMap().get(CoreConstants.PN_VALUE, String.class)
+                    + "|" + (graniteData != null ? new TreeMap<>(graniteData.getValueMap()) : null);
+            })
+            .collect(Collectors.toList());
+    }
 }
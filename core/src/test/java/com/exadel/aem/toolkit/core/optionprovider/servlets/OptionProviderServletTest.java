@@ -0,0 +1,196 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.core.optionprovider.servlets;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.sling.testing.mock.sling.servlet.MockRequestPathInfo;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletRequest;
+import org.apache.sling.testing.mock.sling.servlet.MockSlingHttpServletResponse;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.meta.ResourceTypes;
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.core.optionprovider.services.impl.OptionProviderServiceImpl;
+
+import io.wcm.testing.mock.aem.junit.AemContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class OptionProviderServletTest {
+
+    private static final String DEFAULT_RESOURCE_PATH = "/content";
+    private static final String BLANK_RESOURCE_PATH = "/content/optionsPathHolder";
+
+    private static final String QUERY_JSON = "output=json";
+    private static final String QUERY_MISSING_DATASOURCE = "output=json&path=/content/nonexistent";
+
+    private static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_TOTAL_COUNT = "X-Total-Count";
+    private static final String HEADER_VARY = "Vary";
+    private static final String ENCODING_GZIP = "gzip";
+
+    @Rule
+    public final AemContext context = new AemContext();
+
+    private OptionProviderServlet servlet;
+
+    @Before
+    public void setUp() {
+        context.load().json("/com/exadel/aem/toolkit/core/optionprovider/content.json", "/content");
+        context.registerInjectActivateService(new OptionProviderServiceImpl());
+        servlet = context.registerInjectActivateService(new OptionProviderServlet(), "compression.enabled", true);
+    }
+
+    @Test
+    public void shouldWritePlainJson() throws ServletException, IOException, JSONException {
+        MockSlingHttpServletResponse response = get(QUERY_JSON, null, null);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(HEADER_ACCEPT_ENCODING, response.getHeader(HEADER_VARY));
+        assertNull(response.getHeader(HEADER_CONTENT_ENCODING));
+        assertNotNull(response.getHeader(HEADER_ETAG));
+        assertTrue(response.getContentType().startsWith("application/json"));
+        assertJsonOptions(response.getOutputAsString());
+    }
+
+    @Test
+    public void shouldWriteGzipJson() throws ServletException, IOException, JSONException {
+        MockSlingHttpServletResponse plainResponse = get(QUERY_JSON, null, null);
+        MockSlingHttpServletResponse response = get(QUERY_JSON, "deflate, gzip;q=0.8", null);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(HEADER_ACCEPT_ENCODING, response.getHeader(HEADER_VARY));
+        assertEquals(ENCODING_GZIP, response.getHeader(HEADER_CONTENT_ENCODING));
+        String body = IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(response.getOutput())), StandardCharsets.UTF_8);
+        assertEquals(plainResponse.getOutputAsString(), body);
+        assertJsonOptions(body);
+
+        // The compressed representation has its own entity tag
+        String plainETag = plainResponse.getHeader(HEADER_ETAG);
+        assertNotNull(plainETag);
+        assertEquals(plainETag.substring(0, plainETag.length() - 1) + "-gzip\"", response.getHeader(HEADER_ETAG));
+    }
+
+    @Test
+    public void shouldAnswerNotModified() throws ServletException, IOException {
+        String plainETag = get(QUERY_JSON, null, null).getHeader(HEADER_ETAG);
+        String gzipETag = get(QUERY_JSON, ENCODING_GZIP, null).getHeader(HEADER_ETAG);
+        assertNotEquals(plainETag, gzipETag);
+
+        MockSlingHttpServletResponse response = get(QUERY_JSON, null, plainETag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(plainETag, response.getHeader(HEADER_ETAG));
+        assertEquals(HEADER_ACCEPT_ENCODING, response.getHeader(HEADER_VARY));
+        assertEquals(0, response.getOutput().length);
+
+        response = get(QUERY_JSON, ENCODING_GZIP, gzipETag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(gzipETag, response.getHeader(HEADER_ETAG));
+        assertNull(response.getHeader(HEADER_CONTENT_ENCODING));
+
+        // The entity tag of one encoding does not match the representation in another encoding
+        response = get(QUERY_JSON, ENCODING_GZIP, plainETag);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(gzipETag, response.getHeader(HEADER_ETAG));
+    }
+
+    @Test
+    public void shouldReportTotalCount() throws ServletException, IOException, JSONException {
+        MockSlingHttpServletResponse response = get(QUERY_JSON + "&offset=1&limit=2", null, null);
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("5", response.getHeader(HEADER_TOTAL_COUNT));
+        JSONArray options = new JSONArray(response.getOutputAsString());
+        assertEquals(2, options.length());
+        assertEquals("value0", options.getJSONObject(0).getString(CoreConstants.PN_VALUE));
+    }
+
+    @Test
+    public void shouldWriteEmptyPage() throws ServletException, IOException, JSONException {
+        MockSlingHttpServletResponse response = get(QUERY_JSON + "&query=nonexistent", null, null);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("0", response.getHeader(HEADER_TOTAL_COUNT));
+        assertEquals(0, new JSONArray(response.getOutputAsString()).length());
+
+        response = get(QUERY_JSON + "&offset=10", ENCODING_GZIP, null);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals("5", response.getHeader(HEADER_TOTAL_COUNT));
+        assertNotNull(response.getHeader(HEADER_ETAG));
+        String body = IOUtils.toString(new GZIPInputStream(new ByteArrayInputStream(response.getOutput())), StandardCharsets.UTF_8);
+        assertEquals(0, new JSONArray(body).length());
+    }
+
+    @Test
+    public void shouldAnswerNotFound() throws ServletException, IOException {
+        // The request resource carries no datasource settings, so that no options are prepended or appended
+        MockSlingHttpServletResponse response = get(BLANK_RESOURCE_PATH, QUERY_MISSING_DATASOURCE, ENCODING_GZIP, null);
+
+        assertEquals(HttpServletResponse.SC_NOT_FOUND, response.getStatus());
+        assertEquals(HEADER_ACCEPT_ENCODING, response.getHeader(HEADER_VARY));
+        assertNull(response.getHeader(HEADER_ETAG));
+        assertNull(response.getHeader(HEADER_CONTENT_ENCODING));
+        assertNull(response.getHeader(HEADER_TOTAL_COUNT));
+        assertEquals(0, response.getOutput().length);
+    }
+
+    private MockSlingHttpServletResponse get(String queryString, String acceptEncoding, String ifNoneMatch) throws ServletException, IOException {
+        return get(DEFAULT_RESOURCE_PATH, queryString, acceptEncoding, ifNoneMatch);
+    }
+
+    private MockSlingHttpServletResponse get(
+        String resourcePath,
+        String queryString,
+        String acceptEncoding,
+        String ifNoneMatch) throws ServletException, IOException {
+
+        MockSlingHttpServletRequest request = new MockSlingHttpServletRequest(context.resourceResolver(), context.bundleContext());
+        request.setResource(context.resourceResolver().getResource(resourcePath));
+        request.setQueryString(queryString);
+        ((MockRequestPathInfo) request.getRequestPathInfo()).setResourcePath("/apps/" + ResourceTypes.OPTION_PROVIDER);
+        if (acceptEncoding != null) {
+            request.addHeader(HEADER_ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader(HEADER_IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockSlingHttpServletResponse response = new MockSlingHttpServletResponse();
+        servlet.doGet(request, response);
+        return response;
+    }
+
+    private static void assertJsonOptions(String body) throws JSONException {
+        JSONArray options = new JSONArray(body);
+        assertEquals(5, options.length());
+        assertEquals("none", options.getJSONObject(0).getString(CoreConstants.PN_VALUE));
+        assertEquals("Option 0", options.getJSONObject(1).getString(CoreConstants.PN_TEXT));
+        assertEquals("prefix:more", options.getJSONObject(4).getString(CoreConstants.PN_VALUE));
+    }
+}
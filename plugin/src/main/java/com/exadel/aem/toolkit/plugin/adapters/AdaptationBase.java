@@ -46,7 +46,9 @@ public abstract class AdaptationBase<T> {
 
     /**
      * Implements the basic adaptation functionality. This method is expected to be overridden by a descendant class
-     * and internally called within an overriding method for the fallback result
+     * and internally called within an overriding method for the fallback result. Adaptations are cached in a thread-safe
+     * manner since an adaptable, such as a {@link Source} of a commonly used class, can be shared between the worker
+     * threads
      * @param adaptation {@code Class} reference indicating the desired data type
      * @param <A>        The type of the resulting value
      * @return The {@code A}-typed object, or null in case the adaptation to the particular type was not possible or failed
@@ -55,23 +57,36 @@ public abstract class AdaptationBase<T> {
         if (ClassUtils.isAssignable(getClass(), adaptation)) {
             return adaptation.cast(this);
         }
+        if (!adaptation.isAnnotationPresent(Adapts.class)
+            || !reflectedClass.equals(adaptation.getAnnotation(Adapts.class).value())) {
+            return null;
+        }
+        synchronized (this) {
+            return getOrCreateAdaptation(adaptation);
+        }
+    }
+
+    /**
+     * Called by {@link AdaptationBase#adaptTo(Class)} to retrieve a cached adaptation or else create a new one
+     * @param adaptation {@code Class} reference indicating the desired data type
+     * @param <A>        The type of the resulting value
+     * @return The {@code A}-typed object, or null in case the adaptation failed
+     */
+    private <A> A getOrCreateAdaptation(Class<A> adaptation) {
         if (adaptationsCache != null && adaptationsCache.containsKey(adaptation)) {
             return adaptation.cast(adaptationsCache.get(adaptation));
         }
-        if (adaptation.isAnnotationPresent(Adapts.class)
-            && reflectedClass.equals(adaptation.getAnnotation(Adapts.class).value())) {
-            try {
-                Object result = adaptation.getConstructor(reflectedClass).newInstance(this);
-                if (adaptationsCache == null) {
-                    adaptationsCache = new HashMap<>();
-                }
-                adaptationsCache.put(adaptation, result);
-                return adaptation.cast(result);
-            } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                ReflectionException re = new ReflectionException(
-                    ADAPTER_EXCEPTION_MESSAGE + adaptation.getName(), e);
-                PluginRuntime.context().getExceptionHandler().handle(re);
+        try {
+            Object result = adaptation.getConstructor(reflectedClass).newInstance(this);
+            if (adaptationsCache == null) {
+                adaptationsCache = new HashMap<>();
             }
+            adaptationsCache.put(adaptation, result);
+            return adaptation.cast(result);
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            ReflectionException re = new ReflectionException(
+                ADAPTER_EXCEPTION_MESSAGE + adaptation.getName(), e);
+            PluginRuntime.context().getExceptionHandler().handle(re);
         }
         return null;
     }
@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.adapters;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.exadel.aem.toolkit.api.handlers.Adapts;
+import com.exadel.aem.toolkit.api.handlers.Target;
+import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
+import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+import com.exadel.aem.toolkit.plugin.utils.NamingUtil;
+import com.exadel.aem.toolkit.plugin.utils.XmlFactory;
+
+/**
+ * Implements {@link Adapts} for rendering a {@link Target} instance directly into XML markup, without creating
+ * an intermediate DOM {@code Document}. The output is the same as that of a {@code Document} created with
+ * {@link DomAdapter} and serialized by a default {@code Transformer}: the namespace declarations come first, the rest
+ * of the attributes are sorted by name, and special characters are escaped the same way
+ */
+@Adapts(Target.class)
+public class XmlStreamAdapter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>";
+    private static final String XML_NAMESPACE_ATTRIBUTE = "xmlns";
+
+    private final Target target;
+
+    /**
+     * Constructor per {@link Adapts} contract
+     * @param target {@code Target} object that will be used as a source of data for rendering
+     */
+    public XmlStreamAdapter(Target target) {
+        this.target = target;
+    }
+
+    /**
+     * Retrieves the XML markup for the {@code Target} passed upon class initialization
+     * @return String value; an empty string in case an exception occurred when rendering the markup
+     */
+    public String composeString() {
+        StringWriter writer = new StringWriter();
+        try {
+            write(writer);
+        } catch (IOException e) {
+            PluginRuntime.context().getExceptionHandler().handle(e);
+            return StringUtils.EMPTY;
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the XML markup for the {@code Target} passed upon class initialization to the given {@code Writer}
+     * @param writer {@code Writer} instance
+     * @throws IOException if writing fails
+     */
+    public void write(Writer writer) throws IOException {
+        writer.write(XML_DECLARATION);
+        if (target != null) {
+            writeElement(writer, target, true);
+        }
+    }
+
+    /**
+     * Implements writing an XML element with its attributes and children for the {@code Target} provided
+     * @param writer {@code Writer} instance
+     * @param target {@code Target} instance holding the data for rendering
+     * @param isRoot True to write a document element; false to write an ordinary nested element
+     * @throws IOException if writing fails
+     */
+    private static void writeElement(Writer writer, Target target, boolean isRoot) throws IOException {
+        String name = NamingUtil.getValidNodeName(target.getName());
+        Map<String, String> attributes = new TreeMap<>(target.getAttributes());
+        if (isRoot) {
+            XmlFactory.XML_NAMESPACES.forEach((key, value) -> attributes.put(XmlFactory.XML_NAMESPACE_PREFIX + key, value));
+        }
+
+        writer.write('<');
+        writer.write(name);
+        // Namespace declarations are output before other attributes, as the DOM serializer does. The declaration for
+        // the prefix of the element itself goes first
+        String ownNamespace = name.contains(DialogConstants.SEPARATOR_COLON)
+            ? XmlFactory.XML_NAMESPACE_PREFIX + StringUtils.substringBefore(name, DialogConstants.SEPARATOR_COLON)
+            : null;
+        if (ownNamespace != null && attributes.containsKey(ownNamespace)) {
+            writeAttribute(writer, ownNamespace, attributes.get(ownNamespace));
+        }
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            if (entry.getKey().startsWith(XML_NAMESPACE_ATTRIBUTE) && !entry.getKey().equals(ownNamespace)) {
+                writeAttribute(writer, entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<String, String> entry : attributes.entrySet()) {
+            if (!entry.getKey().startsWith(XML_NAMESPACE_ATTRIBUTE)) {
+                writeAttribute(writer, entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (target.getChildren().isEmpty()) {
+            writer.write("/>");
+            return;
+        }
+        writer.write('>');
+        for (Target child : target.getChildren()) {
+            writeElement(writer, child, false);
+        }
+        writer.write("</");
+        writer.write(name);
+        writer.write('>');
+    }
+
+    /**
+     * Writes an XML attribute, escaping its value
+     * @param writer {@code Writer} instance
+     * @param name   Name of the attribute
+     * @param value  Nullable attribute value
+     * @throws IOException if writing fails
+     */
+    private static void writeAttribute(Writer writer, String name, String value) throws IOException {
+        writer.write(' ');
+        writer.write(name);
+        writer.write("=\"");
+        String effectiveValue = StringUtils.defaultString(value);
+        for (int i = 0; i < effectiveValue.length(); i++) {
+            char current = effectiveValue.charAt(i);
+            if (Character.isHighSurrogate(current)
+                && i + 1 < effectiveValue.length()
+                && Character.isLowSurrogate(effectiveValue.charAt(i + 1))) {
+                writeCharacterReference(writer, Character.toCodePoint(current, effectiveValue.charAt(++i)));
+                continue;
+            }
+            switch (current) {
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                default:
+                    if (current < ' ') {
+                        writeCharacterReference(writer, current);
+                    } else {
+                        writer.write(current);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    /**
+     * Writes a numeric character reference like {@code &#10;}
+     * @param writer    {@code Writer} instance
+     * @param codePoint Unicode code point
+     * @throws IOException if writing fails
+     */
+    private static void writeCharacterReference(Writer writer, int codePoint) throws IOException {
+        writer.write("&#");
+        writer.write(Integer.toString(codePoint));
+        writer.write(';');
+    }
+}
@@ -50,4 +50,17 @@ public class ExceptionHandlers {
                 .collect(Collectors.toList());
         return new SelectiveExceptionHandler(exceptionTokens);
     }
+
+    /**
+     * Retrieves the number of exceptions that the given {@link ExceptionHandler} has handled without terminating
+     * the workflow in the current thread. Comparing the values retrieved before and after an operation reveals whether
+     * the operation completed cleanly
+     * @param handler {@code ExceptionHandler} instance
+     * @return Integer value; 0 if the handler is not created by this class
+     */
+    public static int getHandledCount(ExceptionHandler handler) {
+        return handler instanceof PermissiveExceptionHandler
+            ? ((PermissiveExceptionHandler) handler).getHandledCount()
+            : 0;
+    }
 }
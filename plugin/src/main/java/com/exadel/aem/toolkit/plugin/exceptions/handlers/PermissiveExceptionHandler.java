@@ -28,6 +28,8 @@ import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
 class PermissiveExceptionHandler implements ExceptionHandler {
     static final Logger LOG = LoggerFactory.getLogger(DialogConstants.ARTIFACT_NAME);
 
+    private final ThreadLocal<Integer> handledCount = ThreadLocal.withInitial(() -> 0);
+
     /**
      * Logs the handled exception. Checked exceptions are logged as error messages, and unchecked exceptions are logged
      * as warnings
@@ -36,6 +38,7 @@ class PermissiveExceptionHandler implements ExceptionHandler {
      */
     @Override
     public void handle(String message, Exception cause) {
+        handledCount.set(handledCount.get() + 1);
         if (ClassUtils.isAssignable(cause.getClass(), RuntimeException.class)) {
             LOG.warn(message, cause);
         } else {
@@ -50,4 +53,13 @@ class PermissiveExceptionHandler implements ExceptionHandler {
     public boolean shouldTerminateOn(Class<? extends Exception> exceptionType) {
         return false;
     }
+
+    /**
+     * Retrieves the number of exceptions that were handled by this instance without terminating the workflow
+     * in the current thread
+     * @return Integer value
+     */
+    int getHandledCount() {
+        return handledCount.get();
+    }
 }
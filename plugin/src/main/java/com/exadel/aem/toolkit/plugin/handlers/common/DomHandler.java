@@ -15,6 +15,7 @@ package com.exadel.aem.toolkit.plugin.handlers.common;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import javax.xml.xpath.XPath;
@@ -58,6 +59,22 @@ public class DomHandler {
 
     }
 
+    /**
+     * Gets whether the given {@code Source} requires processing by this handler in the provided scope, i.e. there are
+     * common properties or legacy dialog handlers to apply. If not, the markup can be rendered without creating a DOM
+     * {@code Document}
+     * @param source {@code Source} object used for data retrieval
+     * @param scope  Non-blank string representing an ordinary component part scope
+     * @return True or false
+     */
+    public boolean isApplicable(Source source, String scope) {
+        Class<?> componentClass = source.adaptTo(Class.class);
+        boolean hasCommonProperties = Arrays.stream(componentClass.getAnnotationsByType(CommonProperty.class))
+            .anyMatch(p -> StringUtils.equals(scope, p.scope()));
+        return hasCommonProperties
+            || (Scopes.CQ_DIALOG.equals(scope) && !getLegacyDialogHandlers(componentClass).isEmpty());
+    }
+
     /* -----------------
        Common properties
        ----------------- */
@@ -127,13 +144,27 @@ public class DomHandler {
     @SuppressWarnings({"deprecation", "squid:S1905"}) // DialogHandler reference and DialogHandler#accept(Element, Class)
     // method are retained for compatibility and will be removed in a version after 2.0.2
     private static void applyLegacyDialogHandlers(Class<?> componentClass, Element element) {
+        getLegacyDialogHandlers(componentClass).forEach(handler -> handler.accept(element, componentClass));
+    }
+
+    /**
+     * Retrieves list of legacy handlers that match the custom annotations of the given {@code Class}
+     * @param componentClass The {@code Class} being processed
+     * @return List of handler instances, empty or non-empty
+     */
+    @SuppressWarnings({"deprecation", "squid:S1905"}) // DialogHandler reference is retained for compatibility and will
+    // be removed in a version after 2.0.2
+    private static List<DialogHandler> getLegacyDialogHandlers(Class<?> componentClass) {
         List<DialogAnnotation> customAnnotations = getLegacyDialogAnnotations(componentClass);
-        PluginRuntime.context().getReflection().getHandlers().stream()
+        if (customAnnotations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return PluginRuntime.context().getReflection().getHandlers().stream()
             .filter(handler -> handler instanceof DialogHandler)
             .map(handler -> (DialogHandler) handler)
             .filter(handler -> customAnnotations.stream()
                 .anyMatch(annotation -> StringUtils.equals(annotation.source(), handler.getName())))
-            .forEach(handler -> handler.accept(element, componentClass));
+            .collect(Collectors.toList());
     }
 
     /**
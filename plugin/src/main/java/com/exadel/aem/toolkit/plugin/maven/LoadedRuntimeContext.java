@@ -26,14 +26,15 @@ import com.exadel.aem.toolkit.plugin.utils.XmlFactory;
 
 /**
  * The implementation of {@link PluginRuntimeContext} for the ToolKit Maven plugin instance that
- * has been properly initialized
+ * has been properly initialized. The instance can be shared between threads; each thread is given its own
+ * {@link XmlContextHelper}
  */
 class LoadedRuntimeContext implements PluginRuntimeContext {
     private static final String XML_EXCEPTION_MESSAGE = "Could not initialize XML runtime";
 
     private ReflectionContextHelper pluginReflections;
     private ExceptionHandler exceptionHandler;
-    private XmlContextHelper xmlRuntime;
+    private final ThreadLocal<XmlContextHelper> xmlRuntime = ThreadLocal.withInitial(LoadedRuntimeContext::createXmlUtility);
 
     /**
      * {@inheritDoc}
@@ -56,7 +57,7 @@ class LoadedRuntimeContext implements PluginRuntimeContext {
      */
     @Override
     public XmlContextHelper getXmlUtility() {
-        return xmlRuntime;
+        return xmlRuntime.get();
     }
 
     /**
@@ -64,13 +65,22 @@ class LoadedRuntimeContext implements PluginRuntimeContext {
      */
     @Override
     public XmlContextHelper newXmlUtility() {
+        XmlContextHelper result = createXmlUtility();
+        xmlRuntime.set(result);
+        return result;
+    }
+
+    /**
+     * Creates an {@link XmlContextHelper} instance wrapped around a new XML document
+     * @return {@code XmlContextHelper} object
+     */
+    private static XmlContextHelper createXmlUtility() {
         try {
-            xmlRuntime = new XmlContextHelper(XmlFactory.newDocument());
+            return new XmlContextHelper(XmlFactory.newDocument());
         } catch (ParserConfigurationException e) {
             // Cannot proceed with the plugin flow if XML subsystem fails this early
             throw new PluginException(XML_EXCEPTION_MESSAGE, e);
         }
-        return xmlRuntime;
     }
 
 
@@ -81,6 +91,7 @@ class LoadedRuntimeContext implements PluginRuntimeContext {
 
         private List<String> classPathElements;
         private String packageBase;
+        private String indexDirectory;
         private String terminateOn;
         private final Consumer<LoadedRuntimeContext> onComplete;
 
@@ -115,6 +126,17 @@ class LoadedRuntimeContext implements PluginRuntimeContext {
             return this;
         }
 
+        /**
+         * Assigns the path to the directory where the classpath scan index is stored between builds. If not specified,
+         * the classpath elements are scanned anew every time
+         * @param value String representing a file system path
+         * @return This Builder instance
+         */
+        Builder indexDirectory(String value) {
+            this.indexDirectory = value;
+            return this;
+        }
+
         /**
          * Assigns the {@code terminateOn} setting to this instance
          * @param value String containing a list of terminating and non-terminating exceptions
@@ -134,7 +156,7 @@ class LoadedRuntimeContext implements PluginRuntimeContext {
                 return;
             }
             LoadedRuntimeContext result = new LoadedRuntimeContext();
-            result.pluginReflections = ReflectionContextHelper.fromCodeScope(classPathElements, packageBase);
+            result.pluginReflections = ReflectionContextHelper.fromCodeScope(classPathElements, packageBase, indexDirectory);
             result.exceptionHandler = ExceptionHandlers.forSetting(terminateOn);
             result.newXmlUtility();
             this.onComplete.accept(result);
@@ -14,7 +14,15 @@
 package com.exadel.aem.toolkit.plugin.maven;
 
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.plugin.AbstractMojo;
@@ -29,6 +37,7 @@ import org.slf4j.LoggerFactory;
 
 import com.exadel.aem.toolkit.plugin.exceptions.PluginException;
 import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+import com.exadel.aem.toolkit.plugin.utils.XmlFactory;
 import com.exadel.aem.toolkit.plugin.writers.PackageWriter;
 
 /**
@@ -41,8 +50,15 @@ public class PluginMojo extends AbstractMojo {
 
     private static final String DEPENDENCY_RESOLUTION_EXCEPTION_MESSAGE = "Could not resolve dependencies of project %s: %s";
     private static final String PLUGIN_EXECUTION_EXCEPTION_MESSAGE = "%s in module %s: %s";
+    private static final String PLUGIN_INTERRUPTED_EXCEPTION_MESSAGE = "Execution interrupted";
+    private static final String WORKER_EXCEPTION_MESSAGE = "Could not process component";
     private static final String PLUGIN_COMPLETION_MESSAGE = "Execution completed.";
     private static final String PLUGIN_COMPLETION_STATISTICS_MESSAGE = PLUGIN_COMPLETION_MESSAGE + " {} component(-s) processed.";
+    private static final String XML_USAGE_STATISTICS_MESSAGE = "XML document builders created: {}, reused: {}; transformers created: {}, reused: {}";
+
+    private static final String SETTING_COMPONENTS_PATH_BASE = "componentsPathBase";
+    private static final String SETTING_COMPONENTS_REFERENCE_BASE = "componentsReferenceBase";
+    private static final String SETTING_TERMINATE_ON = "terminateOn";
 
     @Parameter(readonly = true, defaultValue = "${project}")
     private MavenProject project;
@@ -59,12 +75,24 @@ public class PluginMojo extends AbstractMojo {
     @Parameter(readonly = true, defaultValue = "java.io.IOException")
     private String terminateOn;
 
+    @Parameter(readonly = true, defaultValue = "${project.build.directory}/etoolbox-authoring-kit/scan-index")
+    private String scanIndexDirectory;
+
+    @Parameter(readonly = true, defaultValue = "1")
+    private int threads;
+
+    @Parameter(readonly = true, defaultValue = "false")
+    private boolean incremental;
+
     /**
      * Executes the ToolKit Maven plugin. This is done by initializing {@link PluginRuntime} and then
      * enumerating classpath entries present in the Maven reactor. Relevant AEM component classes (POJOs or Sling models)
      * are extracted and processed with {@link PackageWriter} instance created for a particular Maven project; the result
-     * is written down to the AEM package zip file. The method is run once for each package module that has the ToolKit
-     * plugin included in the POM file
+     * is written down to the AEM package zip file. If the {@code threads} setting is greater than one, the markup is
+     * rendered in parallel, while the package file system is still modified in a single thread and in the same order
+     * as in the serial mode. The method is run once for each package module that has the ToolKit plugin included
+     * in the POM file. If the {@code incremental} setting is on, the components that have not changed since
+     * the previous build are skipped
      * @throws MojoExecutionException if work on a package cannot proceed (due to e.g. file system failure or improper
      * initialization) or in case an internal exception is thrown that corresponds to the {@code terminateOn} setting
      */
@@ -79,19 +107,27 @@ public class PluginMojo extends AbstractMojo {
         }
         pluginDependencies.stream().findFirst().ifPresent(d -> classpathElements.add(d.getFile().getPath()));
 
+        XmlFactory.DOCUMENT_BUILDER_USAGE.reset();
+        XmlFactory.TRANSFORMER_USAGE.reset();
+
         PluginRuntime.contextBuilder()
             .classPathElements(classpathElements)
             .packageBase(componentsReferenceBase)
+            .indexDirectory(scanIndexDirectory)
             .terminateOn(terminateOn)
             .build();
 
         int processedCount = 0;
         try (PackageWriter packageWriter = PackageWriter.forMavenProject(project, componentsPathBase)) {
-            packageWriter.writeInfo(PluginInfo.getInstance());
-            for (Class<?> componentClass : PluginRuntime.context().getReflection().getComponentClasses()) {
-                processedCount += packageWriter.write(componentClass) ? 1 : 0;
+            PluginInfo pluginInfo = PluginInfo.getInstance();
+            packageWriter.writeInfo(pluginInfo);
+            if (incremental) {
+                packageWriter.enableIncrementalMode(pluginInfo, getEffectiveSettings());
             }
-            PluginRuntime.context().getReflection().getComponentClasses().forEach(packageWriter::write);
+            List<Class<?>> componentClasses = PluginRuntime.context().getReflection().getComponentClasses();
+            processedCount = threads > 1 && componentClasses.size() > 1
+                ? writeInParallel(packageWriter, componentClasses, threads)
+                : writeInSequence(packageWriter, componentClasses);
         } catch (PluginException e) {
             throw new MojoExecutionException(String.format(PLUGIN_EXECUTION_EXCEPTION_MESSAGE,
                     e.getCause() != null ? e.getCause().getClass().getSimpleName() : e.getClass().getSimpleName(),
@@ -106,5 +142,91 @@ public class PluginMojo extends AbstractMojo {
         } else {
             LOG.info(PLUGIN_COMPLETION_MESSAGE);
         }
+        LOG.debug(XML_USAGE_STATISTICS_MESSAGE,
+            XmlFactory.DOCUMENT_BUILDER_USAGE.getCreated(),
+            XmlFactory.DOCUMENT_BUILDER_USAGE.getReused(),
+            XmlFactory.TRANSFORMER_USAGE.getCreated(),
+            XmlFactory.TRANSFORMER_USAGE.getReused());
+    }
+
+    /**
+     * Retrieves the plugin settings that affect the rendered markup. Upon any change to these settings, the components
+     * are rendered anew in the incremental mode
+     * @return {@code Map} of setting names and values
+     */
+    private Map<String, String> getEffectiveSettings() {
+        Map<String, String> result = new TreeMap<>();
+        result.put(SETTING_COMPONENTS_PATH_BASE, StringUtils.defaultString(componentsPathBase));
+        result.put(SETTING_COMPONENTS_REFERENCE_BASE, StringUtils.defaultString(componentsReferenceBase));
+        result.put(SETTING_TERMINATE_ON, StringUtils.defaultString(terminateOn));
+        return result;
+    }
+
+    /**
+     * Stores the markup of the provided AEM components into the package one by one
+     * @param packageWriter    {@link PackageWriter} instance
+     * @param componentClasses List of component classes to process
+     * @return Number of components processed
+     */
+    static int writeInSequence(PackageWriter packageWriter, List<Class<?>> componentClasses) {
+        int result = 0;
+        for (Class<?> componentClass : componentClasses) {
+            result += packageWriter.write(componentClass) ? 1 : 0;
+        }
+        return result;
+    }
+
+    /**
+     * Renders the markup of the provided AEM components in a pool of worker threads and stores the results into
+     * the package in the order of the provided list. Each worker is given access to the current
+     * {@link PluginRuntimeContext}, while XML documents and transformers are confined to the worker threads
+     * @param packageWriter    {@link PackageWriter} instance
+     * @param componentClasses List of component classes to process
+     * @param threads          Maximal number of worker threads
+     * @return Number of components processed
+     */
+    static int writeInParallel(PackageWriter packageWriter, List<Class<?>> componentClasses, int threads) {
+        PluginRuntimeContext context = PluginRuntime.context();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, componentClasses.size()));
+        try {
+            List<Future<PackageWriter.ComponentEntries>> futures = componentClasses
+                .stream()
+                .map(componentClass -> executor.submit(() -> {
+                    PluginRuntime.attach(context);
+                    return packageWriter.render(componentClass);
+                }))
+                .collect(Collectors.toList());
+            int result = 0;
+            for (Future<PackageWriter.ComponentEntries> future : futures) {
+                result += packageWriter.write(getResult(future)) ? 1 : 0;
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for the given worker task to complete and retrieves its result. Exceptions thrown by the worker are
+     * passed to the calling thread
+     * @param future {@code Future} object representing the worker task
+     * @param <T>    Type of the result
+     * @return The result of the task
+     */
+    private static <T> T getResult(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PluginException(PLUGIN_INTERRUPTED_EXCEPTION_MESSAGE, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new PluginException(WORKER_EXCEPTION_MESSAGE, e);
+        }
     }
 }
@@ -40,6 +40,15 @@ public class PluginRuntime {
         return new LoadedRuntimeContext.Builder(INSTANCE::set);
     }
 
+    /**
+     * Shares the given {@link PluginRuntimeContext} with the current thread. This is used to make a loaded context
+     * available to the worker threads when the plugin runs in parallel mode
+     * @param value {@code PluginRuntimeContext} instance, usually the one created in the main thread
+     */
+    static void attach(PluginRuntimeContext value) {
+        INSTANCE.set(value);
+    }
+
     /**
      * Disposes of current {@link LoadedRuntimeContext} instance by calling the {@link ThreadLocal#remove()} method
      */
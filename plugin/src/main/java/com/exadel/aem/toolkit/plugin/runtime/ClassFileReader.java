@@ -0,0 +1,311 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the header of a Java class file (the class name, the direct supertypes, and the class-level runtime-visible
+ * annotations) without loading the class via a {@code ClassLoader}. The annotations are only parsed if the constant
+ * pool of the class mentions at least one of the requested annotation types; otherwise, reading stops right after the
+ * list of interfaces
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">The class file format</a>
+ */
+class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int TAG_UTF8 = 1;
+    private static final int TAG_INTEGER = 3;
+    private static final int TAG_FLOAT = 4;
+    private static final int TAG_LONG = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_CLASS = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_FIELD_REF = 9;
+    private static final int TAG_METHOD_REF = 10;
+    private static final int TAG_INTERFACE_METHOD_REF = 11;
+    private static final int TAG_NAME_AND_TYPE = 12;
+    private static final int TAG_METHOD_HANDLE = 15;
+    private static final int TAG_METHOD_TYPE = 16;
+    private static final int TAG_DYNAMIC = 17;
+    private static final int TAG_INVOKE_DYNAMIC = 18;
+    private static final int TAG_MODULE = 19;
+    private static final int TAG_PACKAGE = 20;
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+
+    private static final String ATTRIBUTE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    /**
+     * Default (instantiation-restricting) constructor
+     */
+    private ClassFileReader() {
+    }
+
+    /**
+     * Reads the header of a class file from the given stream
+     * @param input       {@code InputStream} exposing the content of a class file
+     * @param annotations Collection of names of the annotation types to look for. Other annotations of the class are
+     *                    not reported
+     * @return {@link ClassFileInfo} object
+     * @throws IOException if the stream cannot be read or does not represent a valid class file
+     */
+    static ClassFileInfo read(InputStream input, Collection<String> annotations) throws IOException {
+        Set<String> descriptors = annotations.stream().map(ClassFileReader::getDescriptor).collect(Collectors.toSet());
+        boolean hasCandidates = false;
+        DataInputStream data = new DataInputStream(input);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        data.readUnsignedShort(); // minor version
+        data.readUnsignedShort(); // major version
+
+        int constantPoolSize = data.readUnsignedShort();
+        String[] utf8Entries = new String[constantPoolSize];
+        int[] classEntries = new int[constantPoolSize];
+        for (int i = 1; i < constantPoolSize; i++) {
+            int tag = data.readUnsignedByte();
+            switch (tag) {
+                case TAG_UTF8:
+                    utf8Entries[i] = data.readUTF();
+                    hasCandidates |= descriptors.contains(utf8Entries[i]);
+                    break;
+                case TAG_CLASS:
+                    classEntries[i] = data.readUnsignedShort();
+                    break;
+                case TAG_STRING:
+                case TAG_METHOD_TYPE:
+                case TAG_MODULE:
+                case TAG_PACKAGE:
+                    data.skipBytes(2);
+                    break;
+                case TAG_METHOD_HANDLE:
+                    data.skipBytes(3);
+                    break;
+                case TAG_INTEGER:
+                case TAG_FLOAT:
+                case TAG_FIELD_REF:
+                case TAG_METHOD_REF:
+                case TAG_INTERFACE_METHOD_REF:
+                case TAG_NAME_AND_TYPE:
+                case TAG_DYNAMIC:
+                case TAG_INVOKE_DYNAMIC:
+                    data.skipBytes(4);
+                    break;
+                case TAG_LONG:
+                case TAG_DOUBLE:
+                    data.skipBytes(8);
+                    i++; // Long and double values take two constant pool slots
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        int accessFlags = data.readUnsignedShort();
+        boolean isInstantiable = (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) == 0;
+        String name = getClassName(utf8Entries, classEntries, data.readUnsignedShort());
+        String superName = getClassName(utf8Entries, classEntries, data.readUnsignedShort());
+        List<String> supertypes = new ArrayList<>();
+        if (superName != null) {
+            supertypes.add(superName);
+        }
+        int interfacesCount = data.readUnsignedShort();
+        for (int i = 0; i < interfacesCount; i++) {
+            supertypes.add(getClassName(utf8Entries, classEntries, data.readUnsignedShort()));
+        }
+
+        List<String> foundAnnotations = new ArrayList<>();
+        if (!hasCandidates) {
+            // A class can only be annotated with a type that is referenced from its constant pool
+            return new ClassFileInfo(name, isInstantiable, supertypes, foundAnnotations);
+        }
+
+        skipMembers(data); // fields
+        skipMembers(data); // methods
+
+        int attributesCount = data.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8Entries[data.readUnsignedShort()];
+            int attributeLength = data.readInt();
+            if (!ATTRIBUTE_ANNOTATIONS.equals(attributeName)) {
+                data.skipBytes(attributeLength);
+                continue;
+            }
+            int annotationsCount = data.readUnsignedShort();
+            for (int j = 0; j < annotationsCount; j++) {
+                String descriptor = utf8Entries[data.readUnsignedShort()];
+                if (descriptors.contains(descriptor)) {
+                    foundAnnotations.add(getClassNameByDescriptor(descriptor));
+                }
+                skipElementValuePairs(data);
+            }
+        }
+        return new ClassFileInfo(name, isInstantiable, supertypes, foundAnnotations);
+    }
+
+    /**
+     * Skips the fields or methods section of a class file
+     * @param data {@code DataInputStream} positioned at the start of the section
+     * @throws IOException if the stream cannot be read
+     */
+    private static void skipMembers(DataInputStream data) throws IOException {
+        int membersCount = data.readUnsignedShort();
+        for (int i = 0; i < membersCount; i++) {
+            data.skipBytes(6); // access flags, name index, descriptor index
+            int attributesCount = data.readUnsignedShort();
+            for (int j = 0; j < attributesCount; j++) {
+                data.skipBytes(2);
+                data.skipBytes(data.readInt());
+            }
+        }
+    }
+
+    /**
+     * Skips the element-value pairs of an annotation
+     * @param data {@code DataInputStream} positioned at the start of the pairs
+     * @throws IOException if the stream cannot be read
+     */
+    private static void skipElementValuePairs(DataInputStream data) throws IOException {
+        int pairsCount = data.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            data.skipBytes(2); // element name index
+            skipElementValue(data);
+        }
+    }
+
+    /**
+     * Skips an element value of an annotation
+     * @param data {@code DataInputStream} positioned at the start of the value
+     * @throws IOException if the stream cannot be read
+     */
+    private static void skipElementValue(DataInputStream data) throws IOException {
+        char tag = (char) data.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                data.skipBytes(4);
+                break;
+            case '@':
+                data.skipBytes(2);
+                skipElementValuePairs(data);
+                break;
+            case '[':
+                int valuesCount = data.readUnsignedShort();
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(data);
+                }
+                break;
+            default:
+                data.skipBytes(2); // primitive, string, or class value
+        }
+    }
+
+    /**
+     * Retrieves a class name from the constant pool
+     * @param utf8Entries  Array of string constants
+     * @param classEntries Array of class constants
+     * @param index        Index of the class constant
+     * @return String value in the "binary" form, e.g. {@code java.lang.Object}; or null if the index is zero
+     */
+    private static String getClassName(String[] utf8Entries, int[] classEntries, int index) {
+        if (index == 0) {
+            return null;
+        }
+        return utf8Entries[classEntries[index]].replace('/', '.');
+    }
+
+    /**
+     * Converts a class name to a field descriptor like {@code Lcom/acme/Annotation;}
+     * @param name String value in the "binary" form
+     * @return String value
+     */
+    private static String getDescriptor(String name) {
+        return 'L' + name.replace('.', '/') + ';';
+    }
+
+    /**
+     * Converts a field descriptor like {@code Lcom/acme/Annotation;} to a class name
+     * @param descriptor String value
+     * @return String value in the "binary" form
+     */
+    private static String getClassNameByDescriptor(String descriptor) {
+        return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+    }
+
+    /**
+     * Contains the data read from a class file header
+     */
+    static class ClassFileInfo {
+        private final String name;
+        private final boolean isInstantiable;
+        private final List<String> supertypes;
+        private final List<String> annotations;
+
+        /**
+         * Creates a new instance of this class
+         * @param name           Name of the class
+         * @param isInstantiable True if the class is neither an interface nor an abstract class
+         * @param supertypes     Names of the superclass and the directly implemented interfaces
+         * @param annotations    Names of the requested class-level runtime-visible annotations
+         */
+        private ClassFileInfo(String name, boolean isInstantiable, List<String> supertypes, List<String> annotations) {
+            this.name = name;
+            this.isInstantiable = isInstantiable;
+            this.supertypes = Collections.unmodifiableList(supertypes);
+            this.annotations = Collections.unmodifiableList(annotations);
+        }
+
+        /**
+         * Gets the name of the class
+         * @return String value
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * Gets whether the class is neither an interface nor an abstract class
+         * @return True or false
+         */
+        boolean isInstantiable() {
+            return isInstantiable;
+        }
+
+        /**
+         * Gets the names of the superclass and the directly implemented interfaces
+         * @return List of strings
+         */
+        List<String> getSupertypes() {
+            return supertypes;
+        }
+
+        /**
+         * Gets the names of the requested class-level runtime-visible annotations
+         * @return List of strings
+         */
+        List<String> getAnnotations() {
+            return annotations;
+        }
+    }
+}
@@ -0,0 +1,424 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.apache.commons.lang3.StringUtils;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import com.exadel.aem.toolkit.api.annotations.main.AemComponent;
+import com.exadel.aem.toolkit.api.annotations.main.Dialog;
+
+/**
+ * Contains the results of scanning the classpath elements for the ToolKit-related types, i.e. the classes annotated
+ * with {@link Dialog} or {@link AemComponent}, and the type hierarchy needed to look up handlers and validators.
+ * The data gathered for every classpath element can be stored in an index directory and reused in a subsequent build
+ * if the element has not changed. A jar file is considered unchanged if its size and modification time are the same;
+ * a folder is considered unchanged if the paths, sizes, and modification times of its class files are the same.
+ * <p>Class files are read directly, so that only the classes that are actually requested from this index need to be
+ * loaded by a {@code ClassLoader}</p>
+ */
+class ClassIndex {
+
+    private static final List<String> TRACKED_ANNOTATIONS = Arrays.asList(
+        Dialog.class.getName(),
+        AemComponent.class.getName());
+
+    private static final List<String> SKIPPED_SUPERTYPE_PACKAGES = Arrays.asList("java.", "javax.");
+
+    private static final String FORMAT_VERSION = "2";
+    private static final String INDEX_FILE_EXTENSION = ".index";
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String MODULE_INFO_FILE = "module-info.class";
+    private static final String PREFIX_ANNOTATION = "@";
+    private static final String PREFIX_SUPERTYPES = ">";
+    private static final String PREFIX_ABSTRACT_SUPERTYPES = "~";
+    private static final String SEPARATOR_SPACE = " ";
+
+    private final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+    private final Map<String, Set<String>> subtypes = new HashMap<>();
+    private final Set<String> abstractTypes = new HashSet<>();
+
+    /**
+     * Default (instantiation-restricting) constructor
+     */
+    private ClassIndex() {
+    }
+
+
+    /* ------------------------
+       Public interface members
+       ------------------------ */
+
+    /**
+     * Retrieves names of the classes that are directly annotated with the given annotation and belong to the given
+     * package
+     * @param annotationType One of the tracked annotation types, such as {@link Dialog} or {@link AemComponent}
+     * @param packageBase    Nullable string representing the package prefix of the classes. If not specified, all the
+     *                       annotated classes are returned
+     * @return Sorted set of class names; might be empty
+     */
+    Set<String> getAnnotatedWith(Class<?> annotationType, String packageBase) {
+        Set<String> result = annotatedTypes.getOrDefault(annotationType.getName(), Collections.emptySet());
+        if (StringUtils.isEmpty(packageBase)) {
+            return Collections.unmodifiableSet(result);
+        }
+        return result.stream()
+            .filter(name -> name.startsWith(packageBase))
+            .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Retrieves names of the classes and interfaces that directly or indirectly extend or implement the given type
+     * @param type {@code Class} reference
+     * @return Sorted set of class names; might be empty
+     */
+    Set<String> getSubtypesOf(Class<?> type) {
+        Set<String> result = new TreeSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(type.getName());
+        while (!queue.isEmpty()) {
+            for (String subtype : subtypes.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (result.add(subtype)) {
+                    queue.add(subtype);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves names of the classes that directly or indirectly extend or implement the given type and are neither
+     * interfaces nor abstract classes
+     * @param type {@code Class} reference
+     * @return Sorted set of class names; might be empty
+     */
+    Set<String> getImplementationsOf(Class<?> type) {
+        Set<String> result = getSubtypesOf(type);
+        result.removeAll(abstractTypes);
+        return result;
+    }
+
+
+    /* ------------------
+       Populating entries
+       ------------------ */
+
+    /**
+     * Merges the data gathered for a classpath element into this instance
+     * @param element {@link ElementIndex} object
+     */
+    private void merge(ElementIndex element) {
+        element.annotatedTypes.forEach((annotation, types) ->
+            annotatedTypes.computeIfAbsent(annotation, key -> new TreeSet<>()).addAll(types));
+        element.supertypes.forEach((type, supertypes) -> supertypes.forEach(supertype ->
+            subtypes.computeIfAbsent(supertype, key -> new TreeSet<>()).add(type)));
+        abstractTypes.addAll(element.abstractTypes);
+    }
+
+
+    /* ---------------
+       Factory methods
+       --------------- */
+
+    /**
+     * Creates a new {@code ClassIndex} for the given classpath elements
+     * @param elements       List of classpath elements, i.e. folders and jar files
+     * @param indexDirectory Nullable path to the directory in which the per-element data are stored between builds.
+     *                       If not specified, every element is scanned anew
+     * @return {@code ClassIndex} instance
+     */
+    static ClassIndex forClasspath(List<String> elements, String indexDirectory) {
+        ClassIndex result = new ClassIndex();
+        if (elements == null) {
+            return result;
+        }
+        Path indexPath = StringUtils.isNotBlank(indexDirectory) ? Paths.get(indexDirectory) : null;
+        elements.stream()
+            .map(Paths::get)
+            .map(element -> ElementIndex.forElement(element, indexPath))
+            .forEach(result::merge);
+        return result;
+    }
+
+
+    /* --------------
+       Nested classes
+       -------------- */
+
+    /**
+     * Contains the data gathered for a single classpath element
+     */
+    private static class ElementIndex {
+        private final String key;
+        private final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+        private final Map<String, List<String>> supertypes = new HashMap<>();
+        private final Set<String> abstractTypes = new HashSet<>();
+
+        /**
+         * Creates a new instance of this class
+         * @param key String value that represents the state of the classpath element
+         */
+        private ElementIndex(String key) {
+            this.key = key;
+        }
+
+        /**
+         * Stores the data read from a class file
+         * @param info {@link ClassFileReader.ClassFileInfo} object
+         */
+        private void add(ClassFileReader.ClassFileInfo info) {
+            info.getAnnotations().stream()
+                .filter(TRACKED_ANNOTATIONS::contains)
+                .forEach(annotation -> annotatedTypes.computeIfAbsent(annotation, k -> new TreeSet<>()).add(info.getName()));
+            List<String> effectiveSupertypes = info.getSupertypes().stream()
+                .filter(supertype -> SKIPPED_SUPERTYPE_PACKAGES.stream().noneMatch(supertype::startsWith))
+                .collect(Collectors.toList());
+            if (effectiveSupertypes.isEmpty()) {
+                return;
+            }
+            supertypes.put(info.getName(), effectiveSupertypes);
+            if (!info.isInstantiable()) {
+                abstractTypes.add(info.getName());
+            }
+        }
+
+        /**
+         * Retrieves the data for the given classpath element, either from the index directory or by scanning the element
+         * @param element        {@code Path} to a folder or a jar file
+         * @param indexDirectory Nullable {@code Path} to the directory in which the per-element data are stored
+         * @return {@code ElementIndex} object
+         */
+        static ElementIndex forElement(Path element, Path indexDirectory) {
+            String key = getKey(element);
+            if (key == null) {
+                return new ElementIndex(StringUtils.EMPTY);
+            }
+            Path indexFile = indexDirectory != null
+                ? indexDirectory.resolve(Hashing.sha256().hashString(element.toAbsolutePath().toString(), StandardCharsets.UTF_8) + INDEX_FILE_EXTENSION)
+                : null;
+            ElementIndex stored = indexFile != null ? read(indexFile) : null;
+            if (stored != null && key.equals(stored.key)) {
+                return stored;
+            }
+            ElementIndex result = scan(element, key);
+            if (indexFile != null) {
+                write(result, indexFile);
+            }
+            return result;
+        }
+
+        /**
+         * Computes the value that represents the state of the given classpath element
+         * @param element {@code Path} to a folder or a jar file
+         * @return String value, or null if the element does not exist
+         */
+        private static String getKey(Path element) {
+            try {
+                if (Files.isRegularFile(element)) {
+                    return Files.size(element) + SEPARATOR_SPACE + Files.getLastModifiedTime(element).toMillis();
+                }
+                if (!Files.isDirectory(element)) {
+                    return null;
+                }
+                Hasher hasher = Hashing.sha256().newHasher();
+                try (Stream<Path> files = Files.walk(element)) {
+                    for (Path file : files.filter(ElementIndex::isClassFile).sorted().collect(Collectors.toList())) {
+                        hasher
+                            .putString(element.relativize(file).toString(), StandardCharsets.UTF_8)
+                            .putLong(Files.size(file))
+                            .putLong(Files.getLastModifiedTime(file).toMillis());
+                    }
+                }
+                return hasher.hash().toString();
+            } catch (IOException e) {
+                // The element will be scanned anew, and the scanning routine will report the failure if it persists
+                return String.valueOf(System.nanoTime());
+            }
+        }
+
+        /**
+         * Scans the given classpath element for class files
+         * @param element {@code Path} to a folder or a jar file
+         * @param key     String value that represents the state of the classpath element
+         * @return {@code ElementIndex} object
+         */
+        private static ElementIndex scan(Path element, String key) {
+            ElementIndex result = new ElementIndex(key);
+            try {
+                if (Files.isDirectory(element)) {
+                    try (Stream<Path> files = Files.walk(element)) {
+                        for (Path file : files.filter(ElementIndex::isClassFile).collect(Collectors.toList())) {
+                            try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                                result.add(ClassFileReader.read(input, TRACKED_ANNOTATIONS));
+                            }
+                        }
+                    }
+                    return result;
+                }
+                try (ZipFile zipFile = new ZipFile(element.toFile())) {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    while (entries.hasMoreElements()) {
+                        ZipEntry entry = entries.nextElement();
+                        if (entry.isDirectory() || !isClassFile(entry.getName())) {
+                            continue;
+                        }
+                        try (InputStream input = new BufferedInputStream(zipFile.getInputStream(entry))) {
+                            result.add(ClassFileReader.read(input, TRACKED_ANNOTATIONS));
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // An unreadable element is skipped. The returned key never matches, so the element will be scanned
+                // again in the next build
+                return new ElementIndex(String.valueOf(System.nanoTime()));
+            }
+            return result;
+        }
+
+        /**
+         * Reads the stored data for a classpath element
+         * @param indexFile {@code Path} to the index file
+         * @return {@code ElementIndex} object, or null if the data cannot be read
+         */
+        private static ElementIndex read(Path indexFile) {
+            if (!Files.isRegularFile(indexFile)) {
+                return null;
+            }
+            try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                if (header == null || !header.startsWith(FORMAT_VERSION + SEPARATOR_SPACE)) {
+                    return null;
+                }
+                ElementIndex result = new ElementIndex(header.substring(FORMAT_VERSION.length() + 1));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] tokens = StringUtils.split(line, SEPARATOR_SPACE);
+                    if (tokens.length < 3) {
+                        continue;
+                    }
+                    if (PREFIX_ANNOTATION.equals(tokens[0])) {
+                        result.annotatedTypes.computeIfAbsent(tokens[1], k -> new TreeSet<>()).add(tokens[2]);
+                    } else if (PREFIX_SUPERTYPES.equals(tokens[0]) || PREFIX_ABSTRACT_SUPERTYPES.equals(tokens[0])) {
+                        result.supertypes.put(tokens[1], Arrays.asList(Arrays.copyOfRange(tokens, 2, tokens.length)));
+                        if (PREFIX_ABSTRACT_SUPERTYPES.equals(tokens[0])) {
+                            result.abstractTypes.add(tokens[1]);
+                        }
+                    }
+                }
+                return result;
+            } catch (IOException e) {
+                // The element will be scanned anew
+                return null;
+            }
+        }
+
+        /**
+         * Stores the data for a classpath element. The file is replaced atomically where possible so that
+         * concurrent builds sharing the same index directory do not read partially written data
+         * @param value     {@code ElementIndex} object
+         * @param indexFile {@code Path} to the index file
+         */
+        private static void write(ElementIndex value, Path indexFile) {
+            Path tempFile = null;
+            try {
+                Files.createDirectories(indexFile.getParent());
+                tempFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), null);
+                try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    List<String> lines = new ArrayList<>();
+                    lines.add(FORMAT_VERSION + SEPARATOR_SPACE + value.key);
+                    value.annotatedTypes.forEach((annotation, types) -> types.forEach(type ->
+                        lines.add(String.join(SEPARATOR_SPACE, PREFIX_ANNOTATION, annotation, type))));
+                    value.supertypes.forEach((type, supertypes) -> lines.add(
+                        (value.abstractTypes.contains(type) ? PREFIX_ABSTRACT_SUPERTYPES : PREFIX_SUPERTYPES)
+                            + SEPARATOR_SPACE + type + SEPARATOR_SPACE + String.join(SEPARATOR_SPACE, supertypes)));
+                    for (String line : lines) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+                try {
+                    Files.move(tempFile, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                // Failing to store the index does not affect the current build; the element will be scanned anew
+                // next time
+                deleteQuietly(tempFile);
+            }
+        }
+
+        /**
+         * Deletes the given file, if it exists, without raising an exception
+         * @param file Nullable {@code Path} value
+         */
+        private static void deleteQuietly(Path file) {
+            if (file == null) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Nothing to do here: a stray temporary file does not affect the index
+            }
+        }
+
+        /**
+         * Gets whether the given path represents a class file
+         * @param path {@code Path} value
+         * @return True or false
+         */
+        private static boolean isClassFile(Path path) {
+            return Files.isRegularFile(path) && isClassFile(path.toString());
+        }
+
+        /**
+         * Gets whether the given file name represents a class file
+         * @param name String value
+         * @return True or false
+         */
+        private static boolean isClassFile(String name) {
+            return name.endsWith(CLASS_FILE_EXTENSION) && !name.endsWith(MODULE_INFO_FILE);
+        }
+    }
+}
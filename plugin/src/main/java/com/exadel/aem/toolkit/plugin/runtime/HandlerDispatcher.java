@@ -0,0 +1,161 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
+import com.exadel.aem.toolkit.api.handlers.Handler;
+import com.exadel.aem.toolkit.api.handlers.Handles;
+import com.exadel.aem.toolkit.api.handlers.HandlesWidgets;
+import com.exadel.aem.toolkit.plugin.utils.ScopeUtil;
+import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingUtil;
+
+/**
+ * Matches {@link Handler}s to the annotations of a class or a class member and the current scope. The data of
+ * {@link Handles} and {@link HandlesWidgets} annotations is read once and indexed by the handled annotation type.
+ * The ordered lists of handlers are memoized per combination of the scope and annotation types, so that repeated
+ * lookups for similarly annotated members are served without re-sorting
+ */
+class HandlerDispatcher {
+
+    private final Map<Class<?>, List<HandlerMapping>> mappingsByType = new HashMap<>();
+
+    private final Map<List<Object>, List<Handler>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of this class
+     * @param handlers List of handler instances, in the order that must be retained for matching handlers before
+     *                 sorting
+     */
+    HandlerDispatcher(List<Handler> handlers) {
+        for (int i = 0; i < handlers.size(); i++) {
+            HandlerMapping mapping = HandlerMapping.from(i, handlers.get(i));
+            if (mapping == null) {
+                continue;
+            }
+            for (Class<? extends Annotation> handledType : mapping.handledTypes) {
+                mappingsByType.computeIfAbsent(handledType, key -> new ArrayList<>()).add(mapping);
+            }
+        }
+    }
+
+    /**
+     * Retrieves a list of {@link Handler} instances that match the provided annotation types and scope. The list
+     * is ordered in such a way as to honor the relations set by {@code before} and {@code after} anchors
+     * @param scope           Non-null string representing the scope that the handlers must match
+     * @param annotationTypes Non-null array of {@code Class} objects
+     * @return {@code List} of handler instances, ordered. The list can be modified by the caller
+     */
+    List<Handler> getHandlers(String scope, Class<?>[] annotationTypes) {
+        List<Object> key = new ArrayList<>(annotationTypes.length + 1);
+        key.add(scope);
+        key.addAll(Arrays.asList(annotationTypes));
+        return new ArrayList<>(cache.computeIfAbsent(key, k -> match(scope, annotationTypes)));
+    }
+
+    /**
+     * Called by {@link HandlerDispatcher#getHandlers(String, Class[])} to compose the ordered list of handlers that
+     * match the provided annotation types and scope
+     * @param scope           Non-null string representing the scope that the handlers must match
+     * @param annotationTypes Non-null array of {@code Class} objects
+     * @return {@code List} of handler instances, ordered
+     */
+    private List<Handler> match(String scope, Class<?>[] annotationTypes) {
+        TreeSet<HandlerMapping> candidates = new TreeSet<>(Comparator.comparingInt(mapping -> mapping.position));
+        for (Class<?> annotationType : annotationTypes) {
+            candidates.addAll(mappingsByType.getOrDefault(annotationType, Collections.emptyList()));
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // If a handler has no particular scopes, the scope is guessed by the mere annotations added to the current
+        // class member (so that if there's e.g. @Dialog, the handler is considered to be for the dialog)
+        String[] contextScopes = ScopeUtil.designate(annotationTypes);
+        List<Handler> result = candidates.stream()
+            .filter(mapping -> ScopeUtil.fits(scope, mapping.scopes != null ? mapping.scopes : contextScopes))
+            .map(mapping -> mapping.handler)
+            .collect(Collectors.toList());
+        return Collections.unmodifiableList(OrderingUtil.sortHandlers(result));
+    }
+
+    /**
+     * Contains the data of a {@link Handler} needed to match it to annotations and scopes
+     */
+    private static class HandlerMapping {
+        private final int position;
+        private final Handler handler;
+        private final Class<? extends Annotation>[] handledTypes;
+        private final String[] scopes;
+
+        /**
+         * Creates a new instance of this class
+         * @param position     Position of the handler in the list of handlers
+         * @param handler      {@code Handler} instance
+         * @param handledTypes Array of annotation types the handler is applied to
+         * @param scopes       Array of scopes the handler is applied to, or null if the scopes are defined by the
+         *                     annotations of a particular class member
+         */
+        private HandlerMapping(int position, Handler handler, Class<? extends Annotation>[] handledTypes, String[] scopes) {
+            this.position = position;
+            this.handler = handler;
+            this.handledTypes = handledTypes;
+            this.scopes = scopes;
+        }
+
+        /**
+         * Creates a new {@code HandlerMapping} for the given handler
+         * @param position Position of the handler in the list of handlers
+         * @param handler  {@code Handler} instance
+         * @return {@code HandlerMapping} object, or null if the handler is not mapped to any annotation
+         */
+        @SuppressWarnings("deprecation") // HandlesWidgets processing is retained for compatibility and will be removed
+        // in a version after 2.0.2
+        static HandlerMapping from(int position, Handler handler) {
+            Handles handles = handler.getClass().getDeclaredAnnotation(Handles.class);
+            HandlesWidgets handlesWidgets = handler.getClass().getDeclaredAnnotation(HandlesWidgets.class);
+            if (handles == null && handlesWidgets == null) {
+                return null;
+            }
+            Class<? extends Annotation>[] handledTypes = handles != null ? handles.value() : handlesWidgets.value();
+
+            String[] scopes = handles != null ? handles.scope() : new String[]{Scopes.DEFAULT};
+            // Try to guess appropriate scopes for the handler judging by the annotations it handles
+            // (so that if it handles e.g. @ChildEditConfig, the scope for the handler is exactly ChildEditConfig)
+            if (handles != null && isDefault(scopes)) {
+                scopes = ScopeUtil.designate(handles.value());
+            }
+            return new HandlerMapping(position, handler, handledTypes, isDefault(scopes) ? null : scopes);
+        }
+
+        /**
+         * Gets whether the given array of scopes consists of the default scope only
+         * @param scopes Array of strings
+         * @return True or false
+         */
+        private static boolean isDefault(String[] scopes) {
+            return scopes.length == 1 && scopes[0].equals(Scopes.DEFAULT);
+        }
+    }
+}
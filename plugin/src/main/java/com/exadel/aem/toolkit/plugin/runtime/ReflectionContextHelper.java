@@ -23,30 +23,23 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
-import org.reflections.util.ConfigurationBuilder;
 
 import com.exadel.aem.toolkit.api.annotations.main.AemComponent;
 import com.exadel.aem.toolkit.api.annotations.main.Dialog;
-import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
 import com.exadel.aem.toolkit.api.annotations.meta.Validator;
 import com.exadel.aem.toolkit.api.handlers.Handler;
-import com.exadel.aem.toolkit.api.handlers.Handles;
-import com.exadel.aem.toolkit.api.handlers.HandlesWidgets;
 import com.exadel.aem.toolkit.api.runtime.Injected;
 import com.exadel.aem.toolkit.api.runtime.RuntimeContext;
 import com.exadel.aem.toolkit.plugin.exceptions.ExtensionApiException;
 import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
 import com.exadel.aem.toolkit.plugin.maven.PluginRuntimeContext;
-import com.exadel.aem.toolkit.plugin.utils.ScopeUtil;
 import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingUtil;
 
 /**
@@ -58,11 +51,15 @@ public class ReflectionContextHelper {
 
     private String packageBase;
 
-    private org.reflections.Reflections reflections;
+    private ClassLoader classLoader;
 
-    private List<Handler> handlers;
+    private ClassIndex classIndex;
 
-    private List<Validator> validators;
+    private volatile List<Handler> handlers;
+
+    private volatile HandlerDispatcher handlerDispatcher;
+
+    private volatile List<Validator> validators;
 
     /**
      * Default (instantiation-restricting) constructor
@@ -82,11 +79,13 @@ public class ReflectionContextHelper {
      * @return {@code List} of class references
      */
     public List<Class<?>> getComponentClasses() {
-        List<Class<?>> classesAnnotatedWithDialog = reflections.getTypesAnnotatedWith(Dialog.class, true).stream()
-            .filter(cls -> StringUtils.isEmpty(packageBase) || cls.getName().startsWith(packageBase))
+        List<Class<?>> classesAnnotatedWithDialog = classIndex.getAnnotatedWith(Dialog.class, packageBase).stream()
+            .map(this::loadClass)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
-        List<Class<?>> classesAnnotatedWithComponent = reflections.getTypesAnnotatedWith(AemComponent.class, true).stream()
-            .filter(cls -> StringUtils.isEmpty(packageBase) || cls.getName().startsWith(packageBase))
+        List<Class<?>> classesAnnotatedWithComponent = classIndex.getAnnotatedWith(AemComponent.class, packageBase).stream()
+            .map(this::loadClass)
+            .filter(Objects::nonNull)
             .collect(Collectors.toList());
 
         List<Class<?>> componentViews = new ArrayList<>();
@@ -110,10 +109,7 @@ public class ReflectionContextHelper {
      * @return {@code List} of handler instances, ordered
      */
     public List<Handler> getHandlers(String scope, Annotation[] annotations) {
-        List<Handler> result = getHandlers().stream()
-            .filter(handler -> isHandlerMatches(handler, scope, annotations))
-            .collect(Collectors.toList());
-        return OrderingUtil.sortHandlers(result);
+        return getHandlers(scope, Arrays.stream(annotations).map(Annotation::annotationType).toArray(Class<?>[]::new));
     }
 
     /**
@@ -124,79 +120,36 @@ public class ReflectionContextHelper {
      * @return {@code List} of handler instances, ordered
      */
     public List<Handler> getHandlers(String scope, Class<?>... annotationTypes) {
-        List<Handler> result = getHandlers().stream()
-            .filter(handler -> isHandlerMatches(handler, scope, annotationTypes))
-            .collect(Collectors.toList());
-        return OrderingUtil.sortHandlers(result);
+        if (handlerDispatcher == null) {
+            synchronized (this) {
+                if (handlerDispatcher == null) {
+                    handlerDispatcher = new HandlerDispatcher(getHandlers());
+                }
+            }
+        }
+        return handlerDispatcher.getHandlers(scope, annotationTypes);
     }
 
     /**
-     * Retrieves the list of {@code Handler}s defined within the scope the plugin is operating in
+     * Retrieves the list of {@code Handler}s defined within the scope the plugin is operating in. The list is initialized
+     * once in a thread-safe manner so that it can be shared between the worker threads of the plugin
      * @return {@code List} of handler instances
      */
     public List<Handler> getHandlers() {
         if (handlers != null) {
             return handlers;
         }
-        handlers = reflections.getSubTypesOf(Handler.class).stream()
-            .filter(cls -> !cls.isInterface())
-            .map(ReflectionContextHelper::getHandlerInstance)
-            .filter(Objects::nonNull)
-            .sorted(OrderingUtil::compareByOrigin) // to provide stable handlers sequence between runs
-            .collect(Collectors.toList());
-        return handlers;
-    }
-
-    /**
-     * Tests whether the given handler fits for the conditions defined by the set of manageable annotations and the
-     * {@code Scope} value
-     * @param scope       String value representing the scope that the handlers must match
-     * @param handler     {@code Handler} instance to test
-     * @param annotations Array of {@code Annotation} objects, usually representing annotations of a method or class
-     * @return True or false
-     */
-    private static boolean isHandlerMatches(Handler handler, String scope, Annotation[] annotations) {
-        return isHandlerMatches(handler, scope, Arrays.stream(annotations).map(Annotation::annotationType).toArray(Class<?>[]::new));
-    }
-
-    /**
-     * Tests whether the given handler fits for the conditions defined by the set of manageable annotations and the
-     * {@code Scope} value
-     * @param handler         {@code Handler} instance to test
-     * @param scope           String value representing the scope that the handlers must match
-     * @param annotationTypes Array of {@code Class} references, usually representing types of annotations of a method
-     *                        or a class
-     * @return True or false
-     */
-    @SuppressWarnings("deprecation") // HandlesWidgets processing is retained for compatibility and will be removed
-    // in a version after 2.0.2
-    private static boolean isHandlerMatches(Handler handler, String scope, Class<?>[] annotationTypes) {
-        Handles handles = handler.getClass().getDeclaredAnnotation(Handles.class);
-        HandlesWidgets handlesWidgets = handler.getClass().getDeclaredAnnotation(HandlesWidgets.class);
-        if (handles == null && handlesWidgets == null) {
-            return false;
-        }
-        Class<? extends Annotation>[] handledAnnotationTypes = handles != null
-            ? handles.value()
-            : handlesWidgets.value();
-        boolean isMatchByType = Arrays.stream(handledAnnotationTypes)
-            .anyMatch(annotationType -> Arrays.asList(annotationTypes).contains(annotationType));
-
-        String[] handlerScopes = handles != null ? handles.scope() : new String[]{Scopes.DEFAULT};
-        // Try to guess appropriate scopes for the handler judging by the annotations it handles
-        // (so that if it handles e.g. @ChildEditConfig, the scope for the handler is exactly ChildEditConfig)
-        if (handles != null && handlerScopes.length == 1 && handlerScopes[0].equals(Scopes.DEFAULT)) {
-            handlerScopes = ScopeUtil.designate(handles.value());
-        }
-        // If still no particular scopes, try to guess by the mere annotations added to the current class
-        // (so that if there's e.g. @Dialog, and the handler has no particular scope, it is considered the handler
-        // is also for the dialog)
-        if (handlerScopes.length == 1 && handlerScopes[0].equals(Scopes.DEFAULT)) {
-            handlerScopes = ScopeUtil.designate(annotationTypes);
+        synchronized (this) {
+            if (handlers == null) {
+                handlers = Collections.unmodifiableList(getImplementations(Handler.class).stream()
+                    .filter(cls -> !cls.isInterface())
+                    .map(ReflectionContextHelper::getHandlerInstance)
+                    .filter(Objects::nonNull)
+                    .sorted(OrderingUtil::compareByOrigin) // to provide stable handlers sequence between runs
+                    .collect(Collectors.toList()));
+            }
         }
-        boolean isMatchByScope = ScopeUtil.fits(scope, handlerScopes);
-
-        return isMatchByType && isMatchByScope;
+        return handlers;
     }
 
     /**
@@ -241,17 +194,21 @@ public class ReflectionContextHelper {
 
     /**
      * Initializes as necessary and returns collection of {@code Validator}s defined within the execution scope
-     * of the ToolKit Maven plugin
+     * of the ToolKit Maven plugin. The collection is initialized once in a thread-safe manner
      * @return {@code List} of instances
      */
     public List<Validator> getValidators() {
         if (validators != null) {
             return validators;
         }
-        validators = reflections.getSubTypesOf(Validator.class).stream()
-            .map(ReflectionContextHelper::getInstance)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        synchronized (this) {
+            if (validators == null) {
+                validators = Collections.unmodifiableList(getImplementations(Validator.class).stream()
+                    .map(ReflectionContextHelper::getInstance)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList()));
+            }
+        }
         return validators;
     }
 
@@ -260,6 +217,37 @@ public class ReflectionContextHelper {
        Common utilities
        ---------------- */
 
+    /**
+     * Retrieves the non-abstract classes that directly or indirectly extend or implement the given type. Interfaces and
+     * abstract classes are filtered out by the class index, so that they are not loaded
+     * @param type {@code Class} reference
+     * @param <T>  Type of the classes
+     * @return {@code List} of class references
+     */
+    @SuppressWarnings("unchecked") // Type compatibility is guaranteed by the class index
+    private <T> List<Class<? extends T>> getImplementations(Class<T> type) {
+        return classIndex.getImplementationsOf(type).stream()
+            .map(this::loadClass)
+            .filter(Objects::nonNull)
+            .filter(type::isAssignableFrom)
+            .map(cls -> (Class<? extends T>) cls)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Loads the class with the given name without initializing it
+     * @param name Name of the class
+     * @return {@code Class} reference, or null if the class cannot be loaded
+     */
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Classes that cannot be loaded (e.g. due to missing dependencies) are skipped
+            return null;
+        }
+    }
+
     /**
      * Creates a new instance object of the specified {@code Class}
      * @param instanceClass The class to instantiate
@@ -292,6 +280,22 @@ public class ReflectionContextHelper {
      * @return {@link ReflectionContextHelper} instance
      */
     public static ReflectionContextHelper fromCodeScope(List<String> elements, String packageBase) {
+        return fromCodeScope(elements, packageBase, null);
+    }
+
+    /**
+     * Used to initialize a {@code PluginReflectionUtility} instance based on the list of available classpath entries
+     * in the scope of this Maven plugin. The results of scanning the classpath entries are stored in the given directory
+     * and reused in subsequent builds for the entries that have not changed
+     * @param elements       List of classpath elements to be used in reflection routines
+     * @param packageBase    String representing package prefix of processable AEM backend components
+     *                       like {@code com.acme.aem.components.*}. If not specified, all available components will be
+     *                       processed
+     * @param indexDirectory Nullable path to the directory storing the scan index. If not specified, the classpath
+     *                       entries are scanned anew
+     * @return {@link ReflectionContextHelper} instance
+     */
+    public static ReflectionContextHelper fromCodeScope(List<String> elements, String packageBase, String indexDirectory) {
         URL[] urls = new URL[]{};
         if (elements != null) {
             urls = elements.stream()
@@ -300,19 +304,16 @@ public class ReflectionContextHelper {
                 .map(ReflectionContextHelper::toUrl)
                 .filter(Objects::nonNull).toArray(URL[]::new);
         }
-        Reflections reflections = new org.reflections.Reflections(new ConfigurationBuilder()
-            .addClassLoader(new URLClassLoader(urls, ReflectionContextHelper.class.getClassLoader()))
-            .setUrls(urls)
-            .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner()));
         ReflectionContextHelper newInstance = new ReflectionContextHelper();
-        newInstance.reflections = reflections;
+        newInstance.classLoader = new URLClassLoader(urls, ReflectionContextHelper.class.getClassLoader());
+        newInstance.classIndex = ClassIndex.forClasspath(elements, indexDirectory);
         newInstance.packageBase = StringUtils.strip(StringUtils.defaultString(packageBase, StringUtils.EMPTY),
             PACKAGE_BASE_WILDCARD);
         return newInstance;
     }
 
     /**
-     * Converts {@link URI} parameter, such as of a classpath element, to an {@link URL} instance used by {@link Reflections}
+     * Converts {@link URI} parameter, such as of a classpath element, to an {@link URL} instance used by the class loader
      * @param uri {@code URI} value
      * @return {@code URL} value
      */
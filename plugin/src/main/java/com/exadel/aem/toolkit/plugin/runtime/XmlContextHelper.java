@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
@@ -35,14 +36,13 @@ import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 
-import com.exadel.aem.toolkit.api.annotations.meta.AnnotationRendering;
-import com.exadel.aem.toolkit.api.annotations.meta.PropertyMapping;
 import com.exadel.aem.toolkit.api.annotations.meta.PropertyRendering;
 import com.exadel.aem.toolkit.api.annotations.widgets.attribute.Data;
 import com.exadel.aem.toolkit.api.runtime.XmlUtility;
 import com.exadel.aem.toolkit.core.CoreConstants;
 import com.exadel.aem.toolkit.plugin.exceptions.ReflectionException;
 import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
+import com.exadel.aem.toolkit.plugin.targets.AnnotationMapper;
 import com.exadel.aem.toolkit.plugin.targets.AttributeHelper;
 import com.exadel.aem.toolkit.plugin.utils.AnnotationUtil;
 import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
@@ -154,8 +154,8 @@ public class XmlContextHelper implements XmlUtility {
             return null;
         }
         Element newNode = createNodeElement(nameProvider.apply(source));
-        Arrays.stream(source.annotationType().getDeclaredMethods())
-            .forEach(method -> AttributeHelper.forXmlTarget().forAnnotationProperty(source, method).setTo(newNode));
+        AnnotationMapper.forType(source.annotationType()).getProperties()
+            .forEach(property -> AttributeHelper.forXmlTarget().forAnnotationProperty(source, property.getMethod()).setTo(newNode));
         return newNode;
     }
 
@@ -300,61 +300,49 @@ public class XmlContextHelper implements XmlUtility {
 
     @Override
     public void mapProperties(Element element, Annotation annotation, String scope) {
-        List<String> skippedFields = Arrays.stream(annotation.annotationType().getDeclaredMethods())
-            .filter(m -> !fitsInScope(m, scope))
-            .map(Method::getName)
+        List<String> skippedFields = AnnotationMapper.forType(annotation.annotationType()).getProperties().stream()
+            .filter(property -> !property.fitsInScope(scope))
+            .map(AnnotationMapper.Property::getName)
             .collect(Collectors.toList());
         mapProperties(element, annotation, skippedFields);
     }
 
     @Override
     public void mapProperties(Element element, Annotation annotation, List<String> skipped) {
-        if (!annotation.annotationType().isAnnotationPresent(AnnotationRendering.class)
-            && !annotation.annotationType().isAnnotationPresent(PropertyMapping.class)) {
+        AnnotationMapper mapper = AnnotationMapper.forType(annotation.annotationType());
+        if (!mapper.isMapped()) {
             return;
         }
-        String prefix = annotation.annotationType().isAnnotationPresent(AnnotationRendering.class)
-            ? annotation.annotationType().getDeclaredAnnotation(AnnotationRendering.class).prefix()
-            : annotation.annotationType().getDeclaredAnnotation(PropertyMapping.class).prefix();
-        String nodePrefix = prefix.contains(CoreConstants.SEPARATOR_SLASH)
-            ? StringUtils.substringBeforeLast(prefix, CoreConstants.SEPARATOR_SLASH)
-            : StringUtils.EMPTY;
+        Element effectiveElement = getRequiredElement(element, mapper.getNodePrefix());
 
-        Element effectiveElement = getRequiredElement(element, nodePrefix);
-
-        Arrays.stream(annotation.annotationType().getDeclaredMethods())
-            .filter(AnnotationUtil.getPropertyMappingFilter(annotation))
-            .filter(m -> !skipped.contains(m.getName()))
-            .forEach(m -> populateProperty(m, effectiveElement, annotation));
+        Predicate<Method> mappingFilter = AnnotationUtil.getPropertyMappingFilter(annotation);
+        mapper.getProperties().stream()
+            .filter(property -> mappingFilter.test(property.getMethod()))
+            .filter(property -> !skipped.contains(property.getName()))
+            .forEach(property -> populateProperty(mapper, property, effectiveElement, annotation));
     }
 
     /**
      * Sets value of a particular {@code Annotation} property to an {@code Element} node
-     * @param method     {@code Method} instance representing a property of an annotation
+     * @param mapper     {@link AnnotationMapper} containing the rendering data of the annotation type
+     * @param property   {@link AnnotationMapper.Property} instance representing a property of an annotation
      * @param element    Element node
      * @param annotation Annotation to look for a value in
      */
-    private static void populateProperty(Method method, Element element, Annotation annotation) {
-        String name = method.getName();
-        boolean ignorePrefix = false;
-        if (method.isAnnotationPresent(PropertyRendering.class)) {
-            PropertyRendering propertyRendering = method.getAnnotation(PropertyRendering.class);
-            name = StringUtils.defaultIfBlank(propertyRendering.name(), name);
-            ignorePrefix = propertyRendering.ignorePrefix();
-        }
-        String prefix = annotation.annotationType().isAnnotationPresent(AnnotationRendering.class)
-            ? annotation.annotationType().getDeclaredAnnotation(AnnotationRendering.class).prefix()
-            : annotation.annotationType().getDeclaredAnnotation(PropertyMapping.class).prefix();
-        String namePrefix = prefix.contains(CoreConstants.SEPARATOR_SLASH)
-            ? StringUtils.substringAfterLast(prefix, CoreConstants.SEPARATOR_SLASH)
-            : prefix;
-        if (!ignorePrefix && StringUtils.isNotBlank(prefix)) {
-            name = namePrefix + name;
+    private static void populateProperty(
+        AnnotationMapper mapper,
+        AnnotationMapper.Property property,
+        Element element,
+        Annotation annotation) {
+
+        String name = property.getRenderedName();
+        if (!property.isPrefixIgnored() && StringUtils.isNotBlank(mapper.getPrefix())) {
+            name = mapper.getNamePrefix() + name;
         }
         BinaryOperator<String> merger = XmlContextHelper::mergeStringAttributes;
         AttributeHelper
             .forXmlTarget()
-            .forAnnotationProperty(annotation, method)
+            .forAnnotationProperty(annotation, property.getMethod())
             .withName(name)
             .withMerger(merger)
             .setTo(element);
@@ -375,21 +363,6 @@ public class XmlContextHelper implements XmlUtility {
             .reduce(element, this::getParentOrChildElement, (prev, next) -> next);
     }
 
-    /**
-     * Gets whether this annotation method falls within the specified scope. True if no scope specified
-     * for method (that is, the method is applicable to any scope
-     * @param method {@code Method} instance representing a property of an annotation
-     * @param scope  String representing a valid scope
-     * @return True or false
-     * @see com.exadel.aem.toolkit.api.annotations.meta.Scopes
-     */
-    private static boolean fitsInScope(Method method, String scope) {
-        if (!method.isAnnotationPresent(PropertyRendering.class)) {
-            return true;
-        }
-        return Arrays.asList(method.getAnnotation(PropertyRendering.class).scope()).contains(scope);
-    }
-
 
     /*
         Child elements
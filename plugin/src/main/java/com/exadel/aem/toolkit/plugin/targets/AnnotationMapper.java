@@ -0,0 +1,426 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.targets;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.exadel.aem.toolkit.api.annotations.meta.AnnotationRendering;
+import com.exadel.aem.toolkit.api.annotations.meta.PropertyMapping;
+import com.exadel.aem.toolkit.api.annotations.meta.PropertyRendering;
+import com.exadel.aem.toolkit.api.annotations.meta.StringTransformation;
+import com.exadel.aem.toolkit.api.markers._Default;
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.plugin.utils.AnnotationUtil;
+import com.exadel.aem.toolkit.plugin.utils.NamingUtil;
+import com.exadel.aem.toolkit.plugin.validators.Validation;
+
+/**
+ * Contains the rendering-related data of an annotation type and its properties, such as the name prefix, the rendered
+ * property names, value types, and value restrictions. The data is read once per annotation type, so that rendering
+ * multiple instances of the same annotation does not require reflecting over the annotation type again. Property values
+ * are retrieved via method handles rather than by reflective invocation
+ */
+public class AnnotationMapper {
+
+    private static final ClassValue<AnnotationMapper> CACHE = new ClassValue<AnnotationMapper>() {
+        @Override
+        protected AnnotationMapper computeValue(Class<?> type) {
+            return new AnnotationMapper(type);
+        }
+    };
+
+    private final boolean isMapped;
+    private final String prefix;
+    private final String nodePrefix;
+    private final String namePrefix;
+    private final List<Property> properties;
+    private final Map<Method, Property> propertiesByMethod;
+
+    /**
+     * Initializes a class instance
+     * @param type {@code Class} reference representing an annotation type
+     */
+    @SuppressWarnings("deprecation") // Processing of PropertyMapping is retained for compatibility and will be removed
+    // in a version after 2.0.2
+    private AnnotationMapper(Class<?> type) {
+        String effectivePrefix = StringUtils.EMPTY;
+        if (type.isAnnotationPresent(AnnotationRendering.class)) {
+            effectivePrefix = type.getDeclaredAnnotation(AnnotationRendering.class).prefix();
+        } else if (type.isAnnotationPresent(PropertyMapping.class)) {
+            effectivePrefix = type.getDeclaredAnnotation(PropertyMapping.class).prefix();
+        }
+        isMapped = type.isAnnotationPresent(AnnotationRendering.class) || type.isAnnotationPresent(PropertyMapping.class);
+        prefix = effectivePrefix;
+        nodePrefix = prefix.contains(CoreConstants.SEPARATOR_SLASH)
+            ? StringUtils.substringBeforeLast(prefix, CoreConstants.SEPARATOR_SLASH)
+            : StringUtils.EMPTY;
+        namePrefix = prefix.contains(CoreConstants.SEPARATOR_SLASH)
+            ? StringUtils.substringAfterLast(prefix, CoreConstants.SEPARATOR_SLASH)
+            : prefix;
+
+        List<Property> propertyList = new ArrayList<>();
+        propertiesByMethod = new HashMap<>();
+        for (Method method : type.getDeclaredMethods()) {
+            Property property = new Property(method);
+            propertyList.add(property);
+            propertiesByMethod.put(method, property);
+        }
+        properties = Collections.unmodifiableList(propertyList);
+    }
+
+    /**
+     * Gets whether the annotation type is marked with {@link AnnotationRendering} or {@code PropertyMapping}
+     * @return True or false
+     */
+    public boolean isMapped() {
+        return isMapped;
+    }
+
+    /**
+     * Retrieves the prefix specified for the properties of the annotation type
+     * @return String value, non-null
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Retrieves the part of the prefix that represents a relative path to a node
+     * @return String value, non-null
+     */
+    public String getNodePrefix() {
+        return nodePrefix;
+    }
+
+    /**
+     * Retrieves the part of the prefix that is prepended to property names
+     * @return String value, non-null
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * Retrieves the properties of the annotation type in the order of declared methods
+     * @return Unmodifiable {@code List} of {@link Property} objects
+     */
+    public List<Property> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Retrieves the {@link Property} matching the given annotation method
+     * @param method {@code Method} object representing an annotation property
+     * @return {@code Property} instance. If the method is not declared by the current annotation type, a new instance
+     * is created
+     */
+    public Property getProperty(Method method) {
+        Property result = propertiesByMethod.get(method);
+        return result != null ? result : new Property(method);
+    }
+
+    /**
+     * Retrieves the {@code AnnotationMapper} for the given annotation type. The instances are cached per type
+     * @param type {@code Class} reference representing an annotation type
+     * @return {@code AnnotationMapper} instance
+     */
+    public static AnnotationMapper forType(Class<? extends Annotation> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Retrieves the {@link Property} matching the given annotation method. The data is taken from the cached
+     * {@code AnnotationMapper} of the annotation type that declares the method
+     * @param method {@code Method} object representing an annotation property
+     * @return {@code Property} instance
+     */
+    public static Property forProperty(Method method) {
+        return CACHE.get(method.getDeclaringClass()).getProperty(method);
+    }
+
+    /**
+     * Contains the rendering-related data of a particular annotation property
+     */
+    public static class Property {
+        private final Method method;
+        private final String name;
+        private final boolean isRendered;
+        private final String renderedName;
+        private final String validRenderedName;
+        private final boolean ignorePrefix;
+        private final String[] scopes;
+
+        private final Class<?> valueType;
+        private final boolean isSupported;
+        private final boolean isArray;
+        private final boolean isEnum;
+        private final String[] ignoredValues;
+        private final boolean allowBlank;
+        private final StringTransformation transformation;
+        private final Class<?> typeHint;
+        private final String restriction;
+
+        private final Object defaultValue;
+        private final MethodHandle getter;
+
+        /**
+         * Initializes a class instance
+         * @param method {@code Method} object representing an annotation property
+         */
+        private Property(Method method) {
+            this.method = method;
+            this.name = method.getName();
+            PropertyRendering propertyRendering = method.getAnnotation(PropertyRendering.class);
+            this.isRendered = propertyRendering != null;
+            this.renderedName = isRendered ? StringUtils.defaultIfBlank(propertyRendering.name(), name) : name;
+            this.validRenderedName = isRendered ? NamingUtil.getValidFieldName(renderedName) : name;
+            this.ignorePrefix = isRendered && propertyRendering.ignorePrefix();
+            this.scopes = isRendered ? propertyRendering.scope() : null;
+
+            this.valueType = AttributeHelper.Builder.getMethodWrappedType(method);
+            this.isSupported = AttributeHelper.Builder.fits(method);
+            this.isArray = method.getReturnType().isArray();
+            this.isEnum = method.getReturnType().isEnum()
+                || (method.getReturnType().getComponentType() != null
+                && method.getReturnType().getComponentType().isEnum());
+            this.ignoredValues = isRendered ? propertyRendering.ignoreValues() : null;
+            this.allowBlank = isRendered && propertyRendering.allowBlank();
+            this.transformation = isRendered ? propertyRendering.transform() : null;
+            this.typeHint = isRendered && !propertyRendering.valueType().equals(_Default.class)
+                ? propertyRendering.valueType()
+                : null;
+            this.restriction = Validation.getRestriction(method);
+
+            this.defaultValue = method.getDefaultValue();
+            this.getter = getGetter(method);
+        }
+
+        /**
+         * Retrieves the {@code Method} object representing the annotation property
+         * @return {@code Method} instance
+         */
+        public Method getMethod() {
+            return method;
+        }
+
+        /**
+         * Retrieves the name of the annotation property
+         * @return String value
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets whether the annotation property is marked with {@link PropertyRendering}
+         * @return True or false
+         */
+        public boolean isRendered() {
+            return isRendered;
+        }
+
+        /**
+         * Retrieves the name under which the property is rendered. This is either the name specified
+         * via {@link PropertyRendering} or the name of the property itself
+         * @return String value
+         */
+        public String getRenderedName() {
+            return renderedName;
+        }
+
+        /**
+         * Retrieves the name under which the property is rendered, converted to a valid field name if specified via
+         * {@link PropertyRendering}
+         * @return String value
+         */
+        public String getValidRenderedName() {
+            return validRenderedName;
+        }
+
+        /**
+         * Gets whether the prefix of the annotation is not applied to the current property
+         * @return True or false
+         */
+        public boolean isPrefixIgnored() {
+            return ignorePrefix;
+        }
+
+        /**
+         * Gets whether the annotation property is rendered in the given scope
+         * @param scope String representing a valid scope
+         * @return True if the property has no particular scopes, or else one of them matches the given scope
+         */
+        public boolean fitsInScope(String scope) {
+            return scopes == null || ArrayUtils.contains(scopes, scope);
+        }
+
+        /**
+         * Retrieves the result of {@link Validation#getRestriction(Method)} for the property
+         * @return String value, or null
+         */
+        String getRestriction() {
+            return restriction;
+        }
+
+        /**
+         * Retrieves the type of the property value, with enums represented as strings, and primitive types
+         * as their wrappers
+         * @return {@code Class} reference
+         */
+        Class<?> getValueType() {
+            return valueType;
+        }
+
+        /**
+         * Gets whether the value of the property can be rendered as an attribute
+         * @return True or false
+         */
+        boolean isSupported() {
+            return isSupported;
+        }
+
+        /**
+         * Gets whether the property returns an array
+         * @return True or false
+         */
+        boolean isArray() {
+            return isArray;
+        }
+
+        /**
+         * Gets whether the property returns an enum or an array of enums
+         * @return True or false
+         */
+        boolean isEnum() {
+            return isEnum;
+        }
+
+        /**
+         * Retrieves the values of the property that are not rendered
+         * @return Array of strings, or null
+         */
+        String[] getIgnoredValues() {
+            return ignoredValues;
+        }
+
+        /**
+         * Gets whether a blank value of the property is rendered
+         * @return True or false
+         */
+        boolean isBlankAllowed() {
+            return allowBlank;
+        }
+
+        /**
+         * Retrieves the transformation applied to the string value of the property
+         * @return {@link StringTransformation} value, or null
+         */
+        StringTransformation getTransformation() {
+            return transformation;
+        }
+
+        /**
+         * Retrieves the type to which the property value is cast when rendering
+         * @return {@code Class} reference, or null
+         */
+        Class<?> getTypeHint() {
+            return typeHint;
+        }
+
+        /**
+         * Retrieves the value of the property from the given annotation
+         * @param annotation {@code Annotation} object
+         * @return Property value, or null if the value could not be retrieved
+         */
+        public Object getValue(Annotation annotation) {
+            try {
+                return invoke(annotation);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                // Retrieving the value reflectively makes sure that the failure is reported the usual way
+                return AnnotationUtil.getProperty(annotation, method);
+            }
+        }
+
+        /**
+         * Gets whether the property of the given annotation has a value that is not default. This method follows
+         * the logic of {@link AnnotationUtil#propertyIsNotDefault(Annotation, Method)}
+         * @param annotation {@code Annotation} object
+         * @return True or false
+         */
+        public boolean isNotDefault(Annotation annotation) {
+            if (annotation == null) {
+                return false;
+            }
+            if (defaultValue == null) {
+                return true;
+            }
+            Object value;
+            try {
+                value = invoke(annotation);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                return true;
+            }
+            if (isArray && ArrayUtils.isEmpty((Object[]) value)) {
+                return false;
+            }
+            return !defaultValue.equals(value);
+        }
+
+        /**
+         * Called by {@link Property#getValue(Annotation)} and {@link Property#isNotDefault(Annotation)} to retrieve
+         * the property value with the method handle, or reflectively if the handle could not be created
+         * @param annotation {@code Annotation} object
+         * @return Property value
+         * @throws Throwable if the invocation failed
+         */
+        private Object invoke(Annotation annotation) throws Throwable {
+            if (getter == null) {
+                return method.invoke(annotation);
+            }
+            return (Object) getter.invokeExact((Object) annotation);
+        }
+
+        /**
+         * Creates a method handle for the given annotation property
+         * @param method {@code Method} object representing an annotation property
+         * @return {@code MethodHandle} instance adapted to the {@code (Object)Object} signature, or null if the property
+         * is not accessible
+         */
+        private static MethodHandle getGetter(Method method) {
+            try {
+                return MethodHandles.publicLookup()
+                    .unreflect(method)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -27,11 +27,8 @@ import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Element;
 
-import com.exadel.aem.toolkit.api.annotations.meta.PropertyRendering;
 import com.exadel.aem.toolkit.api.annotations.meta.StringTransformation;
 import com.exadel.aem.toolkit.api.handlers.Target;
-import com.exadel.aem.toolkit.api.markers._Default;
-import com.exadel.aem.toolkit.plugin.utils.AnnotationUtil;
 import com.exadel.aem.toolkit.plugin.utils.MemberUtil;
 import com.exadel.aem.toolkit.plugin.utils.StringUtil;
 import com.exadel.aem.toolkit.plugin.validators.Validation;
@@ -52,7 +49,7 @@ public class AttributeHelper<T, V> {
     private boolean valueTypeIsSupported;
 
     private Annotation annotation;
-    private Method method;
+    private AnnotationMapper.Property property;
     private String name;
     private String[] ignoredValues;
     private boolean blankValuesAllowed;
@@ -109,11 +106,11 @@ public class AttributeHelper<T, V> {
         if (!valueTypeIsSupported) {
             return;
         }
-        Object invocationResult = AnnotationUtil.getProperty(annotation, method);
+        Object invocationResult = property.getValue(annotation);
         if (invocationResult == null) {
             return;
         }
-        if (method.getReturnType().isArray()) {
+        if (property.isArray()) {
             List<V> invocationResultList = Arrays.stream(castToArray(invocationResult))
                 .map(this::cast)
                 .filter(Objects::nonNull)
@@ -315,29 +312,25 @@ public class AttributeHelper<T, V> {
          */
         @SuppressWarnings("unchecked")
         public AttributeHelper<T, Object> forAnnotationProperty(Annotation annotation, Method property) {
-            AttributeHelper<T, ?> attributeSetter = new AttributeHelper<>(holderType, getMethodWrappedType(property));
-            if (!fits(property)) {
+            AnnotationMapper.Property mappedProperty = AnnotationMapper.forProperty(property);
+            AttributeHelper<T, ?> attributeSetter = new AttributeHelper<>(holderType, mappedProperty.getValueType());
+            if (!mappedProperty.isSupported()) {
                 return (AttributeHelper<T, Object>) attributeSetter;
             }
             attributeSetter.valueTypeIsSupported = true;
-            attributeSetter.method = property;
+            attributeSetter.property = mappedProperty;
             attributeSetter.annotation = annotation;
-            attributeSetter.name = property.getName();
-
-            attributeSetter.isEnum = property.getReturnType().isEnum()
-                || (property.getReturnType().getComponentType() != null
-                && property.getReturnType().getComponentType().isEnum());
-            if (property.isAnnotationPresent(PropertyRendering.class)) {
-                PropertyRendering propertyRendering = property.getAnnotation(PropertyRendering.class);
-                attributeSetter.ignoredValues = propertyRendering.ignoreValues();
-                attributeSetter.blankValuesAllowed = propertyRendering.allowBlank();
-                attributeSetter.transformation = propertyRendering.transform();
-                if (!propertyRendering.valueType().equals(_Default.class)) {
-                    attributeSetter.typeHintValueType = propertyRendering.valueType();
-                }
+            attributeSetter.name = mappedProperty.getName();
+
+            attributeSetter.isEnum = mappedProperty.isEnum();
+            if (mappedProperty.isRendered()) {
+                attributeSetter.ignoredValues = mappedProperty.getIgnoredValues();
+                attributeSetter.blankValuesAllowed = mappedProperty.isBlankAllowed();
+                attributeSetter.transformation = mappedProperty.getTransformation();
+                attributeSetter.typeHintValueType = mappedProperty.getTypeHint();
             }
-            if (AnnotationUtil.propertyIsNotDefault(annotation, property)) {
-                attributeSetter.validationChecker = Validation.forMethod(property);
+            if (mappedProperty.isNotDefault(annotation)) {
+                attributeSetter.validationChecker = Validation.forMethod(property, mappedProperty.getRestriction());
             }
             return (AttributeHelper<T, Object>) attributeSetter;
         }
@@ -364,7 +357,7 @@ public class AttributeHelper<T, V> {
          * @param method {@code Method} instance representing an annotation property
          * @return True or false
          */
-        private static boolean fits(Method method) {
+        static boolean fits(Method method) {
             return fits(ClassUtils.primitiveToWrapper(getMethodWrappedType(method)));
         }
 
@@ -373,7 +366,7 @@ public class AttributeHelper<T, V> {
          * @param method {@code Method} instance representing an annotation property
          * @return Object type
          */
-        private static Class<?> getMethodWrappedType(Method method) {
+        static Class<?> getMethodWrappedType(Method method) {
             Class<?> effectiveType = MemberUtil.getPlainType(method);
             if (effectiveType.isEnum()) {
                 return String.class;
@@ -0,0 +1,163 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.targets;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.exadel.aem.toolkit.api.handlers.Target;
+
+/**
+ * Implements an insertion-ordered list of child {@link Target}s that also supports looking up a child by its name
+ * in constant time. The name index is updated incrementally upon every modification. A linear scan is only needed
+ * when several children share the same name, and the first of them is inserted before or removed. If the name of a
+ * child changes, the index is invalidated and rebuilt on the next lookup
+ */
+class IndexedTargetList extends AbstractList<Target> {
+
+    private final List<Target> items = new ArrayList<>();
+    private Map<String, Target> index = new HashMap<>();
+    private Map<String, Integer> counts = new HashMap<>();
+
+    /**
+     * Retrieves the first child {@code Target} with the given name
+     * @param name String value, non-null
+     * @return {@code Target} object, or null if there is no child with such name
+     */
+    Target getByName(String name) {
+        if (index == null) {
+            index = new HashMap<>();
+            counts = new HashMap<>();
+            items.stream().filter(Objects::nonNull).forEach(item -> {
+                index.putIfAbsent(item.getName(), item);
+                counts.merge(item.getName(), 1, Integer::sum);
+            });
+        }
+        return index.get(name);
+    }
+
+    /**
+     * Discards the name index. This method must be called when the name of a child changes
+     */
+    void invalidate() {
+        index = null;
+        counts = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Target get(int index) {
+        return items.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(int position, Target element) {
+        items.add(position, element);
+        modCount++;
+        registerAt(position, element);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Target set(int position, Target element) {
+        Target result = items.set(position, element);
+        unregister(result);
+        registerAt(position, element);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Target remove(int position) {
+        Target result = items.remove(position);
+        modCount++;
+        unregister(result);
+        return result;
+    }
+
+    /**
+     * Adds the given child that has been placed at the given position to the name index
+     * @param position Position of the child in the list
+     * @param element  {@code Target} object
+     */
+    private void registerAt(int position, Target element) {
+        if (index == null || element == null) {
+            return;
+        }
+        String name = element.getName();
+        Target existing = index.get(name);
+        counts.merge(name, 1, Integer::sum);
+        if (existing == null || isFirstWithName(position, name)) {
+            index.put(name, element);
+        }
+    }
+
+    /**
+     * Removes the given child that has been detached from the list from the name index
+     * @param element {@code Target} object
+     */
+    private void unregister(Target element) {
+        if (index == null || element == null) {
+            return;
+        }
+        String name = element.getName();
+        int remaining = counts.merge(name, -1, Integer::sum);
+        if (remaining <= 0) {
+            counts.remove(name);
+            index.remove(name);
+        } else if (index.get(name) == element) {
+            items.stream()
+                .filter(item -> item != null && name.equals(item.getName()))
+                .findFirst()
+                .ifPresent(item -> index.put(name, item));
+        }
+    }
+
+    /**
+     * Gets whether there are no children with the given name before the given position
+     * @param position Position of the child in the list
+     * @param name     String value, non-null
+     * @return True or false
+     */
+    private boolean isFirstWithName(int position, String name) {
+        for (int i = 0; i < position; i++) {
+            Target item = items.get(i);
+            if (item != null && name.equals(item.getName())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -14,9 +14,12 @@
 package com.exadel.aem.toolkit.plugin.targets;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -29,12 +32,18 @@ import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
 
 /**
  * Helper class containing methods to manage and traverse relative paths by which {@link Target} instances are related
- * to each other
+ * to each other. Instances are immutable and are cached per path value, since the same paths are parsed repeatedly
+ * while building a tree of {@code Target}s
  */
 class PathSplitHelper {
 
+    private static final int CACHE_CAPACITY = 10_000;
+    private static final Map<String, PathSplitHelper> CACHE = new ConcurrentHashMap<>();
+
     private final String path;
-    private List<Pair<Integer, Integer>> escapedSequences;
+    private final List<Pair<Integer, Integer>> escapedSequences;
+    private final boolean splittable;
+    private final List<String> chunks;
 
     /**
      * Instantiation-restricting constructor
@@ -42,12 +51,13 @@ class PathSplitHelper {
      */
     private PathSplitHelper(String path) {
         this.path = path;
-        if (path == null
+        this.escapedSequences = path == null
             || !path.contains(CoreConstants.SEPARATOR_SLASH)
-            || !path.contains(DialogConstants.DOUBLE_QUOTE)) {
-            return;
-        }
-        escapedSequences = getEscapedSequences(path);
+            || !path.contains(DialogConstants.DOUBLE_QUOTE)
+            ? null
+            : getEscapedSequences(path);
+        this.splittable = computeSplittable();
+        this.chunks = Collections.unmodifiableList(new ArrayList<>(computeChunks()));
     }
 
     /**
@@ -55,6 +65,14 @@ class PathSplitHelper {
      * @return True or false
      */
     boolean isSplittable() {
+        return splittable;
+    }
+
+    /**
+     * Called upon initialization to test whether the path associated with this instance can be split into chunks
+     * @return True or false
+     */
+    private boolean computeSplittable() {
         if (escapedSequences == null || escapedSequences.isEmpty()) {
             return StringUtils.contains(path, CoreConstants.SEPARATOR_SLASH);
         }
@@ -70,10 +88,18 @@ class PathSplitHelper {
     }
 
     /**
-     * Retrieves a sequence of path chunks
+     * Retrieves a sequence of path chunks. The returned value can be modified by the caller
      * @return {@code Queue} object
      */
     Queue<String> getChunks() {
+        return new LinkedList<>(chunks);
+    }
+
+    /**
+     * Called upon initialization to split the path associated with this instance into chunks
+     * @return {@code Queue} object
+     */
+    private Queue<String> computeChunks() {
         if (path == null) {
             return new LinkedList<>();
         }
@@ -129,10 +155,22 @@ class PathSplitHelper {
     }
 
     /**
-     * Initializes a class instance with the absolute or relative paths specified
+     * Retrieves a class instance for the absolute or relative path specified. Instances are reused for the same path
      * @param path Path value, non-blank string expected
+     * @return {@code PathSplitHelper} object
      */
     static PathSplitHelper of(String path) {
-        return new PathSplitHelper(path);
+        if (path == null) {
+            return new PathSplitHelper(null);
+        }
+        PathSplitHelper result = CACHE.get(path);
+        if (result != null) {
+            return result;
+        }
+        result = new PathSplitHelper(path);
+        if (CACHE.size() < CACHE_CAPACITY) {
+            CACHE.putIfAbsent(path, result);
+        }
+        return result;
     }
 }
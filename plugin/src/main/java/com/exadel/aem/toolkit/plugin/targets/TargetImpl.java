@@ -16,11 +16,9 @@ package com.exadel.aem.toolkit.plugin.targets;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
@@ -35,9 +33,6 @@ import java.util.stream.LongStream;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Element;
 
-import com.exadel.aem.toolkit.api.annotations.meta.AnnotationRendering;
-import com.exadel.aem.toolkit.api.annotations.meta.PropertyMapping;
-import com.exadel.aem.toolkit.api.annotations.meta.PropertyRendering;
 import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
 import com.exadel.aem.toolkit.api.handlers.Target;
 import com.exadel.aem.toolkit.core.CoreConstants;
@@ -63,7 +58,7 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
        ----------------------------- */
 
     private final Map<String, String> attributes;
-    private final List<Target> children;
+    private final IndexedTargetList children;
 
     private String name;
     private Target parent;
@@ -81,7 +76,7 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
         this.name = name;
         this.parent = parent;
         this.attributes = new HashMap<>();
-        this.children = new LinkedList<>();
+        this.children = new IndexedTargetList();
         this.scope = parent != null ? parent.getScope() : Scopes.CQ_DIALOG;
         this.attributes.put(DialogConstants.PN_PRIMARY_TYPE, DialogConstants.NT_UNSTRUCTURED);
     }
@@ -273,12 +268,7 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
         if (PARENT_PATH.equals(effectivePath) || SELF_PATH.equals(effectivePath)) {
             return this;
         }
-        String nameToFind = NamingUtil.getValidNodeName(effectivePath);
-        Target result = getChildren()
-            .stream()
-            .filter(child -> nameToFind.equals(child.getName()))
-            .findFirst()
-            .orElse(null);
+        Target result = children.getByName(NamingUtil.getValidNodeName(effectivePath));
         if (result == null && createIfMissing) {
             result = createTarget(path);
         }
@@ -590,6 +580,9 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
      */
     private void populateElementProperties(Element value) {
         this.name = value.getTagName();
+        if (getParent() instanceof TargetImpl) {
+            ((TargetImpl) getParent()).children.invalidate();
+        }
         IntStream.range(0, value.getAttributes().getLength())
             .mapToObj(pos -> value.getAttributes().item(pos))
             .forEach(nodeAttr -> attributes.put(nodeAttr.getNodeName(), nodeAttr.getNodeValue()));
@@ -609,47 +602,39 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
      * @param filter {@code Predicate} used to sort out irrelevant properties
      */
     private void populateAnnotationProperties(Annotation value, Predicate<Method> filter) {
-        String propertyPrefix = getPropertyPrefix(value);
-        String nodePrefix = propertyPrefix.contains(CoreConstants.SEPARATOR_SLASH)
-            ? StringUtils.substringBeforeLast(propertyPrefix, CoreConstants.SEPARATOR_SLASH)
-            : StringUtils.EMPTY;
+        AnnotationMapper mapper = AnnotationMapper.forType(value.annotationType());
 
         Target effectiveTarget = this;
-        if (StringUtils.isNotEmpty(nodePrefix)) {
-            effectiveTarget = effectiveTarget.getOrCreateTarget(nodePrefix);
+        if (StringUtils.isNotEmpty(mapper.getNodePrefix())) {
+            effectiveTarget = effectiveTarget.getOrCreateTarget(mapper.getNodePrefix());
         }
-        List<Method> propertySources = Arrays.stream(value.annotationType().getDeclaredMethods())
-            .filter(filter)
-            .collect(Collectors.toList());
-        for (Method propertySource : propertySources) {
-            populateAnnotationProperty(value, propertySource, effectiveTarget);
+        for (AnnotationMapper.Property property : mapper.getProperties()) {
+            if (filter.test(property.getMethod())) {
+                populateAnnotationProperty(value, mapper, property, effectiveTarget);
+            }
         }
     }
 
     /**
      * Called by {@link TargetImpl#populateAnnotationProperties(Annotation, Predicate)} to store the value of a particular
      * annotation property
-     * @param value  {@code Annotation} object used as the source of attribute names and values
-     * @param method {@code Method} reference representing the annotation property
-     * @param target Resulting {@code Target} object
+     * @param value    {@code Annotation} object used as the source of attribute names and values
+     * @param mapper   {@link AnnotationMapper} containing the rendering data of the annotation type
+     * @param property {@link AnnotationMapper.Property} reference representing the annotation property
+     * @param target   Resulting {@code Target} object
      */
-    private static void populateAnnotationProperty(Annotation value, Method method, Target target) {
-        boolean ignorePrefix = false;
+    private static void populateAnnotationProperty(
+        Annotation value,
+        AnnotationMapper mapper,
+        AnnotationMapper.Property property,
+        Target target) {
 
         // Extract property name
-        String propertyName = method.getName();
-        if (method.isAnnotationPresent(PropertyRendering.class)) {
-            PropertyRendering propertyRenderingAnnotation = method.getAnnotation(PropertyRendering.class);
-            propertyName = NamingUtil.getValidFieldName(StringUtils.defaultIfBlank(propertyRenderingAnnotation.name(), propertyName));
-            ignorePrefix = propertyRenderingAnnotation.ignorePrefix();
-        }
+        String propertyName = property.getValidRenderedName();
 
         // Extract property prefix and prepend it to the name
-        String prefixByPropertyMapping = getPropertyPrefix(value);
-        String namePrefix = prefixByPropertyMapping.contains(CoreConstants.SEPARATOR_SLASH)
-            ? StringUtils.substringAfterLast(prefixByPropertyMapping, CoreConstants.SEPARATOR_SLASH)
-            : prefixByPropertyMapping;
-        if (!ignorePrefix && StringUtils.isNotBlank(prefixByPropertyMapping)) {
+        String namePrefix = mapper.getNamePrefix();
+        if (!property.isPrefixIgnored() && StringUtils.isNotBlank(mapper.getPrefix())) {
             if (propertyName.contains(CoreConstants.SEPARATOR_SLASH)) {
                 propertyName = StringUtils.substringBeforeLast(propertyName, CoreConstants.SEPARATOR_SLASH)
                     + CoreConstants.SEPARATOR_SLASH
@@ -668,29 +653,12 @@ public class TargetImpl extends AdaptationBase<Target> implements Target {
         }
 
         BinaryOperator<String> merger = TargetImpl::mergeStringAttributes;
-        AttributeHelper.forAnnotationProperty(value, method)
+        AttributeHelper.forAnnotationProperty(value, property.getMethod())
             .withName(propertyName)
             .withMerger(merger)
             .setTo(effectiveTarget);
     }
 
-    /**
-     * Retrieves a name prefix for the given {@code Annotation}
-     * @param annotation {@code Annotation} object to look for a prefix value
-     * @return String value
-     */
-    @SuppressWarnings("deprecation") // Processing of PropertyMapping is retained for compatibility and will be removed
-    // in a version after 2.0.2
-    private static String getPropertyPrefix(Annotation annotation) {
-        String result = StringUtils.EMPTY;
-        if (annotation.annotationType().isAnnotationPresent(AnnotationRendering.class)) {
-            result = annotation.annotationType().getDeclaredAnnotation(AnnotationRendering.class).prefix();
-        } else if (annotation.annotationType().isAnnotationPresent(PropertyMapping.class)) {
-            result = annotation.annotationType().getDeclaredAnnotation(PropertyMapping.class).prefix();
-        }
-        return result;
-    }
-
     /**
      * Merges two string attributes expressing either plain values or inline value lists into the resulting string.
      * This method leaves no duplicate elements
@@ -45,6 +45,13 @@ import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
 public class AnnotationUtil {
     private static final String INVOCATION_EXCEPTION_MESSAGE_TEMPLATE = "Could not invoke method '%s' on %s";
 
+    private static final ClassValue<Predicate<Method>> PROPERTY_MAPPING_FILTERS = new ClassValue<Predicate<Method>>() {
+        @Override
+        protected Predicate<Method> computeValue(Class<?> type) {
+            return createPropertyMappingFilter(type);
+        }
+    };
+
     /**
      * Default (instantiation-preventing) constructor
      */
@@ -196,24 +203,36 @@ public class AnnotationUtil {
     /**
      * Gets a filter routine to select properties of the given annotation eligible for automatic mapping.
      * If one of the property-mapping annotations is present in the annotation given, the filter combs through
-     * the methods and picks those satisfying the mapping; otherwise a neutral (pass-all) filter is imposed
+     * the methods and picks those satisfying the mapping; otherwise a neutral (pass-all) filter is imposed.
+     * The filters are cached per annotation type
      * @param annotation {@code Annotation} object to use methods from
      * @return {@code Predicate<Method>} instance
      */
+    public static Predicate<Method> getPropertyMappingFilter(Annotation annotation) {
+        if (annotation == null) {
+            return createPropertyMappingFilter(null);
+        }
+        return PROPERTY_MAPPING_FILTERS.get(annotation.annotationType());
+    }
+
+    /**
+     * Called by {@link AnnotationUtil#getPropertyMappingFilter(Annotation)} to create a filter routine for the given
+     * annotation type
+     * @param annotationType Nullable {@code Class} reference representing an annotation type
+     * @return {@code Predicate<Method>} instance
+     */
     @SuppressWarnings("deprecation")
     // Processing of PropertyMapping is retained for compatibility and will be removed in a version after 2.0.2
-    public static Predicate<Method> getPropertyMappingFilter(Annotation annotation) {
-        Stream<String> mappingsByAnnotationRendering = Optional.ofNullable(annotation)
-            .map(Annotation::annotationType)
-            .map(annotationType -> annotationType.getAnnotation(AnnotationRendering.class))
+    private static Predicate<Method> createPropertyMappingFilter(Class<?> annotationType) {
+        Stream<String> mappingsByAnnotationRendering = Optional.ofNullable(annotationType)
+            .map(type -> type.getAnnotation(AnnotationRendering.class))
             .map(AnnotationRendering::properties)
             .map(ArrayUtil::flatten)
             .map(Arrays::stream)
             .orElse(Stream.empty());
 
-        Stream<String> mappingsByPropertyMapping = Optional.ofNullable(annotation)
-            .map(Annotation::annotationType)
-            .map(annotationType -> annotationType.getAnnotation(PropertyMapping.class))
+        Stream<String> mappingsByPropertyMapping = Optional.ofNullable(annotationType)
+            .map(type -> type.getAnnotation(PropertyMapping.class))
             .map(PropertyMapping::mappings)
             .map(ArrayUtil::flatten)
             .map(Arrays::stream)
@@ -282,7 +301,7 @@ public class AnnotationUtil {
     }
 
     /**
-     * Called by {@link AnnotationUtil#getPropertyMappingFilter(Annotation)} to test the given annotation property
+     * Called by {@link AnnotationUtil#createPropertyMappingFilter(Class)} to test the given annotation property
      * against the set of mappings: whether the method name matches the mappings set
      * @param method   {@code Annotation} method
      * @param mappings {@code List} of strings representing the mappings
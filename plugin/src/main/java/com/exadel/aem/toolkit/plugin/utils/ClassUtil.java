@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -39,6 +40,33 @@ import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingUtil;
  */
 public class ClassUtil {
 
+    // Member lists are cached per class that declares the members, so that the lists of a common superclass are shared
+    // between its descendants
+    private static final ClassValue<List<Member>> DECLARED_MEMBERS = new ClassValue<List<Member>>() {
+        @Override
+        protected List<Member> computeValue(Class<?> type) {
+            return getValidMembers(Stream.concat(
+                Arrays.stream(type.getDeclaredFields()),
+                Arrays.stream(type.getDeclaredMethods())));
+        }
+    };
+
+    private static final ClassValue<List<Member>> PUBLIC_METHODS = new ClassValue<List<Member>>() {
+        @Override
+        protected List<Member> computeValue(Class<?> type) {
+            return getValidMembers(Arrays.stream(type.getMethods()));
+        }
+    };
+
+    // Ordered lists of sources are cached per target class and the set of members that passed the condition. This way
+    // repeated calls for the same class yield the same result without re-sorting
+    private static final ClassValue<Map<List<Member>, List<Source>>> SOURCES = new ClassValue<Map<List<Member>, List<Source>>>() {
+        @Override
+        protected Map<List<Member>, List<Source>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * Default (instantiation-restricting) constructor
      */
@@ -57,28 +85,54 @@ public class ClassUtil {
 
     /**
      * Retrieves a sequential list of {@link Source} objects representing manageable members that belong to
-     * a certain {@code Class} (and its superclasses) and match the provided criteria represented by a {@code Predicate}
+     * a certain {@code Class} (and its superclasses) and match the provided criteria represented by a {@code Predicate}.
+     * The ordered lists are cached, and the {@code Source} objects are shared between the calls that yield the same
+     * set of members
      * @param targetClass The class to extract sources from
      * @param condition   Nullable {@code Predicate<Member>} instance that helps to pick up appropriate fields and methods
-     * @return List of {@code Source} objects
+     * @return List of {@code Source} objects. The list can be modified by the caller
      */
-    @SuppressWarnings("deprecation") // Processing of IgnoreFields is retained for compatibility and will be removed
-                                     // in a version after 2.0.2
     public static List<Source> getSources(Class<?> targetClass, Predicate<Source> condition) {
-        List<Source> raw = new ArrayList<>();
-        List<ClassMemberSetting> ignoredClassMembers = new ArrayList<>();
+        List<Member> members = new ArrayList<>();
+        List<Source> sources = condition != null ? new ArrayList<>() : null;
 
         for (Class<?> classEntry : getInheritanceTree(targetClass)) {
+            List<Member> classMembers = targetClass.isInterface()
+                ? PUBLIC_METHODS.get(classEntry)
+                : DECLARED_MEMBERS.get(classEntry);
+            if (condition == null) {
+                members.addAll(classMembers);
+                continue;
+            }
+            for (Member member : classMembers) {
+                Source source = Sources.fromMember(member, targetClass);
+                if (condition.test(source)) {
+                    members.add(member);
+                    sources.add(source);
+                }
+            }
+        }
 
-            Stream<Member> classMembersStream = targetClass.isInterface()
-                ? Arrays.stream(classEntry.getMethods())
-                : Stream.concat(Arrays.stream(classEntry.getDeclaredFields()), Arrays.stream(classEntry.getDeclaredMethods()));
-            List<Source> classMemberSources = classMembersStream
-                .map(member -> Sources.fromMember(member, targetClass))
-                .filter(source -> source.isValid() && (condition == null || condition.test(source)))
-                .collect(Collectors.toList());
-            raw.addAll(classMemberSources);
+        List<Source> result = SOURCES.get(targetClass).computeIfAbsent(members, key -> orderSources(
+            targetClass,
+            sources != null
+                ? sources
+                : key.stream().map(member -> Sources.fromMember(member, targetClass)).collect(Collectors.toList())));
+        return new ArrayList<>(result);
+    }
 
+    /**
+     * Called by {@link ClassUtil#getSources(Class, Predicate)} to process the replacements and ignored members
+     * of the given {@code Source} objects and to arrange them in the proper order
+     * @param targetClass The class the sources are extracted from
+     * @param raw         List of {@code Source} objects in the order of declaration
+     * @return Unmodifiable list of {@code Source} objects
+     */
+    @SuppressWarnings("deprecation") // Processing of IgnoreFields is retained for compatibility and will be removed
+                                     // in a version after 2.0.2
+    private static List<Source> orderSources(Class<?> targetClass, List<Source> raw) {
+        List<ClassMemberSetting> ignoredClassMembers = new ArrayList<>();
+        for (Class<?> classEntry : getInheritanceTree(targetClass)) {
             if (classEntry.getAnnotation(Ignore.class) != null && classEntry.getAnnotation(Ignore.class).members().length > 0) {
                 Arrays.stream(classEntry.getAnnotation(Ignore.class).members())
                     .map(classMember -> new ClassMemberSetting(classMember).populateDefaults(targetClass, classEntry.getName()))
@@ -99,7 +153,18 @@ public class ClassUtil {
             .sorted(OrderingUtil::compareByRank)
             .collect(Collectors.toList());
 
-        return OrderingUtil.sortMembers(preSortedByRank);
+        return Collections.unmodifiableList(OrderingUtil.sortMembers(preSortedByRank));
+    }
+
+    /**
+     * Called by the member caches of {@link ClassUtil} to select class members that are eligible for rendering
+     * @param members {@code Stream} of class members
+     * @return Unmodifiable list of {@code Member} objects
+     */
+    private static List<Member> getValidMembers(Stream<? extends Member> members) {
+        return Collections.unmodifiableList(members
+            .filter(member -> Sources.fromMember(member).isValid())
+            .collect(Collectors.toList()));
     }
 
     /**
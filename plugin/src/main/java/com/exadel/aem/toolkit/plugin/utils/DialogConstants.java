@@ -26,6 +26,7 @@ public class DialogConstants {
     public static final String NEGATION = "!";
     public static final String WILDCARD = "*";
 
+    public static final String SEPARATOR_COLON = ":";
     public static final String SEPARATOR_DOT = ".";
     public static final String SEPARATOR_SEMICOLON = ";";
 
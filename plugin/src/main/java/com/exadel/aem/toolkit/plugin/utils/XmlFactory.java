@@ -14,6 +14,7 @@
 package com.exadel.aem.toolkit.plugin.utils;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -27,7 +28,9 @@ import org.w3c.dom.Document;
 import com.google.common.collect.ImmutableMap;
 
 /**
- * Contains utility methods for creating and transforming XML entities
+ * Contains utility methods for creating and transforming XML entities. Since creating a {@link DocumentBuilder} or
+ * a {@link Transformer} involves the JAXP factory lookup and setting up the security features, the instances are
+ * created once per thread and reset before being reused
  */
 public class XmlFactory {
     /**
@@ -53,6 +56,19 @@ public class XmlFactory {
     );
     public static final String XML_NAMESPACE_PREFIX = "xmlns:";
 
+    /**
+     * Counts the {@link DocumentBuilder} instances created and reused by this class
+     */
+    public static final UsageCounter DOCUMENT_BUILDER_USAGE = new UsageCounter();
+
+    /**
+     * Counts the {@link Transformer} instances created and reused by this class
+     */
+    public static final UsageCounter TRANSFORMER_USAGE = new UsageCounter();
+
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDERS = new ThreadLocal<>();
+    private static final ThreadLocal<Transformer> TRANSFORMERS = new ThreadLocal<>();
+
 
     /**
      * Default (instantiation-restricting) constructor
@@ -61,12 +77,42 @@ public class XmlFactory {
     }
 
     /**
-     * Creates a new {@link Document} instance compliant with XML entity protection policies
+     * Creates a new {@link Document} instance compliant with XML entity protection policies. The document is created
+     * with the {@code DocumentBuilder} that is bound to the current thread
      * @return Empty XML {@code Document}
      * @throws ParserConfigurationException if one or more security features cannot be assigned to the newly created document
      */
     public static Document newDocument() throws ParserConfigurationException {
-        return createDocumentBuilder().newDocument();
+        DocumentBuilder builder = DOCUMENT_BUILDERS.get();
+        if (builder == null) {
+            builder = createDocumentBuilder();
+            DOCUMENT_BUILDERS.set(builder);
+            DOCUMENT_BUILDER_USAGE.created.incrementAndGet();
+        } else {
+            builder.reset();
+            DOCUMENT_BUILDER_USAGE.reused.incrementAndGet();
+        }
+        return builder.newDocument();
+    }
+
+    /**
+     * Retrieves the {@link Transformer} instance that is bound to the current thread, or creates a new one if there is
+     * none yet. The instance is reset to its initial state before being returned. It must not be passed to another
+     * thread or retained after the transformation is complete
+     * @return {@code Transformer} object
+     * @throws TransformerConfigurationException in case security attributes cannot be set
+     */
+    public static Transformer getDocumentTransformer() throws TransformerConfigurationException {
+        Transformer result = TRANSFORMERS.get();
+        if (result == null) {
+            result = newDocumentTransformer();
+            TRANSFORMERS.set(result);
+            TRANSFORMER_USAGE.created.incrementAndGet();
+        } else {
+            result.reset();
+            TRANSFORMER_USAGE.reused.incrementAndGet();
+        }
+        return result;
     }
 
     /**
@@ -99,4 +145,43 @@ public class XmlFactory {
         documentBuilderFactory.setExpandEntityReferences(false);
         return documentBuilderFactory.newDocumentBuilder();
     }
+
+    /**
+     * Contains the numbers of XML utility objects created and reused
+     */
+    public static class UsageCounter {
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong reused = new AtomicLong();
+
+        /**
+         * Default (instantiation-restricting) constructor
+         */
+        private UsageCounter() {
+        }
+
+        /**
+         * Gets the number of objects created
+         * @return Long value
+         */
+        public long getCreated() {
+            return created.get();
+        }
+
+        /**
+         * Gets the number of times an existing object was reused
+         * @return Long value
+         */
+        public long getReused() {
+            return reused.get();
+        }
+
+        /**
+         * Resets both counters to zero. Used to keep the statistics relevant to a single plugin run since the counters
+         * would otherwise accumulate across executions in the same JVM (e.g., in a multi-module build)
+         */
+        public void reset() {
+            created.set(0);
+            reused.set(0);
+        }
+    }
 }
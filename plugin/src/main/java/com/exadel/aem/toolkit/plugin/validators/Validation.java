@@ -83,16 +83,36 @@ public class Validation {
      * @return {@code Validation} instance
      */
     public static Validation forMethod(Method method) {
-        String restriction = null;
+        return forMethod(method, getRestriction(method));
+    }
+
+    /**
+     * Retrieves an appropriate {@code Validation} for the specified annotation property and the restriction that has
+     * already been retrieved with {@link Validation#getRestriction(Method)}
+     * @param method      {@code Method} instance representing the annotation property
+     * @param restriction Nullable name of the {@link Validator} class
+     * @return {@code Validation} instance
+     */
+    public static Validation forMethod(Method method, String restriction) {
+        Validation checker = new Validation(getTestRoutine(restriction));
+        checker.reflectedMethod = method;
+        return checker;
+    }
+
+    /**
+     * Retrieves the name of the {@link Validator} specified for the annotation property via {@link ValueRestriction},
+     * either for the property itself, or for the annotation type the property returns
+     * @param method {@code Method} instance representing the annotation property
+     * @return String value, or null if there is no restriction
+     */
+    public static String getRestriction(Method method) {
         if (method.isAnnotationPresent(ValueRestriction.class)) {
-            restriction = method.getDeclaredAnnotation(ValueRestriction.class).value();
+            return method.getDeclaredAnnotation(ValueRestriction.class).value();
         } else if (ClassUtils.isAssignable(MemberUtil.getPlainType(method), Annotation.class)
                 && MemberUtil.getPlainType(method).isAnnotationPresent(ValueRestriction.class)) {
-            restriction = MemberUtil.getPlainType(method).getDeclaredAnnotation(ValueRestriction.class).value();
+            return MemberUtil.getPlainType(method).getDeclaredAnnotation(ValueRestriction.class).value();
         }
-        Validation checker = new Validation(getTestRoutine(restriction));
-        checker.reflectedMethod = method;
-        return checker;
+        return null;
     }
 
     /**
@@ -13,6 +13,7 @@
  */
 package com.exadel.aem.toolkit.plugin.writers;
 
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 
 import com.exadel.aem.toolkit.api.annotations.editconfig.ChildEditConfig;
@@ -26,9 +27,9 @@ import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
 class CqChildEditConfigWriter extends PackageEntryWriter {
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output stream
      */
-    CqChildEditConfigWriter(Transformer transformer) {
+    CqChildEditConfigWriter(Supplier<Transformer> transformer) {
         super(transformer);
     }
 
@@ -13,6 +13,7 @@
  */
 package com.exadel.aem.toolkit.plugin.writers;
 
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 
 import com.exadel.aem.toolkit.api.annotations.main.DesignDialog;
@@ -29,10 +30,10 @@ class CqDialogWriter extends PackageEntryWriter {
 
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output stream
      * @param scope       Current scope value
      */
-    CqDialogWriter(Transformer transformer, String scope) {
+    CqDialogWriter(Supplier<Transformer> transformer, String scope) {
         super(transformer);
         this.scope = scope;
     }
@@ -13,6 +13,7 @@
  */
 package com.exadel.aem.toolkit.plugin.writers;
 
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 
 import com.exadel.aem.toolkit.api.annotations.editconfig.EditConfig;
@@ -27,9 +28,9 @@ class CqEditConfigWriter extends PackageEntryWriter {
 
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output stream
      */
-    CqEditConfigWriter(Transformer transformer) {
+    CqEditConfigWriter(Supplier<Transformer> transformer) {
         super(transformer);
     }
 
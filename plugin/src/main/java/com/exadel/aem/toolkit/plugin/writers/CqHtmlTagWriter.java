@@ -13,6 +13,7 @@
  */
 package com.exadel.aem.toolkit.plugin.writers;
 
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 
 import com.exadel.aem.toolkit.api.annotations.main.HtmlTag;
@@ -27,9 +28,9 @@ class CqHtmlTagWriter extends PackageEntryWriter {
 
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output stream
      */
-    CqHtmlTagWriter(Transformer transformer) {
+    CqHtmlTagWriter(Supplier<Transformer> transformer) {
         super(transformer);
     }
 
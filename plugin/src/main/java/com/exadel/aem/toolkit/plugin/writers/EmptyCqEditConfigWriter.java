@@ -14,6 +14,7 @@
 package com.exadel.aem.toolkit.plugin.writers;
 
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 
 import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
@@ -31,9 +32,9 @@ class EmptyCqEditConfigWriter extends PackageEntryWriter {
 
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output stream
      */
-    EmptyCqEditConfigWriter(Transformer transformer) {
+    EmptyCqEditConfigWriter(Supplier<Transformer> transformer) {
         super(transformer);
     }
 
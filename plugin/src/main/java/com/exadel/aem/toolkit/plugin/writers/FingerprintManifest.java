@@ -0,0 +1,400 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.writers;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+
+import com.exadel.aem.toolkit.core.CoreConstants;
+import com.exadel.aem.toolkit.plugin.maven.PluginInfo;
+import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
+import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+
+/**
+ * Keeps track of the fingerprints of AEM component classes in order to support the incremental mode of
+ * {@link PackageWriter}. A fingerprint is computed over the bytecode of the component class and the classes it depends
+ * on, such as superclasses, interfaces, views, nested classes, types of class members (e.g. fieldsets and multifields),
+ * and classes referenced in annotations. Fingerprints are stored in the package next to the version info
+ */
+class FingerprintManifest {
+
+    private static final String FILE_NAME = "fingerprints.info";
+    private static final String KEY_ENVIRONMENT = "@environment";
+    private static final String SEPARATOR_EQUALS = "=";
+
+    private static final String CLASS_FILE_EXTENSION = ".class";
+    private static final String PROTOCOL_FILE = "file";
+    private static final String PROTOCOL_JAR = "jar";
+
+    private static final List<String> SKIPPED_PACKAGES = Arrays.asList(
+        "java.",
+        "javax.",
+        "jdk.",
+        "sun.",
+        "com.exadel.aem.toolkit.api.",
+        "com.exadel.aem.toolkit.core.",
+        "com.exadel.aem.toolkit.plugin.");
+
+    private final Path filePath;
+    private final String environment;
+    private final Map<String, String> storedFingerprints;
+    private final Map<String, String> fingerprints;
+    private final Map<Class<?>, String> classHashes;
+
+    /**
+     * Creates a new instance of {@code FingerprintManifest}
+     * @param filePath   {@code Path} to the manifest file within the package
+     * @param pluginInfo {@link PluginInfo} object representing the current plugin binary
+     * @param settings   {@code Map} of the effective plugin settings
+     */
+    private FingerprintManifest(Path filePath, PluginInfo pluginInfo, Map<String, String> settings) {
+        this.filePath = filePath;
+        this.fingerprints = new TreeMap<>();
+        this.classHashes = new ConcurrentHashMap<>();
+        this.environment = getEnvironmentHash(pluginInfo, settings);
+        this.storedFingerprints = readFingerprints(filePath, environment);
+    }
+
+
+    /* ------------------------
+       Public interface members
+       ------------------------ */
+
+    /**
+     * Computes the fingerprint of the given component class. This method can be called from a worker thread
+     * @param componentClass The component-backing {@code Class<?>}
+     * @return String value representing the fingerprint
+     */
+    String getFingerprint(Class<?> componentClass) {
+        Set<Class<?>> dependencies = new LinkedHashSet<>();
+        collectDependencies(componentClass, dependencies);
+        Hasher hasher = Hashing.sha256().newHasher();
+        dependencies
+            .stream()
+            .sorted(Comparator.comparing(Class::getName))
+            .forEach(dependency -> hasher
+                .putString(dependency.getName(), StandardCharsets.UTF_8)
+                .putString(getClassHash(dependency), StandardCharsets.UTF_8));
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Gets whether the given component class has the same fingerprint as the one stored during the previous build
+     * @param componentClass The component-backing {@code Class<?>}
+     * @param fingerprint    String value representing the current fingerprint
+     * @return True or false
+     */
+    boolean isUpToDate(Class<?> componentClass, String fingerprint) {
+        return StringUtils.equals(storedFingerprints.get(componentClass.getName()), fingerprint);
+    }
+
+    /**
+     * Stores the fingerprint of a component class that has been successfully written to the package. Calls to this
+     * method must be performed in sequence
+     * @param componentClass The component-backing {@code Class<?>}
+     * @param fingerprint    String value representing the fingerprint
+     */
+    void register(Class<?> componentClass, String fingerprint) {
+        fingerprints.put(componentClass.getName(), fingerprint);
+    }
+
+    /**
+     * Writes the fingerprints of the components stored within the current build to the package
+     */
+    void store() {
+        List<String> lines = new ArrayList<>();
+        lines.add(KEY_ENVIRONMENT + SEPARATOR_EQUALS + environment);
+        fingerprints.forEach((key, value) -> lines.add(key + SEPARATOR_EQUALS + value));
+        try {
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            PluginRuntime.context().getExceptionHandler().handle(e);
+        }
+    }
+
+
+    /* ------------------
+       Dependency tracing
+       ------------------ */
+
+    /**
+     * Collects the classes that the given class depends on
+     * @param value     The {@code Class<?>} to analyze
+     * @param collected Set of classes collected so far
+     */
+    private static void collectDependencies(Class<?> value, Set<Class<?>> collected) {
+        Class<?> effectiveClass = value;
+        while (effectiveClass.isArray()) {
+            effectiveClass = effectiveClass.getComponentType();
+        }
+        if (effectiveClass.isPrimitive() || isSkipped(effectiveClass) || !collected.add(effectiveClass)) {
+            return;
+        }
+        URL classFile = getClassFile(effectiveClass);
+        if (classFile == null || !PROTOCOL_FILE.equals(classFile.getProtocol())) {
+            // Classes that come from archives are not analyzed in depth. The fingerprint of such a class
+            // reflects the state of the archive
+            return;
+        }
+        try {
+            List<Class<?>> dependencies = new ArrayList<>();
+            dependencies.add(effectiveClass.getSuperclass());
+            dependencies.addAll(Arrays.asList(effectiveClass.getInterfaces()));
+            dependencies.addAll(Arrays.asList(effectiveClass.getDeclaredClasses()));
+            collectAnnotationDependencies(effectiveClass, dependencies);
+            for (Field field : effectiveClass.getDeclaredFields()) {
+                collectTypeDependencies(field.getGenericType(), dependencies);
+                collectAnnotationDependencies(field, dependencies);
+            }
+            for (Method method : effectiveClass.getDeclaredMethods()) {
+                collectTypeDependencies(method.getGenericReturnType(), dependencies);
+                collectAnnotationDependencies(method, dependencies);
+            }
+            dependencies
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(dependency -> collectDependencies(dependency, collected));
+        } catch (LinkageError e) {
+            // The class refers to types that are not available in the classpath. Such types cannot affect
+            // the rendering and are therefore neglected
+        }
+    }
+
+    /**
+     * Collects the classes that the given {@code Type} consists of, including the type arguments
+     * @param type      {@code Type} object to analyze
+     * @param collected List of classes collected so far
+     */
+    private static void collectTypeDependencies(Type type, List<Class<?>> collected) {
+        if (type instanceof Class) {
+            collected.add((Class<?>) type);
+        } else if (type instanceof ParameterizedType) {
+            collectTypeDependencies(((ParameterizedType) type).getRawType(), collected);
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                collectTypeDependencies(argument, collected);
+            }
+        }
+    }
+
+    /**
+     * Collects the annotation types of the given element and the classes referenced in the annotation properties
+     * @param element   {@code AnnotatedElement} object to analyze
+     * @param collected List of classes collected so far
+     */
+    private static void collectAnnotationDependencies(AnnotatedElement element, List<Class<?>> collected) {
+        for (Annotation annotation : element.getDeclaredAnnotations()) {
+            collectAnnotationDependencies(annotation, collected);
+        }
+    }
+
+    /**
+     * Collects the type of the given annotation and the classes referenced in its properties
+     * @param annotation {@code Annotation} object to analyze
+     * @param collected  List of classes collected so far
+     */
+    private static void collectAnnotationDependencies(Annotation annotation, List<Class<?>> collected) {
+        collected.add(annotation.annotationType());
+        for (Method method : annotation.annotationType().getDeclaredMethods()) {
+            Object value;
+            try {
+                value = method.invoke(annotation);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                continue;
+            }
+            Stream<?> values = value != null && value.getClass().isArray() && !value.getClass().getComponentType().isPrimitive()
+                ? Arrays.stream((Object[]) value)
+                : Stream.of(value);
+            values.forEach(entry -> {
+                if (entry instanceof Class) {
+                    collected.add((Class<?>) entry);
+                } else if (entry instanceof Annotation) {
+                    collectAnnotationDependencies((Annotation) entry, collected);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets whether the given class belongs to the Java runtime or the ToolKit itself. Such classes are covered by the
+     * environment fingerprint and need not be analyzed
+     * @param value {@code Class<?>} reference
+     * @return True or false
+     */
+    private static boolean isSkipped(Class<?> value) {
+        return value.getClassLoader() == null || SKIPPED_PACKAGES.stream().anyMatch(pkg -> value.getName().startsWith(pkg));
+    }
+
+
+    /* -------------
+       Class hashing
+       ------------- */
+
+    /**
+     * Computes the hash of the given class. For a class that is stored in a folder, the bytecode is hashed. For a class
+     * that comes from an archive, the path, size, and modification time of the archive are used
+     * @param value {@code Class<?>} reference
+     * @return String value; an empty string if the class file cannot be located
+     */
+    private String getClassHash(Class<?> value) {
+        return classHashes.computeIfAbsent(value, FingerprintManifest::computeClassHash);
+    }
+
+    /**
+     * Called by {@link FingerprintManifest#getClassHash(Class)} to compute the hash of a class that is not yet cached
+     * @param value {@code Class<?>} reference
+     * @return String value; an empty string if the class file cannot be located
+     */
+    private static String computeClassHash(Class<?> value) {
+        URL classFile = getClassFile(value);
+        if (classFile == null) {
+            return StringUtils.EMPTY;
+        }
+        try {
+            if (PROTOCOL_JAR.equals(classFile.getProtocol())) {
+                File archive = new File(((JarURLConnection) classFile.openConnection()).getJarFileURL().toURI());
+                return archive.getAbsolutePath() + CoreConstants.SEPARATOR_COLON + archive.length()
+                    + CoreConstants.SEPARATOR_COLON + archive.lastModified();
+            }
+            try (InputStream input = classFile.openStream()) {
+                return Hashing.sha256().hashBytes(ByteStreams.toByteArray(input)).toString();
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            // An unreadable class file produces a unique hash so that the dependent components are always rendered
+            return String.valueOf(System.nanoTime());
+        }
+    }
+
+    /**
+     * Retrieves the address of the class file that the given class is loaded from
+     * @param value {@code Class<?>} reference
+     * @return {@code URL} object, or null
+     */
+    private static URL getClassFile(Class<?> value) {
+        ClassLoader classLoader = value.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        return classLoader.getResource(value.getName().replace(DialogConstants.SEPARATOR_DOT, CoreConstants.SEPARATOR_SLASH) + CLASS_FILE_EXTENSION);
+    }
+
+
+    /* ---------------
+       Utility methods
+       --------------- */
+
+    /**
+     * Computes the hash that represents the current build environment, i.e. the plugin binary, the effective plugin
+     * settings, and the custom handlers and validators. If the environment changes, all the components are rendered anew
+     * @param pluginInfo {@link PluginInfo} object
+     * @param settings   {@code Map} of the effective plugin settings
+     * @return String value
+     */
+    private String getEnvironmentHash(PluginInfo pluginInfo, Map<String, String> settings) {
+        Hasher hasher = Hashing.sha256().newHasher()
+            .putString(StringUtils.defaultString(pluginInfo.getName()), StandardCharsets.UTF_8)
+            .putString(StringUtils.defaultString(pluginInfo.getVersion()), StandardCharsets.UTF_8)
+            .putString(StringUtils.defaultString(pluginInfo.getTimestamp()), StandardCharsets.UTF_8);
+        new TreeMap<>(settings).forEach((key, value) -> hasher
+            .putString(key, StandardCharsets.UTF_8)
+            .putString(SEPARATOR_EQUALS, StandardCharsets.UTF_8)
+            .putString(StringUtils.defaultString(value), StandardCharsets.UTF_8));
+        Stream
+            .concat(
+                PluginRuntime.context().getReflection().getHandlers().stream(),
+                PluginRuntime.context().getReflection().getValidators().stream())
+            .map(Object::getClass)
+            .sorted(Comparator.comparing(Class::getName))
+            .forEach(extension -> hasher
+                .putString(extension.getName(), StandardCharsets.UTF_8)
+                .putString(getClassHash(extension), StandardCharsets.UTF_8));
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Reads the fingerprints stored within the previous build. If the manifest is missing, unreadable, or was created
+     * in a different environment, an empty map is returned, and all the components are rendered anew
+     * @param filePath    {@code Path} to the manifest file within the package
+     * @param environment String value representing the current environment
+     * @return {@code Map} of class names and fingerprints
+     */
+    private static Map<String, String> readFingerprints(Path filePath, String environment) {
+        Map<String, String> result = new HashMap<>();
+        if (!Files.isRegularFile(filePath)) {
+            return result;
+        }
+        try {
+            for (String line : Files.readAllLines(filePath, StandardCharsets.UTF_8)) {
+                result.put(
+                    StringUtils.substringBefore(line, SEPARATOR_EQUALS),
+                    StringUtils.substringAfter(line, SEPARATOR_EQUALS));
+            }
+        } catch (IOException e) {
+            // An unreadable manifest is not an error since it leads to all the components being rendered anew
+            result.clear();
+        }
+        if (!environment.equals(result.get(KEY_ENVIRONMENT))) {
+            result.clear();
+        }
+        return result;
+    }
+
+
+    /* ---------------
+       Factory methods
+       --------------- */
+
+    /**
+     * Creates a new {@link FingerprintManifest} instance and populates it with the fingerprints stored in the given
+     * directory within the previous build
+     * @param directory  {@code Path} to the directory the manifest is stored in
+     * @param pluginInfo {@link PluginInfo} object representing the current plugin binary
+     * @param settings   {@code Map} of the effective plugin settings
+     * @return {@code FingerprintManifest} instance
+     */
+    static FingerprintManifest forDirectory(Path directory, PluginInfo pluginInfo, Map<String, String> settings) {
+        return new FingerprintManifest(directory.resolve(FILE_NAME), pluginInfo, settings);
+    }
+}
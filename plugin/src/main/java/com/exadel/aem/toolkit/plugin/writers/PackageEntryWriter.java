@@ -14,11 +14,13 @@
 package com.exadel.aem.toolkit.plugin.writers;
 
 import java.io.IOException;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
@@ -31,6 +33,7 @@ import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
 import com.exadel.aem.toolkit.api.handlers.Source;
 import com.exadel.aem.toolkit.api.handlers.Target;
 import com.exadel.aem.toolkit.plugin.adapters.DomAdapter;
+import com.exadel.aem.toolkit.plugin.adapters.XmlStreamAdapter;
 import com.exadel.aem.toolkit.plugin.handlers.HandlerChains;
 import com.exadel.aem.toolkit.plugin.handlers.common.DomHandler;
 import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
@@ -48,13 +51,15 @@ abstract class PackageEntryWriter {
        Class fields and constructors
        ----------------------------- */
 
-    private final Transformer transformer;
+    private final Supplier<Transformer> transformer;
 
     /**
      * Basic constructor
-     * @param transformer {@code Transformer} instance used to serialize XML DOM document to an output stream
+     * @param transformer Routine that provides a {@code Transformer} used to serialize XML DOM document to an output
+     *                    stream. Since a {@code Transformer} is not thread-safe, the routine is expected to return an
+     *                    instance confined to the current thread
      */
-    PackageEntryWriter(Transformer transformer) {
+    PackageEntryWriter(Supplier<Transformer> transformer) {
         this.transformer = transformer;
     }
 
@@ -88,11 +93,11 @@ abstract class PackageEntryWriter {
     }
 
     /**
-     * Retrieves the {@link Transformer} associated with this instance
+     * Retrieves the {@link Transformer} associated with this instance in the current thread
      * @return {@code Transformer} object
      */
     Transformer getTransformer() {
-        return transformer;
+        return transformer.get();
     }
 
     /* ----------------------------
@@ -100,7 +105,7 @@ abstract class PackageEntryWriter {
        ---------------------------- */
 
     /**
-     * Called by {@link PackageWriter#write(Class)} before storing new XML entities into the component's folder
+     * Called by {@link PackageWriter#write(PackageWriter.ComponentEntries)} before storing new XML entities into the component's folder
      * to remove redundant and obsolete XML entries
      * @param componentPath {@link Path} representing a file within a file system the data is written to
      */
@@ -125,43 +130,52 @@ abstract class PackageEntryWriter {
     }
 
     /**
-     * Used to store XML markup filled with annotation data taken from current {@code Class} instance
-     * @param componentClass {@link Class} to analyze
-     * @param componentPath  {@link Path} representing a file within a file system the data is written to
+     * Used to store XML markup previously rendered with {@link PackageEntryWriter#render(Class)}
+     * @param content       String value representing the XML markup
+     * @param componentPath {@link Path} representing a file within a file system the data is written to
      */
-    final void writeXml(Class<?> componentClass, Path componentPath) {
+    final void writeXml(String content, Path componentPath) {
         try (Writer writer = Files.newBufferedWriter(componentPath.resolve(getScope()), StandardOpenOption.CREATE)) {
-            writeXml(componentClass, writer);
+            writer.write(content);
         } catch (IOException e) {
             PluginRuntime.context().getExceptionHandler().handle(e);
         }
     }
 
     /**
-     * Used to store XML markup filled with annotation data taken from current {@code Class} instance
+     * Renders XML markup filled with annotation data taken from current {@code Class} instance. This method does not
+     * access the file system and can be called from a worker thread. The markup is written directly from the
+     * {@code Target} tree unless the component requires DOM-level processing, such as common properties or legacy
+     * dialog handlers
      * @param componentClass {@link Class} to analyze
-     * @param writer {@link Writer} managing the data storage procedure
+     * @return String value representing the XML markup; an empty string if the markup could not be rendered
      */
-    private void writeXml(Class<?> componentClass, Writer writer) {
-        Document document = createDocument(componentClass);
+    final String render(Class<?> componentClass) {
+        Source source = Sources.fromClass(componentClass);
+        Target target = Targets.newInstance(DialogConstants.NN_ROOT, getScope());
+        getHandler().accept(source, target);
+
+        if (!DOM_HANDLER.isApplicable(source, getScope())) {
+            return target.adaptTo(XmlStreamAdapter.class).composeString();
+        }
+        Document document = createDocument(source, target);
+        StringWriter writer = new StringWriter();
         try {
-             transformer.transform(new DOMSource(document), new StreamResult(writer));
+            getTransformer().transform(new DOMSource(document), new StreamResult(writer));
         } catch (TransformerException e) {
             PluginRuntime.context().getExceptionHandler().handle(e);
         }
+        return writer.toString();
     }
 
     /**
      * Creates a DOM document that reflects the data that is provided by the component class and is relevant to the
      * scope of the current writer
-     * @param componentClass The {@code Class} being processed
+     * @param source {@code Source} object representing the {@code Class} being processed
+     * @param target {@code Target} object populated with the data of the class
      * @return {@link Document} created
      */
-    private Document createDocument(Class<?> componentClass) {
-        Source source = Sources.fromClass(componentClass);
-        Target target = Targets.newInstance(DialogConstants.NN_ROOT, getScope());
-        getHandler().accept(source, target);
-
+    private Document createDocument(Source source, Target target) {
         Document result = target
             .adaptTo(DomAdapter.class)
             .composeDocument(PluginRuntime.context().newXmlUtility().getDocument());
@@ -24,10 +24,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.xml.transform.Transformer;
@@ -48,6 +49,7 @@ import com.exadel.aem.toolkit.plugin.exceptions.InvalidSettingException;
 import com.exadel.aem.toolkit.plugin.exceptions.MissingResourceException;
 import com.exadel.aem.toolkit.plugin.exceptions.PluginException;
 import com.exadel.aem.toolkit.plugin.exceptions.ValidationException;
+import com.exadel.aem.toolkit.plugin.exceptions.handlers.ExceptionHandlers;
 import com.exadel.aem.toolkit.plugin.maven.PluginInfo;
 import com.exadel.aem.toolkit.plugin.maven.PluginRuntime;
 import com.exadel.aem.toolkit.plugin.utils.XmlFactory;
@@ -82,12 +84,18 @@ public class PackageWriter implements AutoCloseable {
     private final FileSystem fileSystem;
     private final List<PackageEntryWriter> writers;
     private final EmptyCqEditConfigWriter emptyEditConfigWriter;
+    private FingerprintManifest fingerprints;
+
+    private PackageWriter(
+        FileSystem fileSystem,
+        String componentsPathBase,
+        List<PackageEntryWriter> writers,
+        Supplier<Transformer> transformer) {
 
-    private PackageWriter(FileSystem fileSystem, String componentsPathBase, List<PackageEntryWriter> writers) {
         this.fileSystem = fileSystem;
         this.componentsPathBase = componentsPathBase;
         this.writers = writers;
-        this.emptyEditConfigWriter = new EmptyCqEditConfigWriter(writers.get(0).getTransformer());
+        this.emptyEditConfigWriter = new EmptyCqEditConfigWriter(transformer);
     }
 
 
@@ -97,6 +105,9 @@ public class PackageWriter implements AutoCloseable {
 
     @Override
     public void close() {
+        if (fingerprints != null) {
+            fingerprints.store();
+        }
         try {
             fileSystem.close();
         } catch (IOException e) {
@@ -122,7 +133,9 @@ public class PackageWriter implements AutoCloseable {
         Path infoFilePath = infoDirPath.resolve(PACKAGE_INFO_FILE_NAME);
         try {
             Files.createDirectories(infoDirPath);
-            Files.createFile(infoFilePath);
+            if (!Files.exists(infoFilePath)) {
+                Files.createFile(infoFilePath);
+            }
         } catch (IOException e) {
             PluginRuntime.context().getExceptionHandler().handle(e);
         }
@@ -139,6 +152,20 @@ public class PackageWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Switches this instance to the incremental mode. In this mode, the markup of a component is not rendered anew if
+     * neither the component class nor the classes it depends on have changed since the previous build, and the
+     * component folder is present in the package. Fingerprints of the processed components are stored into the package
+     * when this instance is closed. Only the components that were rendered and stored without errors are fingerprinted
+     * @param info     {@link PluginInfo} object
+     * @param settings {@code Map} of the effective plugin settings. If any of the settings changes, all the components
+     *                 are rendered anew
+     */
+    public void enableIncrementalMode(PluginInfo info, Map<String, String> settings) {
+        Path rootPath = fileSystem.getRootDirectories().iterator().next();
+        fingerprints = FingerprintManifest.forDirectory(rootPath.resolve(PACKAGE_INFO_DIRECTORY), info, settings);
+    }
+
     /**
      * Stores AEM component's authoring markup into the package. To do this, several package entry writers,
      * e.g. for populating {@code .content.xml}, {@code _cq_dialog.xml}, {@code _cq_editConfig.xml}, etc.
@@ -147,13 +174,79 @@ public class PackageWriter implements AutoCloseable {
      * @return True if at least one file/node was stored into the component's folder; otherwise, false
      */
     public boolean write(Class<?> componentClass) {
+        return write(render(componentClass));
+    }
+
+    /**
+     * Renders AEM component's authoring markup without storing it into the package. This method does not modify
+     * the file system and therefore can be called from a worker thread. The result is then passed to
+     * {@link PackageWriter#write(ComponentEntries)}. In the incremental mode, the markup of an unchanged component
+     * is not rendered
+     * @param componentClass Current {@code Class} instance
+     * @return {@link ComponentEntries} object, or null if the component cannot be rendered
+     */
+    public ComponentEntries render(Class<?> componentClass) {
         String providedComponentPath = getComponentPath(componentClass);
         if (StringUtils.isBlank(providedComponentPath)) {
             ValidationException validationException = new ValidationException(COMPONENT_NAME_MISSING_EXCEPTION_MESSAGE + componentClass.getSimpleName());
             PluginRuntime.context().getExceptionHandler().handle(validationException);
-            return false;
+            return null;
         }
+        String fingerprint = fingerprints != null ? fingerprints.getFingerprint(componentClass) : null;
+        if (fingerprint != null && fingerprints.isUpToDate(componentClass, fingerprint)) {
+            return new ComponentEntries(componentClass, providedComponentPath, fingerprint, null);
+        }
+        return render(componentClass, providedComponentPath, fingerprint);
+    }
 
+    /**
+     * Called by {@link PackageWriter#render(Class)} to render AEM component's authoring markup with the package entry
+     * writers that match the component's views
+     * @param componentClass        Current {@code Class} instance
+     * @param providedComponentPath Path to the component folder as specified in the component annotation
+     * @param fingerprint           Nullable string value representing the fingerprint of the component
+     * @return {@link ComponentEntries} object
+     */
+    private ComponentEntries render(Class<?> componentClass, String providedComponentPath, String fingerprint) {
+        int handledCount = getHandledExceptionsCount();
+        Map<PackageEntryWriter, Class<?>> viewsByWriter = getComponentViews(componentClass);
+
+        // Raise an exception in case there's no data to write to .content.xml file/node
+        if (viewsByWriter.keySet().stream().noneMatch(writer -> Scopes.COMPONENT.equals(writer.getScope()))) {
+            InvalidSettingException e = new InvalidSettingException(
+                COMPONENT_DATA_MISSING_EXCEPTION_MESSAGE + componentClass.getName());
+            PluginRuntime.context().getExceptionHandler().handle(e);
+        }
+
+        // If there are not any dialog-specifying nodes present, the component will not be listed for adding
+        // via "Insert new component" popup or component rail; also the in-place editing popup won't be displayed.
+        // To mitigate this, we need to create a minimal cq:editConfig node
+        if (viewsByWriter.keySet().stream().noneMatch(writer ->
+            StringUtils.equalsAny(writer.getScope(), Scopes.CQ_DIALOG, Scopes.CQ_EDIT_CONFIG, Scopes.CQ_DESIGN_DIALOG, Scopes.CQ_CHILD_EDIT_CONFIG))) {
+            viewsByWriter.put(emptyEditConfigWriter, componentClass);
+        }
+
+        Map<PackageEntryWriter, String> contentByWriter = new LinkedHashMap<>();
+        viewsByWriter.forEach((writer, view) -> contentByWriter.put(writer, writer.render(view)));
+
+        // A component that was rendered with errors does not receive a fingerprint, so that it is rendered anew
+        // within the next build
+        String effectiveFingerprint = getHandledExceptionsCount() == handledCount ? fingerprint : null;
+        return new ComponentEntries(componentClass, providedComponentPath, effectiveFingerprint, contentByWriter);
+    }
+
+    /**
+     * Stores the previously rendered AEM component's authoring markup into the package. Since the package file system
+     * is modified, calls to this method must be performed in sequence
+     * @param entries {@link ComponentEntries} object produced by {@link PackageWriter#render(Class)}
+     * @return True if at least one file/node was stored into the component's folder; otherwise, false
+     */
+    public boolean write(ComponentEntries entries) {
+        if (entries == null) {
+            return false;
+        }
+        String providedComponentPath = entries.getComponentPath();
+        ComponentEntries effectiveEntries = entries;
         Path fullComponentPath;
         if (providedComponentPath.startsWith(PACKAGE_ROOT_DIRECTORY)) {
             fullComponentPath = fileSystem.getPath(providedComponentPath);
@@ -165,7 +258,19 @@ public class PackageWriter implements AutoCloseable {
             fullComponentPath = fileSystem.getPath(componentsPathBase, providedComponentPath);
         }
 
-        if (!Files.exists(fullComponentPath) && isAllowedToCreateFolder(componentClass)) {
+        if (effectiveEntries.getContent() == null) {
+            if (Files.isDirectory(fullComponentPath)) {
+                fingerprints.register(effectiveEntries.getComponentClass(), effectiveEntries.getFingerprint());
+                return true;
+            }
+            // The component has not changed, but its folder is missing, so the markup must be rendered anyway
+            effectiveEntries = render(
+                effectiveEntries.getComponentClass(),
+                providedComponentPath,
+                effectiveEntries.getFingerprint());
+        }
+
+        if (!Files.exists(fullComponentPath) && isAllowedToCreateFolder(effectiveEntries.getComponentClass())) {
             try {
                 Files.createDirectories(fullComponentPath);
             } catch (IOException ex) {
@@ -178,28 +283,15 @@ public class PackageWriter implements AutoCloseable {
             return false;
         }
 
-        Map<PackageEntryWriter, Class<?>> viewsByWriter = getComponentViews(componentClass);
-
-        // Raise an exception in case there's no data to write to .content.xml file/node
-        if (viewsByWriter.keySet().stream().noneMatch(writer -> Scopes.COMPONENT.equals(writer.getScope()))) {
-            InvalidSettingException e = new InvalidSettingException(
-                COMPONENT_DATA_MISSING_EXCEPTION_MESSAGE + componentClass.getName());
-            PluginRuntime.context().getExceptionHandler().handle(e);
-        }
-
-        // If there are not any dialog-specifying nodes present, the component will not be listed for adding
-        // via "Insert new component" popup or component rail; also the in-place editing popup won't be displayed.
-        // To mitigate this, we need to create a minimal cq:editConfig node
-        if (viewsByWriter.keySet().stream().noneMatch(writer ->
-            StringUtils.equalsAny(writer.getScope(), Scopes.CQ_DIALOG, Scopes.CQ_EDIT_CONFIG, Scopes.CQ_DESIGN_DIALOG, Scopes.CQ_CHILD_EDIT_CONFIG))) {
-            viewsByWriter.put(emptyEditConfigWriter, componentClass);
-        }
-
-        viewsByWriter.forEach((writer, view) -> {
+        int handledCount = getHandledExceptionsCount();
+        effectiveEntries.getContent().forEach((writer, content) -> {
             writer.cleanUp(fullComponentPath);
-            writer.writeXml(view, fullComponentPath);
+            writer.writeXml(content, fullComponentPath);
         });
 
+        if (fingerprints != null && effectiveEntries.getFingerprint() != null && getHandledExceptionsCount() == handledCount) {
+            fingerprints.register(effectiveEntries.getComponentClass(), effectiveEntries.getFingerprint());
+        }
         return true;
     }
 
@@ -221,7 +313,7 @@ public class PackageWriter implements AutoCloseable {
             .distinct()
             .collect(Collectors.toList());
 
-        Map<PackageEntryWriter, Class<?>> result = new HashMap<>();
+        Map<PackageEntryWriter, Class<?>> result = new LinkedHashMap<>();
         for (Class<?> view: allViews) {
             List<PackageEntryWriter> matchedWriters = writers
                 .stream()
@@ -257,6 +349,14 @@ public class PackageWriter implements AutoCloseable {
        Utility methods
        --------------- */
 
+    /**
+     * Retrieves the number of exceptions handled without terminating the workflow in the current thread
+     * @return Integer value
+     */
+    private static int getHandledExceptionsCount() {
+        return ExceptionHandlers.getHandledCount(PluginRuntime.context().getExceptionHandler());
+    }
+
     /**
      * Retrieves the path specified for the current component in either {@link AemComponent} or {@link Dialog} annotation
      * @param componentClass The {@code Class<?>} to get the path for
@@ -325,21 +425,100 @@ public class PackageWriter implements AutoCloseable {
      * @return {@code PackageWriter} instance
      */
     static PackageWriter forFileSystem(FileSystem fileSystem, String projectName, String componentsPathBase) {
-        List<PackageEntryWriter> writers;
+        // Transformers are not thread-safe, so each thread that renders markup is given its own instance
+        Supplier<Transformer> transformer = () -> getTransformer(projectName);
+        transformer.get(); // Makes sure the XML subsystem is operational before any component is processed
+        List<PackageEntryWriter> writers = Arrays.asList(
+                new ContentXmlWriter(transformer),
+                new CqDialogWriter(transformer, Scopes.CQ_DIALOG),
+                new CqDialogWriter(transformer, Scopes.CQ_DESIGN_DIALOG),
+                new CqEditConfigWriter(transformer),
+                new CqChildEditConfigWriter(transformer),
+                new CqHtmlTagWriter(transformer)
+        );
+        return new PackageWriter(fileSystem, componentsPathBase, writers, transformer);
+    }
+
+    /**
+     * Retrieves the {@link Transformer} instance bound to the current thread that is used by package entry writers
+     * @param projectName Name of the project the package is built for
+     * @return {@code Transformer} object
+     */
+    private static Transformer getTransformer(String projectName) {
         try {
-            Transformer transformer = XmlFactory.newDocumentTransformer();
-            writers = Arrays.asList(
-                    new ContentXmlWriter(transformer),
-                    new CqDialogWriter(transformer, Scopes.CQ_DIALOG),
-                    new CqDialogWriter(transformer, Scopes.CQ_DESIGN_DIALOG),
-                    new CqEditConfigWriter(transformer),
-                    new CqChildEditConfigWriter(transformer),
-                    new CqHtmlTagWriter(transformer)
-            );
+            return XmlFactory.getDocumentTransformer();
         } catch (TransformerConfigurationException e) {
             // Exceptions caught here are due to possible XXE security vulnerabilities, so no further handling
             throw new PluginException(CANNOT_WRITE_TO_PACKAGE_EXCEPTION_MESSAGE + projectName, e);
         }
-        return new PackageWriter(fileSystem, componentsPathBase, writers);
+    }
+
+    /* --------------
+       Nested classes
+       -------------- */
+
+    /**
+     * Contains the authoring markup rendered for an AEM component and not yet stored into the package
+     * @see PackageWriter#render(Class)
+     * @see PackageWriter#write(ComponentEntries)
+     */
+    public static class ComponentEntries {
+        private final Class<?> componentClass;
+        private final String componentPath;
+        private final String fingerprint;
+        private final Map<PackageEntryWriter, String> content;
+
+        /**
+         * Creates a new instance of this class
+         * @param componentClass The component-backing {@code Class<?>}
+         * @param componentPath  Path to the component folder as specified in the component annotation
+         * @param fingerprint    Nullable string value representing the fingerprint of the component
+         * @param content        Ordered {@code Map} of package entry writers and the markup they rendered; null if
+         *                       the component has not changed since the previous build
+         */
+        private ComponentEntries(
+            Class<?> componentClass,
+            String componentPath,
+            String fingerprint,
+            Map<PackageEntryWriter, String> content) {
+
+            this.componentClass = componentClass;
+            this.componentPath = componentPath;
+            this.fingerprint = fingerprint;
+            this.content = content;
+        }
+
+        /**
+         * Retrieves the component-backing class
+         * @return {@code Class<?>} reference
+         */
+        public Class<?> getComponentClass() {
+            return componentClass;
+        }
+
+        /**
+         * Retrieves the path to the component folder
+         * @return String value
+         */
+        String getComponentPath() {
+            return componentPath;
+        }
+
+        /**
+         * Retrieves the fingerprint of the component
+         * @return String value, or null if the incremental mode is not enabled
+         */
+        String getFingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * Retrieves the rendered markup
+         * @return Ordered {@code Map} of package entry writers and the markup they rendered, or null if the component
+         * has not changed since the previous build
+         */
+        Map<PackageEntryWriter, String> getContent() {
+            return content;
+        }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.adapters;
+
+import java.io.StringWriter;
+import java.util.Random;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
+import com.exadel.aem.toolkit.api.handlers.Target;
+import com.exadel.aem.toolkit.plugin.targets.Targets;
+import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+import com.exadel.aem.toolkit.plugin.utils.XmlFactory;
+
+public class XmlStreamAdapterTest {
+
+    private static final String[] NAME_PREFIXES = {"", "jcr:", "cq:", "sling:", "granite:", "nt:"};
+    private static final String[] VALUE_SAMPLES = {
+        "",
+        "plain text",
+        "a & b < c > d",
+        "\"double\" and 'single' quotes",
+        "tab\there, new\nline, carriage\rreturn",
+        "\u0001\u001F control characters",
+        "Кириллица and ümlauts",
+        "emoji 😀 outside the BMP",
+        "{Boolean}true",
+        "[first,second]",
+        "]]> sequence"
+    };
+    private static final int RANDOM_TREES = 200;
+
+    @Test
+    public void testNamespacesAndPrefixedNames() throws Exception {
+        Target root = Targets.newInstance(DialogConstants.NN_ROOT, Scopes.CQ_DIALOG)
+            .attribute("jcr:primaryType", "nt:unstructured")
+            .attribute("sling:resourceType", "cq/gui/components/authoring/dialog")
+            .attribute("jcr:title", "Dialog");
+        root.getOrCreateTarget("content").attribute("granite:class", "content");
+        root.getOrCreateTarget("cq:dialog").attribute("cq:showOnCreate", true);
+        assertSameOutput(root);
+    }
+
+    @Test
+    public void testEscaping() throws Exception {
+        Target root = Targets.newInstance(DialogConstants.NN_ROOT, Scopes.COMPONENT);
+        for (int i = 0; i < VALUE_SAMPLES.length; i++) {
+            root.attribute("value" + i, VALUE_SAMPLES[i]);
+        }
+        root.getOrCreateTarget("child").attribute("text", VALUE_SAMPLES[2] + VALUE_SAMPLES[3] + VALUE_SAMPLES[5]);
+        assertSameOutput(root);
+    }
+
+    @Test
+    public void testEmptyElements() throws Exception {
+        Target root = Targets.newInstance(DialogConstants.NN_ROOT, Scopes.CQ_EDIT_CONFIG);
+        assertSameOutput(root);
+
+        root.getOrCreateTarget("empty");
+        root.getOrCreateTarget("withAttribute").attribute("jcr:primaryType", "nt:unstructured");
+        root.getOrCreateTarget("nested/deeper/deepest");
+        assertSameOutput(root);
+    }
+
+    @Test
+    public void testAttributeOrder() throws Exception {
+        Target root = Targets.newInstance(DialogConstants.NN_ROOT, Scopes.CQ_DIALOG)
+            .attribute("zeta", "1")
+            .attribute("alpha", "2")
+            .attribute("jcr:title", "3")
+            .attribute("Beta", "4")
+            .attribute("cq:icon", "5")
+            .attribute("_underscore", "6")
+            .attribute("jcr:primaryType", "cq:Component");
+        root.getOrCreateTarget("item")
+            .attribute("name", "./text")
+            .attribute("fieldLabel", "Text")
+            .attribute("disabled", new boolean[] {true, false})
+            .attribute("max", 10L)
+            .attribute("ratio", 0.5d);
+        assertSameOutput(root);
+    }
+
+    @Test
+    public void testRandomTrees() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < RANDOM_TREES; i++) {
+            Target root = Targets.newInstance(DialogConstants.NN_ROOT, Scopes.CQ_DIALOG);
+            populate(root, random, 0);
+            assertSameOutput(root);
+        }
+    }
+
+    private static void populate(Target target, Random random, int depth) {
+        int attributeCount = random.nextInt(5);
+        for (int i = 0; i < attributeCount; i++) {
+            target.attribute(getName(random), VALUE_SAMPLES[random.nextInt(VALUE_SAMPLES.length)]);
+        }
+        if (depth >= 3) {
+            return;
+        }
+        int childCount = random.nextInt(4);
+        for (int i = 0; i < childCount; i++) {
+            populate(target.getOrCreateTarget(getName(random)), random, depth + 1);
+        }
+    }
+
+    private static String getName(Random random) {
+        return NAME_PREFIXES[random.nextInt(NAME_PREFIXES.length)] + (char) ('a' + random.nextInt(26)) + random.nextInt(10);
+    }
+
+    private static void assertSameOutput(Target target) throws ParserConfigurationException, TransformerException {
+        StringWriter expected = new StringWriter();
+        XmlFactory
+            .newDocumentTransformer()
+            .transform(new DOMSource(new DomAdapter(target).composeDocument(XmlFactory.newDocument())), new StreamResult(expected));
+        Assert.assertEquals(expected.toString(), new XmlStreamAdapter(target).composeString());
+    }
+}
@@ -17,6 +17,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import com.exadel.aem.toolkit.plugin.adapters.XmlStreamAdapterTest;
+import com.exadel.aem.toolkit.plugin.runtime.ClassFileReaderTest;
+import com.exadel.aem.toolkit.plugin.runtime.ClassIndexTest;
+import com.exadel.aem.toolkit.plugin.runtime.HandlerDispatcherTest;
+import com.exadel.aem.toolkit.plugin.targets.AnnotationMapperTest;
+import com.exadel.aem.toolkit.plugin.utils.ClassUtilTest;
 import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingTest;
 
 /**
@@ -31,7 +37,15 @@ import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingTest;
     ValidationsTest.class,
     IgnoreTest.class,
     ExceptionsTest.class,
-    DependsOnTest.class
+    DependsOnTest.class,
+    ParallelRenderingTest.class,
+    IncrementalModeTest.class,
+    ClassIndexTest.class,
+    ClassFileReaderTest.class,
+    HandlerDispatcherTest.class,
+    XmlStreamAdapterTest.class,
+    AnnotationMapperTest.class,
+    ClassUtilTest.class
 })
 public class AllTests {
 }
@@ -0,0 +1,151 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.maven;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import com.google.common.collect.ImmutableMap;
+
+import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+import com.exadel.aem.toolkit.plugin.utils.TestConstants;
+import com.exadel.aem.toolkit.plugin.writers.PackageWriter;
+import com.exadel.aem.toolkit.plugin.writers.TestXmlUtility;
+import com.exadel.aem.toolkit.test.component.ComplexComponent1;
+import com.exadel.aem.toolkit.test.component.ExceptionsTestCases;
+import com.exadel.aem.toolkit.test.component.WriteModeTestCases;
+
+public class IncrementalModeTest {
+    private static final String PACKAGE_FILE_NAME = "test-package.zip";
+    private static final String CONTENT_FILE_NAME = ".content.xml";
+    private static final String MANIFEST_FILE_PATH = "META-INF/etoolbox-authoring-kit/fingerprints.info";
+    private static final String STALE_CONTENT = "<stale/>";
+
+    private static final Map<String, String> SETTINGS = ImmutableMap.of("terminateOn", "java.io.IOException");
+    private static final Map<String, String> ALTERED_SETTINGS = ImmutableMap.of("terminateOn", "java.lang.Exception");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private URI packageUri;
+
+    @Before
+    public void setUp() throws IOException {
+        PluginRuntime.contextBuilder()
+            .classPathElements(DefaultTestBase.CLASSPATH_ELEMENTS)
+            .packageBase(StringUtils.EMPTY)
+            .terminateOn(DialogConstants.VALUE_NONE)
+            .build();
+        packageUri = URI.create("jar:" + temporaryFolder.getRoot().toPath().resolve(PACKAGE_FILE_NAME).toUri());
+        try (FileSystem fileSystem = openPackage()) {
+            Files.createDirectories(fileSystem.getPath(TestConstants.DEFAULT_COMPONENT_NAME));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        PluginRuntime.close();
+    }
+
+    @Test
+    public void testShouldSkipUnchangedComponent() throws IOException {
+        write(SETTINGS, ComplexComponent1.class);
+        Assert.assertTrue(readManifest().contains(ComplexComponent1.class.getName()));
+
+        markStale(TestConstants.DEFAULT_COMPONENT_NAME);
+        write(SETTINGS, ComplexComponent1.class);
+        Assert.assertEquals(STALE_CONTENT, readContent(TestConstants.DEFAULT_COMPONENT_NAME));
+    }
+
+    @Test
+    public void testShouldRenderAnewWhenSettingsChange() throws IOException {
+        write(SETTINGS, ComplexComponent1.class);
+
+        markStale(TestConstants.DEFAULT_COMPONENT_NAME);
+        write(ALTERED_SETTINGS, ComplexComponent1.class);
+        Assert.assertNotEquals(STALE_CONTENT, readContent(TestConstants.DEFAULT_COMPONENT_NAME));
+    }
+
+    @Test
+    public void testShouldRenderAnewWhenFolderIsMissing() throws IOException {
+        write(SETTINGS, WriteModeTestCases.FolderCreatingComponent.class);
+        Assert.assertNotNull(readContent(TestConstants.NONEXISTENT_COMPONENT_NAME));
+
+        try (FileSystem fileSystem = openPackage(); Stream<Path> paths = Files.walk(fileSystem.getPath(TestConstants.NONEXISTENT_COMPONENT_NAME).toAbsolutePath())) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+        Assert.assertNull(readContent(TestConstants.NONEXISTENT_COMPONENT_NAME));
+
+        write(SETTINGS, WriteModeTestCases.FolderCreatingComponent.class);
+        Assert.assertNotNull(readContent(TestConstants.NONEXISTENT_COMPONENT_NAME));
+    }
+
+    @Test
+    public void testShouldNotFingerprintComponentRenderedWithErrors() throws IOException {
+        write(SETTINGS, ExceptionsTestCases.ComponentWithNonexistentTab.class);
+        Assert.assertFalse(readManifest().contains(ExceptionsTestCases.ComponentWithNonexistentTab.class.getName()));
+
+        markStale(TestConstants.DEFAULT_COMPONENT_NAME);
+        write(SETTINGS, ExceptionsTestCases.ComponentWithNonexistentTab.class);
+        Assert.assertNotEquals(STALE_CONTENT, readContent(TestConstants.DEFAULT_COMPONENT_NAME));
+    }
+
+    private void write(Map<String, String> settings, Class<?> componentClass) throws IOException {
+        try (PackageWriter packageWriter = TestXmlUtility.getPackageWriter(openPackage())) {
+            packageWriter.enableIncrementalMode(PluginInfo.getInstance(), settings);
+            packageWriter.write(componentClass);
+        }
+    }
+
+    private void markStale(String componentPath) throws IOException {
+        try (FileSystem fileSystem = openPackage()) {
+            Files.write(fileSystem.getPath(componentPath, CONTENT_FILE_NAME), STALE_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String readContent(String componentPath) throws IOException {
+        try (FileSystem fileSystem = openPackage()) {
+            Path contentPath = fileSystem.getPath(componentPath, CONTENT_FILE_NAME);
+            return Files.exists(contentPath) ? new String(Files.readAllBytes(contentPath), StandardCharsets.UTF_8) : null;
+        }
+    }
+
+    private String readManifest() throws IOException {
+        try (FileSystem fileSystem = openPackage()) {
+            return new String(Files.readAllBytes(fileSystem.getPath(MANIFEST_FILE_PATH)), StandardCharsets.UTF_8);
+        }
+    }
+
+    private FileSystem openPackage() throws IOException {
+        return FileSystems.newFileSystem(packageUri, ImmutableMap.of("create", "true"));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.maven;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.core.IsInstanceOf;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.exadel.aem.toolkit.plugin.exceptions.InvalidContainerException;
+import com.exadel.aem.toolkit.plugin.utils.DialogConstants;
+import com.exadel.aem.toolkit.plugin.utils.FileSystemHelper;
+import com.exadel.aem.toolkit.plugin.writers.PackageWriter;
+import com.exadel.aem.toolkit.plugin.writers.TestXmlUtility;
+import com.exadel.aem.toolkit.test.common.AttributesAnnotation;
+import com.exadel.aem.toolkit.test.common.ChildEditConfigAnnotation;
+import com.exadel.aem.toolkit.test.common.EditConfigAnnotation;
+import com.exadel.aem.toolkit.test.common.PropertiesAnnotation;
+import com.exadel.aem.toolkit.test.component.ComplexComponent1;
+import com.exadel.aem.toolkit.test.component.ComplexComponent2;
+import com.exadel.aem.toolkit.test.component.ComponentWithPanelsAsNestedClasses;
+import com.exadel.aem.toolkit.test.component.ComponentWithoutDialog;
+import com.exadel.aem.toolkit.test.component.ExceptionsTestCases;
+
+public class ParallelRenderingTest {
+    private static final int THREADS = 4;
+    private static final int ATTEMPTS = 5;
+
+    private static final List<Class<?>> COMPONENT_CLASSES = Arrays.asList(
+        ComplexComponent1.class,
+        EditConfigAnnotation.class,
+        ComplexComponent2.class,
+        ChildEditConfigAnnotation.class,
+        ComponentWithPanelsAsNestedClasses.class,
+        AttributesAnnotation.class,
+        ComponentWithoutDialog.class,
+        PropertiesAnnotation.class
+    );
+
+    @Rule
+    public ExpectedException exceptionRule = ExpectedException.none();
+
+    @After
+    public void tearDown() {
+        PluginRuntime.close();
+    }
+
+    @Test
+    public void testParallelOutputMatchesSequential() throws IOException {
+        buildRuntime(DialogConstants.VALUE_NONE);
+        Map<String, String> expected = render(PluginMojo::writeInSequence);
+        Assert.assertFalse(expected.isEmpty());
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Map<String, String> actual = render((writer, classes) -> PluginMojo.writeInParallel(writer, classes, THREADS));
+            Assert.assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testParallelModeHonorsTerminateOn() throws IOException {
+        buildRuntime(DialogConstants.VALUE_ALL);
+        exceptionRule.expectCause(IsInstanceOf.instanceOf(InvalidContainerException.class));
+        exceptionRule.expectMessage("Container section \"Zeroth tab\" is not defined");
+        render((writer, classes) -> PluginMojo.writeInParallel(
+            writer,
+            Arrays.asList(ComplexComponent2.class, ExceptionsTestCases.ComponentWithNonexistentTab.class, ComponentWithoutDialog.class),
+            THREADS));
+    }
+
+    private static void buildRuntime(String terminateOn) {
+        PluginRuntime.contextBuilder()
+            .classPathElements(DefaultTestBase.CLASSPATH_ELEMENTS)
+            .packageBase(StringUtils.EMPTY)
+            .terminateOn(terminateOn)
+            .build();
+    }
+
+    private static Map<String, String> render(WritingRoutine routine) throws IOException {
+        try (FileSystemHelper fileSystemHelper = new FileSystemHelper()) {
+            FileSystem fileSystem = fileSystemHelper.getFileSystem();
+            PackageWriter packageWriter = TestXmlUtility.getPackageWriter(fileSystem);
+            int processedCount = routine.write(packageWriter, COMPONENT_CLASSES);
+            Assert.assertTrue(processedCount > 0);
+            return getContent(fileSystem.getRootDirectories().iterator().next());
+        }
+    }
+
+    private static Map<String, String> getContent(Path root) throws IOException {
+        Map<String, String> result = new TreeMap<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                result.put(root.relativize(path).toString(), new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface WritingRoutine {
+        int write(PackageWriter packageWriter, List<Class<?>> componentClasses);
+    }
+}
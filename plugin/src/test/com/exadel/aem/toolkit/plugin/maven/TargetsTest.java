@@ -116,6 +116,28 @@ public class TargetsTest {
         Assert.assertEquals("item0", testable.getChildren().get(TIER_1_CHILD_COUNT - 4).getName());
     }
 
+    @Test
+    public void testNodeLookupAfterModification() {
+        Target item0 = testable.getTarget("item0");
+        testable.getChildren().remove(item0);
+        Assert.assertNull(testable.getTarget("item0"));
+
+        testable.addTarget(item0, 0);
+        Assert.assertSame(item0, testable.getTarget("item0"));
+        Assert.assertSame(item0, testable.getChildren().get(0));
+
+        Target duplicate = Targets.newInstance(NN_ITEM + 1, Scopes.COMPONENT);
+        testable.addTarget(duplicate, 0);
+        Assert.assertSame(duplicate, testable.getTarget("item1")); // The first child with the given name is returned
+
+        testable.getChildren().removeIf(child -> child == duplicate);
+        Assert.assertEquals("{Long}1", testable.getTarget("item1").getAttribute(PN_ORDINAL));
+
+        testable.getChildren().sort((first, second) -> second.getName().compareTo(first.getName()));
+        Assert.assertEquals("item9", testable.getChildren().get(0).getName());
+        Assert.assertSame(item0, testable.getTarget("item0"));
+    }
+
     @Test
     public void testNodeTraversing() {
         Assert.assertEquals(TIER_1_CHILD_COUNT / 2, testable.findChildren(t -> t.getName().startsWith(NN_SUBITEM)).size());
@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.main.AemComponent;
+import com.exadel.aem.toolkit.api.annotations.main.Dialog;
+import com.exadel.aem.toolkit.api.handlers.DialogWidgetHandler;
+import com.exadel.aem.toolkit.api.handlers.Handler;
+import com.exadel.aem.toolkit.plugin.utils.TestConstants;
+import com.exadel.aem.toolkit.test.component.ComplexComponent2;
+import com.exadel.aem.toolkit.test.widget.TextWidget;
+
+public class ClassFileReaderTest {
+
+    private static final List<String> TRACKED_ANNOTATIONS = Arrays.asList(Dialog.class.getName(), AemComponent.class.getName());
+
+    private static final List<String> CLASSPATH_ELEMENTS = Arrays.asList(
+        TestConstants.PLUGIN_MODULE_TARGET,
+        TestConstants.API_MODULE_TARGET,
+        TestConstants.PLUGIN_MODULE_TEST_TARGET
+    );
+
+    @Test
+    public void testShouldReadRequestedAnnotations() throws IOException {
+        ClassFileReader.ClassFileInfo info = read(ComplexComponent2.class.getName(), TRACKED_ANNOTATIONS);
+        Assert.assertEquals(ComplexComponent2.class.getName(), info.getName());
+        Assert.assertTrue(info.isInstantiable());
+        Assert.assertTrue(info.getAnnotations().contains(AemComponent.class.getName()));
+        Assert.assertTrue(TRACKED_ANNOTATIONS.containsAll(info.getAnnotations()));
+    }
+
+    @Test
+    public void testShouldSkipAnnotationsNotRequested() throws IOException {
+        ClassFileReader.ClassFileInfo info = read(ComplexComponent2.class.getName(), Collections.singletonList(Deprecated.class.getName()));
+        Assert.assertTrue(info.getAnnotations().isEmpty());
+        Assert.assertEquals(Collections.singletonList(Object.class.getName()), info.getSupertypes());
+    }
+
+    @Test
+    public void testShouldReadSupertypesOfNonAnnotatedClass() throws IOException {
+        ClassFileReader.ClassFileInfo info = read("com.exadel.aem.toolkit.test.component.SampleFieldsetBase2", TRACKED_ANNOTATIONS);
+        Assert.assertTrue(info.getAnnotations().isEmpty());
+        Assert.assertEquals(
+            Collections.singletonList("com.exadel.aem.toolkit.test.component.SampleFieldsetAncestor"),
+            info.getSupertypes());
+    }
+
+    @Test
+    public void testShouldDetectNonInstantiableTypes() throws IOException {
+        ClassFileReader.ClassFileInfo abstractClass = read("com.exadel.aem.toolkit.test.component.ComplexComponent1Parent", TRACKED_ANNOTATIONS);
+        Assert.assertFalse(abstractClass.isInstantiable());
+        Assert.assertTrue(abstractClass.getAnnotations().contains(AemComponent.class.getName()));
+
+        ClassFileReader.ClassFileInfo interfaceType = read(DialogWidgetHandler.class.getName(), TRACKED_ANNOTATIONS);
+        Assert.assertFalse(interfaceType.isInstantiable());
+        Assert.assertTrue(interfaceType.getSupertypes().contains(Handler.class.getName()));
+    }
+
+    @Test
+    public void testShouldFilterComponentsByPackageBeforeLoading() {
+        String packageBase = TextWidget.class.getPackage().getName();
+        List<Class<?>> components = ReflectionContextHelper.fromCodeScope(CLASSPATH_ELEMENTS, packageBase + ".*").getComponentClasses();
+        Assert.assertFalse(components.isEmpty());
+        Assert.assertTrue(components.contains(TextWidget.class));
+        Assert.assertTrue(components.stream().allMatch(cls -> cls.getName().startsWith(packageBase)));
+        Assert.assertFalse(components.contains(ComplexComponent2.class));
+    }
+
+    private static ClassFileReader.ClassFileInfo read(String className, List<String> annotations) throws IOException {
+        try (InputStream input = ClassFileReaderTest.class.getClassLoader().getResourceAsStream(className.replace('.', '/') + ".class")) {
+            Assert.assertNotNull(input);
+            return ClassFileReader.read(input, annotations);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+import org.reflections.util.ConfigurationBuilder;
+
+import com.exadel.aem.toolkit.api.annotations.main.AemComponent;
+import com.exadel.aem.toolkit.api.annotations.main.Dialog;
+import com.exadel.aem.toolkit.api.annotations.meta.Validator;
+import com.exadel.aem.toolkit.api.handlers.DialogWidgetHandler;
+import com.exadel.aem.toolkit.api.handlers.Handler;
+import com.exadel.aem.toolkit.plugin.utils.TestConstants;
+import com.exadel.aem.toolkit.test.component.ComplexComponent2;
+import com.exadel.aem.toolkit.test.component.ComponentWithoutDialog;
+import com.exadel.aem.toolkit.test.component.ExceptionsTestCases;
+import com.exadel.aem.toolkit.test.custom.handler.CustomWidgetHandlers;
+
+public class ClassIndexTest {
+
+    private static final List<String> CLASSPATH_ELEMENTS = Arrays.asList(
+        TestConstants.PLUGIN_MODULE_TARGET,
+        TestConstants.API_MODULE_TARGET,
+        TestConstants.PLUGIN_MODULE_TEST_TARGET
+    );
+
+    private static Reflections reflections;
+    private static ClassIndex classIndex;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setUp() {
+        URL[] urls = CLASSPATH_ELEMENTS.stream().map(ClassIndexTest::toUrl).toArray(URL[]::new);
+        reflections = new Reflections(new ConfigurationBuilder()
+            .addClassLoader(new URLClassLoader(urls, ClassIndexTest.class.getClassLoader()))
+            .setUrls(urls)
+            .setScanners(new TypeAnnotationsScanner(), new SubTypesScanner()));
+        classIndex = ClassIndex.forClasspath(CLASSPATH_ELEMENTS, null);
+    }
+
+    @Test
+    public void testAnnotatedTypesMatchReflections() {
+        for (Class<? extends java.lang.annotation.Annotation> annotation : Arrays.asList(Dialog.class, AemComponent.class)) {
+            Set<String> expected = getNames(reflections.getTypesAnnotatedWith(annotation, true));
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(expected, classIndex.getAnnotatedWith(annotation, null));
+        }
+        // Nested classes
+        Assert.assertTrue(classIndex
+            .getAnnotatedWith(Dialog.class, null)
+            .contains(ExceptionsTestCases.ComponentWithNonexistentTab.class.getName()));
+        // Package filter
+        String packageBase = ComplexComponent2.class.getPackage().getName();
+        Assert.assertTrue(classIndex
+            .getAnnotatedWith(AemComponent.class, packageBase)
+            .stream()
+            .allMatch(name -> name.startsWith(packageBase)));
+    }
+
+    @Test
+    public void testSubtypesMatchReflections() {
+        for (Class<?> type : Arrays.asList(Handler.class, DialogWidgetHandler.class, Validator.class)) {
+            Set<String> expected = getNames(reflections.getSubTypesOf(type));
+            Assert.assertFalse(expected.isEmpty());
+            Assert.assertEquals(expected, classIndex.getSubtypesOf(type));
+        }
+        // Interfaces extending an interface
+        Assert.assertTrue(classIndex.getSubtypesOf(Handler.class).contains(DialogWidgetHandler.class.getName()));
+        // Nested classes implementing an interface
+        Assert.assertTrue(classIndex.getSubtypesOf(Handler.class).contains(CustomWidgetHandlers.CustomWidgetHandler2.class.getName()));
+    }
+
+    @Test
+    public void testImplementationsMatchReflections() {
+        Set<String> expected = getNames(reflections.getSubTypesOf(Handler.class)
+            .stream()
+            .filter(cls -> !cls.isInterface() && !Modifier.isAbstract(cls.getModifiers()))
+            .collect(Collectors.toSet()));
+        Set<String> actual = classIndex.getImplementationsOf(Handler.class);
+        Assert.assertEquals(expected, actual);
+        Assert.assertFalse(actual.contains(DialogWidgetHandler.class.getName()));
+    }
+
+    @Test
+    public void testShouldReuseUnchangedIndex() throws IOException {
+        Path element = createElement(ComplexComponent2.class);
+        Path indexDirectory = temporaryFolder.newFolder().toPath();
+
+        ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Path indexFile = getIndexFile(indexDirectory);
+        // Strip the data while leaving the header intact so that it is clear whether the index file is reused
+        Files.write(indexFile, Collections.singletonList(Files.readAllLines(indexFile, StandardCharsets.UTF_8).get(0)));
+
+        ClassIndex reused = ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Assert.assertTrue(reused.getAnnotatedWith(AemComponent.class, null).isEmpty());
+    }
+
+    @Test
+    public void testShouldRescanStaleIndex() throws IOException {
+        Path element = createElement(ComplexComponent2.class);
+        Path indexDirectory = temporaryFolder.newFolder().toPath();
+
+        ClassIndex initial = ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Assert.assertEquals(
+            Collections.singleton(ComplexComponent2.class.getName()),
+            initial.getAnnotatedWith(AemComponent.class, null));
+
+        copyClassFile(ComponentWithoutDialog.class, element);
+        ClassIndex updated = ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Assert.assertEquals(
+            new TreeSet<>(Arrays.asList(ComplexComponent2.class.getName(), ComponentWithoutDialog.class.getName())),
+            updated.getAnnotatedWith(AemComponent.class, null));
+    }
+
+    @Test
+    public void testShouldRescanUnreadableIndex() throws IOException {
+        Path element = createElement(ComplexComponent2.class);
+        Path indexDirectory = temporaryFolder.newFolder().toPath();
+
+        ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Files.write(getIndexFile(indexDirectory), Collections.singletonList("garbage"));
+
+        ClassIndex rescanned = ClassIndex.forClasspath(Collections.singletonList(element.toString()), indexDirectory.toString());
+        Assert.assertEquals(
+            Collections.singleton(ComplexComponent2.class.getName()),
+            rescanned.getAnnotatedWith(AemComponent.class, null));
+    }
+
+    private Path createElement(Class<?> content) throws IOException {
+        Path result = temporaryFolder.newFolder().toPath();
+        copyClassFile(content, result);
+        return result;
+    }
+
+    private static void copyClassFile(Class<?> value, Path target) throws IOException {
+        String relativePath = value.getName().replace('.', File.separatorChar) + ".class";
+        Path destination = target.resolve(relativePath);
+        Files.createDirectories(destination.getParent());
+        Files.copy(Paths.get(TestConstants.PLUGIN_MODULE_TEST_TARGET, relativePath), destination);
+    }
+
+    private static Path getIndexFile(Path indexDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(indexDirectory)) {
+            List<Path> indexFiles = files.collect(Collectors.toList());
+            Assert.assertEquals(1, indexFiles.size());
+            return indexFiles.get(0);
+        }
+    }
+
+    private static Set<String> getNames(Set<? extends Class<?>> classes) {
+        return classes.stream().map(Class::getName).collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static URL toUrl(String path) {
+        try {
+            return new File(path).toURI().toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
+import com.exadel.aem.toolkit.api.handlers.Handler;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandlerDispatcherBenchmark {
+
+    @Param({"100", "500"})
+    private int fieldCount;
+
+    private List<Handler> handlers;
+    private List<Class<?>[]> fields;
+
+    @Setup
+    public void setUp() {
+        ReflectionContextHelper reflection = ReflectionContextHelper.fromCodeScope(HandlerDispatcherTest.CLASSPATH_ELEMENTS, null);
+        handlers = reflection.getHandlers();
+        List<Class<?>[]> annotationSets = new ArrayList<>();
+        HandlerDispatcherTest.getAnnotationSets(reflection)
+            .forEach(annotationTypes -> annotationSets.add(annotationTypes.toArray(new Class<?>[0])));
+        // The members of a large dialog are modeled by cycling through the annotation sets found in the test components
+        fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            fields.add(annotationSets.get(i % annotationSets.size()));
+        }
+    }
+
+    @Benchmark
+    public void legacyLookup(Blackhole blackhole) {
+        for (Class<?>[] annotationTypes : fields) {
+            blackhole.consume(HandlerDispatcherTest.getHandlersLegacy(handlers, Scopes.CQ_DIALOG, annotationTypes));
+        }
+    }
+
+    @Benchmark
+    public void dispatcherLookup(Blackhole blackhole) {
+        // The dispatcher is created once per plugin run, therefore its creation is measured along with the lookups
+        HandlerDispatcher dispatcher = new HandlerDispatcher(handlers);
+        for (Class<?>[] annotationTypes : fields) {
+            blackhole.consume(dispatcher.getHandlers(Scopes.CQ_DIALOG, annotationTypes));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HandlerDispatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.runtime;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.meta.Scopes;
+import com.exadel.aem.toolkit.api.handlers.Handler;
+import com.exadel.aem.toolkit.api.handlers.Handles;
+import com.exadel.aem.toolkit.api.handlers.HandlesWidgets;
+import com.exadel.aem.toolkit.plugin.utils.ScopeUtil;
+import com.exadel.aem.toolkit.plugin.utils.TestConstants;
+import com.exadel.aem.toolkit.plugin.utils.ordering.OrderingUtil;
+
+public class HandlerDispatcherTest {
+
+    static final List<String> CLASSPATH_ELEMENTS = Arrays.asList(
+        TestConstants.PLUGIN_MODULE_TARGET,
+        TestConstants.API_MODULE_TARGET,
+        TestConstants.PLUGIN_MODULE_TEST_TARGET
+    );
+
+    private static final List<String> SCOPES = Arrays.asList(
+        Scopes.DEFAULT,
+        Scopes.COMPONENT,
+        Scopes.CQ_DIALOG,
+        Scopes.CQ_DESIGN_DIALOG,
+        Scopes.CQ_EDIT_CONFIG,
+        Scopes.CQ_CHILD_EDIT_CONFIG,
+        Scopes.CQ_HTML_TAG
+    );
+
+    private static List<Handler> handlers;
+    private static Set<List<Class<?>>> annotationSets;
+
+    @BeforeClass
+    public static void setUp() {
+        ReflectionContextHelper reflection = ReflectionContextHelper.fromCodeScope(CLASSPATH_ELEMENTS, null);
+        handlers = reflection.getHandlers();
+        annotationSets = getAnnotationSets(reflection);
+    }
+
+    @Test
+    public void testShouldMatchLegacyLookup() {
+        Assert.assertFalse(handlers.isEmpty());
+        HandlerDispatcher dispatcher = new HandlerDispatcher(handlers);
+        int matchedCount = 0;
+        for (List<Class<?>> annotationTypes : annotationSets) {
+            Class<?>[] annotationTypeArray = annotationTypes.toArray(new Class<?>[0]);
+            for (String scope : SCOPES) {
+                List<Handler> expected = getHandlersLegacy(handlers, scope, annotationTypeArray);
+                Assert.assertEquals(
+                    "Mismatch for scope \"" + scope + "\" and annotations " + annotationTypes,
+                    expected,
+                    dispatcher.getHandlers(scope, annotationTypeArray));
+                // Repeated lookups are served from the cache and must yield the same result
+                Assert.assertEquals(expected, dispatcher.getHandlers(scope, annotationTypeArray));
+                matchedCount += expected.size();
+            }
+        }
+        Assert.assertTrue(matchedCount > 0);
+    }
+
+    @Test
+    public void testShouldReturnModifiableCopy() {
+        HandlerDispatcher dispatcher = new HandlerDispatcher(handlers);
+        Class<?>[] annotationTypes = annotationSets.iterator().next().toArray(new Class<?>[0]);
+        List<Handler> first = dispatcher.getHandlers(Scopes.CQ_DIALOG, annotationTypes);
+        first.add(null);
+        List<Handler> second = dispatcher.getHandlers(Scopes.CQ_DIALOG, annotationTypes);
+        Assert.assertNotEquals(first.size(), second.size());
+    }
+
+    // Reproduces the handler lookup that was used before HandlerDispatcher was introduced
+    static List<Handler> getHandlersLegacy(List<Handler> handlers, String scope, Class<?>[] annotationTypes) {
+        List<Handler> result = handlers.stream()
+            .filter(handler -> isHandlerMatches(handler, scope, annotationTypes))
+            .collect(Collectors.toList());
+        return OrderingUtil.sortHandlers(result);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isHandlerMatches(Handler handler, String scope, Class<?>[] annotationTypes) {
+        Handles handles = handler.getClass().getDeclaredAnnotation(Handles.class);
+        HandlesWidgets handlesWidgets = handler.getClass().getDeclaredAnnotation(HandlesWidgets.class);
+        if (handles == null && handlesWidgets == null) {
+            return false;
+        }
+        Class<? extends Annotation>[] handledAnnotationTypes = handles != null
+            ? handles.value()
+            : handlesWidgets.value();
+        boolean isMatchByType = Arrays.stream(handledAnnotationTypes)
+            .anyMatch(annotationType -> Arrays.asList(annotationTypes).contains(annotationType));
+
+        String[] handlerScopes = handles != null ? handles.scope() : new String[]{Scopes.DEFAULT};
+        if (handles != null && handlerScopes.length == 1 && handlerScopes[0].equals(Scopes.DEFAULT)) {
+            handlerScopes = ScopeUtil.designate(handles.value());
+        }
+        if (handlerScopes.length == 1 && handlerScopes[0].equals(Scopes.DEFAULT)) {
+            handlerScopes = ScopeUtil.designate(annotationTypes);
+        }
+        boolean isMatchByScope = ScopeUtil.fits(scope, handlerScopes);
+        return isMatchByType && isMatchByScope;
+    }
+
+    static Set<List<Class<?>>> getAnnotationSets(ReflectionContextHelper reflection) {
+        Set<List<Class<?>>> result = new LinkedHashSet<>();
+        for (Class<?> componentClass : reflection.getComponentClasses()) {
+            Stream
+                .of(
+                    Stream.of(componentClass),
+                    Arrays.stream(componentClass.getDeclaredFields()),
+                    Arrays.stream(componentClass.getDeclaredMethods()))
+                .flatMap(stream -> stream)
+                .map(HandlerDispatcherTest::getAnnotationTypes)
+                .filter(types -> !types.isEmpty())
+                .forEach(result::add);
+        }
+        return result;
+    }
+
+    private static List<Class<?>> getAnnotationTypes(AnnotatedElement element) {
+        return Arrays.stream(element.getDeclaredAnnotations())
+            .map(Annotation::annotationType)
+            .collect(Collectors.toList());
+    }
+}
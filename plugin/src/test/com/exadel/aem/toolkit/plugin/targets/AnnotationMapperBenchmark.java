@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.targets;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.exadel.aem.toolkit.api.annotations.widgets.TextField;
+import com.exadel.aem.toolkit.plugin.runtime.ReflectionContextHelper;
+import com.exadel.aem.toolkit.plugin.utils.AnnotationUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnnotationMapperBenchmark {
+
+    private static final String WIDGETS_PACKAGE = TextField.class.getPackage().getName();
+
+    private List<Annotation> annotations;
+
+    @Setup
+    public void setUp() {
+        annotations = ReflectionContextHelper
+            .fromCodeScope(AnnotationMapperTest.CLASSPATH_ELEMENTS, null)
+            .getComponentClasses()
+            .stream()
+            .flatMap(cls -> Stream.of(Stream.of(cls), Arrays.stream(cls.getDeclaredFields()), Arrays.stream(cls.getDeclaredMethods())))
+            .flatMap(stream -> stream)
+            .map(AnnotatedElement::getDeclaredAnnotations)
+            .flatMap(Arrays::stream)
+            .filter(annotation -> annotation.annotationType().getName().startsWith(WIDGETS_PACKAGE))
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void reflectiveAccess(Blackhole blackhole) throws ReflectiveOperationException {
+        for (Annotation annotation : annotations) {
+            for (Method method : annotation.annotationType().getDeclaredMethods()) {
+                blackhole.consume(method.invoke(annotation));
+                blackhole.consume(AnnotationUtil.propertyIsNotDefault(annotation, method));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapperAccess(Blackhole blackhole) {
+        for (Annotation annotation : annotations) {
+            for (AnnotationMapper.Property property : AnnotationMapper.forType(annotation.annotationType()).getProperties()) {
+                blackhole.consume(property.getValue(annotation));
+                blackhole.consume(property.isNotDefault(annotation));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnnotationMapperBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.targets;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import com.google.common.collect.ImmutableMap;
+
+import com.exadel.aem.toolkit.api.annotations.widgets.TextField;
+import com.exadel.aem.toolkit.plugin.runtime.ReflectionContextHelper;
+import com.exadel.aem.toolkit.plugin.utils.AnnotationUtil;
+import com.exadel.aem.toolkit.plugin.utils.TestConstants;
+import com.exadel.aem.toolkit.test.custom.annotation.CustomWidgetAnnotationAuto;
+
+public class AnnotationMapperTest {
+
+    static final List<String> CLASSPATH_ELEMENTS = Arrays.asList(
+        TestConstants.PLUGIN_MODULE_TARGET,
+        TestConstants.API_MODULE_TARGET,
+        TestConstants.PLUGIN_MODULE_TEST_TARGET
+    );
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface NonPublicAnnotation {
+        String value() default "default";
+
+        String[] items() default {};
+    }
+
+    @NonPublicAnnotation(value = "custom", items = {"first", "second"})
+    private static class NonPublicAnnotationHolder {
+    }
+
+    @Test
+    public void testShouldCacheMapperPerType() throws NoSuchMethodException {
+        AnnotationMapper mapper = AnnotationMapper.forType(CustomWidgetAnnotationAuto.class);
+        Assert.assertSame(mapper, AnnotationMapper.forType(CustomWidgetAnnotationAuto.class));
+
+        Method method = CustomWidgetAnnotationAuto.class.getDeclaredMethod("customField");
+        AnnotationMapper.Property property = AnnotationMapper.forProperty(method);
+        Assert.assertSame(property, mapper.getProperty(method));
+        Assert.assertTrue(mapper.getProperties().contains(property));
+        Assert.assertEquals(CustomWidgetAnnotationAuto.class.getDeclaredMethods().length, mapper.getProperties().size());
+    }
+
+    @Test
+    public void testShouldReadRenderingData() throws NoSuchMethodException {
+        AnnotationMapper mapper = AnnotationMapper.forType(CustomWidgetAnnotationAuto.class);
+        Assert.assertTrue(mapper.isMapped());
+        Assert.assertEquals("granite:data/cq:", mapper.getPrefix());
+        Assert.assertEquals("granite:data", mapper.getNodePrefix());
+        Assert.assertEquals("cq:", mapper.getNamePrefix());
+
+        AnnotationMapper.Property customField = mapper.getProperty(CustomWidgetAnnotationAuto.class.getDeclaredMethod("customField"));
+        Assert.assertTrue(customField.isRendered());
+        Assert.assertEquals("custom", customField.getRenderedName());
+        Assert.assertEquals(String.class, customField.getValueType());
+
+        AnnotationMapper.Property customColor = mapper.getProperty(CustomWidgetAnnotationAuto.class.getDeclaredMethod("customColor"));
+        Assert.assertFalse(customColor.isRendered());
+        Assert.assertEquals("customColor", customColor.getRenderedName());
+        Assert.assertEquals("com.exadel.aem.toolkit.test.custom.CustomValidator", customColor.getRestriction());
+
+        Assert.assertFalse(AnnotationMapper.forType(NonPublicAnnotation.class).isMapped());
+    }
+
+    @Test
+    public void testShouldMatchReflectiveAccess() throws ReflectiveOperationException {
+        List<Annotation> annotations = ReflectionContextHelper
+            .fromCodeScope(CLASSPATH_ELEMENTS, null)
+            .getComponentClasses()
+            .stream()
+            .flatMap(cls -> Stream.of(Stream.of(cls), Arrays.stream(cls.getDeclaredFields()), Arrays.stream(cls.getDeclaredMethods())))
+            .flatMap(stream -> stream)
+            .map(AnnotatedElement::getDeclaredAnnotations)
+            .flatMap(Arrays::stream)
+            .collect(Collectors.toList());
+        Assert.assertFalse(annotations.isEmpty());
+
+        annotations.add(NonPublicAnnotationHolder.class.getDeclaredAnnotation(NonPublicAnnotation.class));
+        annotations.add(AnnotationUtil.createInstance(TextField.class, ImmutableMap.of("emptyText", "Text")));
+
+        for (Annotation annotation : annotations) {
+            for (Method method : annotation.annotationType().getDeclaredMethods()) {
+                AnnotationMapper.Property property = AnnotationMapper.forProperty(method);
+                String message = annotation.annotationType().getName() + "#" + method.getName();
+                Assert.assertTrue(message, Objects.deepEquals(invoke(annotation, method), property.getValue(annotation)));
+                Assert.assertEquals(message, AnnotationUtil.propertyIsNotDefault(annotation, method), property.isNotDefault(annotation));
+            }
+        }
+    }
+
+    private static Object invoke(Annotation annotation, Method method) throws IllegalAccessException, InvocationTargetException {
+        method.setAccessible(true);
+        return method.invoke(annotation);
+    }
+}
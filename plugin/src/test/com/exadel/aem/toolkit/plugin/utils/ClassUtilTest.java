@@ -0,0 +1,90 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.exadel.aem.toolkit.plugin.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.exadel.aem.toolkit.api.annotations.widgets.TextField;
+import com.exadel.aem.toolkit.api.handlers.Source;
+import com.exadel.aem.toolkit.test.component.ComplexComponent1;
+import com.exadel.aem.toolkit.test.component.IgnoreTestCases;
+import com.exadel.aem.toolkit.test.widget.SelectWidget;
+
+public class ClassUtilTest {
+
+    @Test
+    public void testShouldReturnModifiableCopies() {
+        List<Source> first = ClassUtil.getSources(ComplexComponent1.class, null);
+        Assert.assertFalse(first.isEmpty());
+        List<Source> second = ClassUtil.getSources(ComplexComponent1.class, null);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first, second);
+
+        first.remove(0);
+        Assert.assertEquals(second.size() - 1, first.size());
+        Assert.assertEquals(second, ClassUtil.getSources(ComplexComponent1.class, null));
+    }
+
+    @Test
+    public void testShouldShareSourcesBetweenCalls() {
+        List<Source> first = ClassUtil.getSources(ComplexComponent1.class, null);
+        List<Source> second = ClassUtil.getSources(ComplexComponent1.class, null);
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertSame(first.get(i), second.get(i));
+        }
+    }
+
+    @Test
+    public void testShouldCacheByConditionOutcome() {
+        List<Source> first = ClassUtil.getSources(ComplexComponent1.class, createTextFieldCondition());
+        List<Source> second = ClassUtil.getSources(ComplexComponent1.class, createTextFieldCondition());
+        Assert.assertFalse(first.isEmpty());
+        Assert.assertTrue(first.stream().allMatch(source -> source.adaptTo(TextField.class) != null));
+        Assert.assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            Assert.assertSame(first.get(i), second.get(i));
+        }
+
+        List<Source> unfiltered = ClassUtil.getSources(ComplexComponent1.class, null);
+        Assert.assertTrue(unfiltered.size() > first.size());
+        Assert.assertEquals(getNames(unfiltered), getNames(ClassUtil.getSources(ComplexComponent1.class, source -> true)));
+        Assert.assertEquals(Collections.emptyList(), ClassUtil.getSources(ComplexComponent1.class, source -> false));
+    }
+
+    @Test
+    public void testShouldApplyIgnoredMembersOnRepeatedCalls() {
+        List<String> ignored = Arrays.asList("timezone", "optionList", "staticOptionList", "rating");
+        for (int i = 0; i < 2; i++) {
+            List<String> names = getNames(ClassUtil.getSources(IgnoreTestCases.IgnoreMembersFixedColumnsLayout.class, null));
+            Assert.assertFalse(names.isEmpty());
+            Assert.assertTrue(Collections.disjoint(names, ignored));
+            Assert.assertTrue(getNames(ClassUtil.getSources(SelectWidget.class, null)).containsAll(ignored));
+        }
+    }
+
+    private static Predicate<Source> createTextFieldCondition() {
+        return source -> source.adaptTo(TextField.class) != null;
+    }
+
+    private static List<String> getNames(List<Source> sources) {
+        return sources.stream().map(Source::getName).collect(Collectors.toList());
+    }
+}
@@ -38,6 +38,10 @@ public class TestXmlUtility {
     private TestXmlUtility() {
     }
 
+    public static PackageWriter getPackageWriter(FileSystem fileSystem) {
+        return PackageWriter.forFileSystem(fileSystem, PROJECT_NAME, StringUtils.EMPTY);
+    }
+
     public static boolean doTest(FileSystem fileSystem, String className, Path sampleFilesPath) throws ClassNotFoundException, IOException {
         return doTest(fileSystem, className, null, sampleFilesPath);
     }
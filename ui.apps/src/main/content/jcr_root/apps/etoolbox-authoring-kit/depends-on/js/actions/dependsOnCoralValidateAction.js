@@ -49,6 +49,8 @@
 
     // Just return dependsOn validate result and set marker class accordingly
     function checkDependsOnValidator(el) {
+        // Validate against the up-to-date query results
+        ns.UpdateScheduler.flush();
         const $el = $(el);
         const instances = $el.data(ns.QueryObserver.DATA_STORE);
         const validateInstances = (instances || []).filter((observer) => observer.action === ACTION_NAME);
@@ -25,6 +25,9 @@
     const $window = $(window);
     const $document = $(document);
 
+    const SCOPE_SELECTOR = 'form, coral-dialog';
+    const DEPENDSON_SELECTOR = '[data-dependson], [data-dependsonref]';
+
     // Version to track actual DependsOn version from code/browser console
     ns.version = '2.6.0';
 
@@ -37,13 +40,14 @@
     ns.initialize = function (container, callback) {
         // Wait core-components:ready for new content and then plan initialization task
         Coral.commons.ready(container, () => setTimeout(() => {
-            // GC and update simple references first
-            ns.ElementReferenceRegistry.actualize();
-            $('[data-dependsonref]', container).each((i, el) => ns.ElementReferenceRegistry.registerElement($(el)));
-            // GC for group references
-            ns.GroupReferenceRegistry.actualize();
+            // Dispose the references of the forms and dialogs that have been removed
+            disposeDetachedScopes();
+            // Register simple references first, and add them to the group references they belong to
+            ns.GroupReferenceRegistry.addElementReferences(ns.ElementReferenceRegistry.registerWithin(container));
             // Observers initialization
             $('[data-dependson]', container).each((i, el) => ns.QueryObserver.init($(el)));
+            // Track the references that are removed from the forms and dialogs within the container
+            getScopes(container).forEach(observeScope);
             // Execute callback if provided
             (typeof callback === 'function') && callback();
         }));
@@ -75,15 +79,90 @@
     $document
         .off('input.dependsOn').on('input', '[data-dependsonref]:not([data-dependsonreflazy])', handleChangeDebounced);
 
-    // Track collection change to update dynamic references
+    // Track collection change to update the multifield references
     $document
         .off('coral-collection:remove.dependsOn coral-collection:add.dependsOn').on('coral-collection:remove.dependsOn coral-collection:add.dependsOn', 'coral-multifield', (e) => {
-            // We should actualize references on coral-collection:remove and coral-collection:add too.
             ns.ElementReferenceRegistry.handleChange(e);
-            ns.ElementReferenceRegistry.actualize();
-            ns.GroupReferenceRegistry.actualize();
         });
 
+    /**
+     * Dispose the references within the removed subtrees and remove them from the group references.
+     * The references within the added subtrees are registered by {@link ns.initialize} on foundation-contentloaded
+     * @param {Array<MutationRecord>} mutations
+     * */
+    function handleMutations(mutations) {
+        const removed = new Set();
+        mutations.forEach((mutation) => {
+            mutation.removedNodes.forEach((node) => node.nodeType === Node.ELEMENT_NODE && removed.add(node));
+        });
+
+        const disposed = [];
+        removed.forEach((node) => {
+            // A node that is moved is both removed and added, it is kept if it is still in the document
+            if (node.isConnected) return;
+            disposed.push(...ns.ElementReferenceRegistry.disposeWithin(node));
+        });
+        if (disposed.length) {
+            ns.GroupReferenceRegistry.removeElementReferences(disposed);
+        }
+    }
+
+    /**
+     * Get the forms and dialogs that contain DependsOn elements within or around the container.
+     * If there are none, the container itself is used
+     * @param {HTMLElement | Document} container
+     * @returns {Array<HTMLElement>}
+     * */
+    function getScopes(container) {
+        const root = container.nodeType === Node.DOCUMENT_NODE ? container.documentElement : container;
+        if (!root || !root.querySelector) return [];
+        const closest = root.closest(SCOPE_SELECTOR);
+        const scopes = closest ?
+            [closest] :
+            Array.from(root.querySelectorAll(SCOPE_SELECTOR)).filter((el) => !el.parentElement.closest(SCOPE_SELECTOR));
+        if (!scopes.length) scopes.push(root);
+        return scopes.filter((scope) => scope.matches(DEPENDSON_SELECTOR) || scope.querySelector(DEPENDSON_SELECTOR));
+    }
+
+    /**
+     * Start tracking the removal of the references within the scope, unless the scope is already tracked
+     * @param {HTMLElement} scope
+     * */
+    function observeScope(scope) {
+        for (const observed of ns.mutationObservers.keys()) {
+            if (observed.contains(scope)) return;
+        }
+        const observer = new MutationObserver(handleMutations);
+        observer.observe(scope, { childList: true, subtree: true });
+        ns.mutationObservers.set(scope, observer);
+    }
+
+    /**
+     * Stop tracking the scopes that have been removed from the document, and dispose the references within them
+     * */
+    function disposeDetachedScopes() {
+        const disposed = [];
+        ns.mutationObservers.forEach((observer, scope) => {
+            if (scope.isConnected) return;
+            observer.disconnect();
+            ns.mutationObservers.delete(scope);
+            disposed.push(...ns.ElementReferenceRegistry.disposeWithin(scope));
+        });
+        // Unresolvable references (e.g. the ones with an empty $el) do not belong to any scope
+        disposed.push(...ns.ElementReferenceRegistry.actualize());
+        if (disposed.length) {
+            ns.GroupReferenceRegistry.removeElementReferences(disposed);
+            ns.GroupReferenceRegistry.actualize();
+        }
+    }
+
+    // Track the references that are removed along with multifield items and other dynamic content
+    ns.mutationObservers && ns.mutationObservers.forEach((observer) => observer.disconnect());
+    ns.mutationObservers = new Map();
+
+    // Dispose the references of a dialog once it is closed and removed
+    $document.off('coral-overlay:close.dependsOn').on('coral-overlay:close.dependsOn', () => setTimeout(disposeDetachedScopes));
+
     // ----
     // Validation control: exclude element and its child from validation in hidden state.
     $window.adaptTo('foundation-registry').register('foundation.validation.selector', {
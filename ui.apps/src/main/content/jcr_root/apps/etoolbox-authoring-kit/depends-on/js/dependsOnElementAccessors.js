@@ -25,6 +25,9 @@
     const SUBMITTABLES = ':-foundation-submittable';
 
     const accessorsList = [];
+    // Bound handlers per accessor, and resolved handlers per element
+    const boundHandlers = new WeakMap();
+    let handlersCache = new WeakMap();
     const DEFAULT_ACCESSOR = {
         preferableType: 'string',
         findTarget: function ($el) {
@@ -96,6 +99,25 @@
         }
     }
 
+    /**
+     * Get the accessor's handler of the given type. Function handlers are bound to the accessor once
+     * @param {object} accessor
+     * @param {string} type
+     * @returns {*}
+     * */
+    function getHandler(accessor, type) {
+        if (typeof accessor[type] !== 'function') return accessor[type];
+        let handlers = boundHandlers.get(accessor);
+        if (!handlers) {
+            handlers = new Map();
+            boundHandlers.set(accessor, handlers);
+        }
+        if (!handlers.has(type)) {
+            handlers.set(type, accessor[type].bind(accessor));
+        }
+        return handlers.get(type);
+    }
+
     class ElementAccessors {
         /**
          * Default accessor definition
@@ -192,6 +214,7 @@
         static registerAccessor(accessorDescriptor) {
             validate(accessorDescriptor);
             accessorsList.push(accessorDescriptor);
+            ElementAccessors.clearCache();
         }
 
         /**
@@ -234,6 +257,14 @@
             ns.toggleAsterisk($label, required);
         }
 
+        /**
+         * Discard the accessor handlers resolved for the elements.
+         * Should be called if an element is changed so that it may match a different accessor
+         * */
+        static clearCache() {
+            handlersCache = new WeakMap();
+        }
+
         static _findAccessor($el, type) {
             for (let i = accessorsList.length - 1, accessor; i >= 0; --i) {
                 accessor = accessorsList[i];
@@ -245,8 +276,20 @@
         }
 
         static _findAccessorHandler($el, type) {
-            const accessor = ElementAccessors._findAccessor($el, type);
-            return (typeof accessor[type] === 'function') ? accessor[type].bind(accessor) : accessor[type];
+            // Handlers are cached for single elements only, since a collection matches a selector if any of its elements does
+            if ($el.length !== 1) {
+                return getHandler(ElementAccessors._findAccessor($el, type), type);
+            }
+            const el = $el[0];
+            let handlers = handlersCache.get(el);
+            if (!handlers) {
+                handlers = new Map();
+                handlersCache.set(el, handlers);
+            }
+            if (!handlers.has(type)) {
+                handlers.set(type, getHandler(ElementAccessors._findAccessor($el, type), type));
+            }
+            return handlers.get(type);
         }
     }
 
@@ -118,18 +118,48 @@
             this.query = query;
 
             this.update = this.update.bind(this);
-            this.parsedQuery = ns.QueryProcessor.parseQuery(this.query, this.$el, this.update);
+            this.update.node = this;
+            this.compile();
+        }
+
+        /**
+         * Get the references the query reads, see {@link UpdateScheduler}
+         * @returns {Array<ObservedReference>}
+         * */
+        get inputs() {
+            return this.references;
+        }
+
+        /**
+         * Get the reference of the target element, if the target is referenced itself, see {@link UpdateScheduler}
+         * @returns {ElementReference | undefined}
+         * */
+        get output() {
+            return this.$el && this.$el.data('dependsonsubject');
+        }
+
+        /**
+         * Parse the query, register the references it uses, and compile it into an evaluable function
+         * */
+        compile() {
+            this.references = [];
+            this.parsedQuery = ns.QueryProcessor.parseQuery(this.query, this.$el, this.update, this.references);
+            this.evaluate = ns.QueryProcessor.compileQuery(this.parsedQuery, this.references);
         }
 
         /**
          * Request evaluation of the query and execute the action
          * */
         update() {
-            if (!this.$el || this.$el.closest('html').length === 0) {
+            if (!this.$el || !this.$el[0] || !this.$el[0].isConnected) {
                 // Remove if detached
                 return true;
             }
-            const queryResult = ns.QueryProcessor.evaluateQuery(this.parsedQuery, this.$el);
+            // Recompile if any of the used references was removed, so that the query uses re-registered ones
+            if (this.references.some((ref) => ref.removed)) {
+                this.compile();
+            }
+            const queryResult = this.evaluate(this.$el);
             ns.ActionRegistry.getAction(this.action).call(this, queryResult, this.data, this);
         }
     }
@@ -17,7 +17,8 @@
  *
  * DependsOn Query Processor.
  *
- * Parses and compiles DependsOn queries
+ * Parses and compiles DependsOn queries.
+ * A parsed query is compiled once into a function that receives only the references the query uses
  * */
 (function (document, $, ns) {
     'use strict';
@@ -31,7 +32,8 @@
         static get REFERENCE_REGEXP() { return REFERENCE_REGEXP; }
 
         /**
-         * Evaluate the parsed query
+         * Evaluate the parsed query using all the known references.
+         * Prefer {@link QueryProcessor#compileQuery} for the queries that are evaluated repeatedly
          * @param {string} query - parsed query
          * @param {object} context - context to execute
          * */
@@ -46,13 +48,39 @@
             }
         }
 
+        /**
+         * Compile the parsed query into a function that receives only the references used by the query.
+         * The returned function evaluates the query within the provided context
+         * @param {string} query - parsed query
+         * @param {Array<ObservedReference>} references - references used by the query
+         * @returns {function(object): *}
+         * */
+        static compileQuery(query, references) {
+            let exec;
+            try {
+                const args = references.map((ref) => ref.id).join(',');
+                exec = new Function(args, 'return ' + query + ';'); // NOSONAR: not a javascript:S3523 case, real evaluation should be done
+            } catch (e) {
+                console.error('[DependsOn]: error while compiling "' + query + '" using ', references, e);
+                return () => undefined;
+            }
+            return (context) => {
+                try {
+                    return exec.apply(context || null, references);
+                } catch (e) {
+                    console.error('[DependsOn]: error while evaluating "' + query + '" using ', references, e);
+                }
+            };
+        }
+
         /**
          * Parse the query to an evaluable one, replace reference definitions with reference instances aliases
          * @param {string} query
          * @param {JQuery} $root
          * @param {function} [changeHandlerCB]
+         * @param {Array<ObservedReference>} [references] - array to collect the references used by the query
          * */
-        static parseQuery(query, $root, changeHandlerCB) {
+        static parseQuery(query, $root, changeHandlerCB, references) {
             return query.replace(REFERENCE_REGEXP, (q, isGroup, name, selWrapper, sel) => {
                 const $context = ns.findScope($root, sel);
 
@@ -67,6 +95,9 @@
                         ns.ElementReferenceRegistry.register(name, $context);
 
                 reference.subscribe(changeHandlerCB);
+                if (references && references.indexOf(reference) === -1) {
+                    references.push(reference);
+                }
                 return `${reference.id}.value`;
             });
         }
@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * DependsOn Update Scheduler.
+ *
+ * Collects the references that have changed and notifies their listeners in a microtask, i.e. right after the code
+ * that changed the references completes, and before the browser handles the next event.
+ * Listeners are run in the topological order of the reference graph: a listener that may change a reference
+ * (e.g. an observer of a referenced field, or a group reference) runs before the listeners of that reference.
+ * Therefore, a listener normally runs once per update even if several of its references change in a chain.
+ * Circular dependencies are reported to the console, and a listener that keeps being re-triggered
+ * within the update is stopped after {@link UpdateScheduler.MAX_RUNS} runs.
+ * Pending updates are applied before a form is submitted or validated. Deferring the updates can be turned off
+ * with {@link UpdateScheduler.deferred}, so that listeners are notified as soon as a reference changes.
+ *
+ * A listener can describe its place in the graph with the {@code node} property, an object that has
+ * {@code inputs} (the references the listener reads) and {@code output} (the reference the listener may change)
+ * */
+(function ($, ns) {
+    'use strict';
+
+    const MAX_RUNS = 10;
+
+    const requestFlush = (callback) => {
+        if (typeof window.queueMicrotask === 'function') return window.queueMicrotask(callback);
+        if (typeof window.Promise === 'function') return window.Promise.resolve().then(callback);
+        return setTimeout(callback, 0);
+    };
+
+    const dirty = new Set();
+    // Listener -> {references: Set<ObservedReference>, output: ObservedReference}
+    const pending = new Map();
+    // Reference -> number of the pending listeners that may change it
+    const pendingOutputs = new Map();
+    let deferred = true;
+    let flushRequested = false;
+    let flushing = false;
+
+    /**
+     * Move the listeners of the changed references to the pending listeners map
+     * */
+    function collectListeners() {
+        dirty.forEach((reference) => {
+            reference.listeners.forEach((listener) => {
+                let entry = pending.get(listener);
+                if (!entry) {
+                    entry = { references: new Set(), output: listener.node && listener.node.output };
+                    pending.set(listener, entry);
+                    entry.output && pendingOutputs.set(entry.output, (pendingOutputs.get(entry.output) || 0) + 1);
+                }
+                entry.references.add(reference);
+            });
+        });
+        dirty.clear();
+    }
+
+    /**
+     * Remove the listener from the pending listeners map
+     * @param {function} listener
+     * @returns {Set<ObservedReference>} the changed references the listener is notified of
+     * */
+    function takeListener(listener) {
+        const entry = pending.get(listener);
+        pending.delete(listener);
+        if (entry.output) {
+            const count = pendingOutputs.get(entry.output) - 1;
+            count ? pendingOutputs.set(entry.output, count) : pendingOutputs.delete(entry.output);
+        }
+        return entry.references;
+    }
+
+    /**
+     * Select a pending listener that does not read any reference another pending listener may change.
+     * If there is no such listener, the pending listeners form a cycle; the cycle is reported and the first
+     * pending listener is selected
+     * @returns {function}
+     * */
+    function selectListener() {
+        for (const [listener, entry] of pending) {
+            const inputs = (listener.node && listener.node.inputs) || [];
+            if (!inputs.some((input) => input !== entry.output && pendingOutputs.has(input))) return listener;
+        }
+        const nodes = Array.from(pending.keys()).map((listener) => listener.node || listener);
+        console.warn('[DependsOn]: circular dependency detected between ', nodes);
+        return pending.keys().next().value;
+    }
+
+    class UpdateScheduler {
+        /**
+         * Maximal number of times a listener can run within a single update
+         * @readonly
+         * */
+        static get MAX_RUNS() { return MAX_RUNS; }
+
+        /**
+         * Whether listeners are notified after the code that changed the references completes (default),
+         * or as soon as a reference changes
+         * @returns {boolean}
+         * */
+        static get deferred() { return deferred; }
+        static set deferred(value) {
+            deferred = !!value;
+            deferred || UpdateScheduler.flush();
+        }
+
+        /**
+         * Mark the reference as changed and plan notifying its listeners
+         * @param {ObservedReference} reference
+         * */
+        static schedule(reference) {
+            dirty.add(reference);
+            if (flushing) return;
+            if (!deferred) return UpdateScheduler.flush();
+            if (flushRequested) return;
+            flushRequested = true;
+            requestFlush(UpdateScheduler.flush);
+        }
+
+        /**
+         * Run the listener once for the changed references. The changed references are passed to the listener
+         * as arguments. The listener is unsubscribed from the references if it returns a truthy value
+         * @param {function} listener
+         * @param {Set<ObservedReference>} references
+         * */
+        static notify(listener, references) {
+            try {
+                if (listener.apply(null, Array.from(references))) {
+                    references.forEach((ref) => ref.unsubscribe(listener));
+                }
+            } catch (e) {
+                console.error('[DependsOn]: error while notifying ', listener.node || listener, e);
+            }
+        }
+
+        /**
+         * Notify the listeners of the changed references immediately.
+         * The references changed by the listeners are processed within the same call
+         * */
+        static flush() {
+            flushRequested = false;
+            if (flushing || !dirty.size) return;
+            flushing = true;
+            const runs = new Map();
+            try {
+                collectListeners();
+                while (pending.size) {
+                    const listener = selectListener();
+                    const references = takeListener(listener);
+
+                    const runCount = (runs.get(listener) || 0) + 1;
+                    runs.set(listener, runCount);
+                    if (runCount > MAX_RUNS) {
+                        console.error('[DependsOn]: update is stopped because of a circular dependency', listener.node || listener);
+                    } else {
+                        UpdateScheduler.notify(listener, references);
+                    }
+                    collectListeners();
+                }
+            } finally {
+                pending.clear();
+                pendingOutputs.clear();
+                flushing = false;
+            }
+        }
+    }
+
+    // Apply the pending updates before any form is submitted
+    ns.UpdateScheduler && document.removeEventListener('submit', ns.UpdateScheduler.flush, true);
+    document.addEventListener('submit', UpdateScheduler.flush, true);
+
+    ns.UpdateScheduler = UpdateScheduler;
+})(Granite.$, Granite.DependsOnPlugin = (Granite.DependsOnPlugin || {}));
@@ -22,6 +22,7 @@
 (function (document, $, ns) {
     'use strict';
 
+    const REF_SELECTOR = '[data-dependsonref]';
     const ELEMENT_REF_SQ = ns.createSequence();
     class ElementReference extends ns.ObservedReference {
         /**
@@ -68,20 +69,79 @@
          * */
         is(name, $context) {
             if (this.name !== name) return false;
-            if ($context) return !!this.$el.closest($context).length;
+            if ($context) return this.isWithin($context);
             return true;
         }
 
+        /**
+         * Check if the element is within the provided context
+         * @param {jQuery | HTMLElement | string} $context
+         * @returns {boolean}
+         * */
+        isWithin($context) {
+            const el = this.$el[0];
+            if (!el) return false;
+            if (typeof $context === 'string') return !!this.$el.closest($context).length;
+            if ($context.nodeType) return $context.contains(el);
+            for (let i = 0; i < $context.length; ++i) {
+                if ($context[i].contains(el)) return true;
+            }
+            return false;
+        }
+
         /**
          * Check if the element reference is detached from the actual tree
          * @return {boolean}
          * */
         isOutdated() {
-            return !this.$el.closest('html').length;
+            const el = this.$el[0];
+            return !el || !el.isConnected;
         }
     }
 
     const refs = [];
+    const refsByName = new Map();
+    const refsByElement = new WeakMap();
+
+    /**
+     * Add the reference to the list and to the indexes
+     * @param {ElementReference} ref
+     * */
+    function addReference(ref) {
+        refs.push(ref);
+        const el = ref.$el[0];
+        if (!el) return;
+        refsByElement.set(el, ref);
+        if (!refsByName.has(ref.name)) refsByName.set(ref.name, []);
+        refsByName.get(ref.name).push(ref);
+    }
+
+    /**
+     * Remove the reference from the indexes
+     * @param {ElementReference} ref
+     * */
+    function unindexReference(ref) {
+        const el = ref.$el[0];
+        if (!el || refsByElement.get(el) !== ref) return;
+        refsByElement.delete(el);
+        const namedRefs = refsByName.get(ref.name) || [];
+        const index = namedRefs.indexOf(ref);
+        if (index !== -1) namedRefs.splice(index, 1);
+        if (!namedRefs.length) refsByName.delete(ref.name);
+    }
+
+    /**
+     * Get the elements that define references within the provided container, including the container itself
+     * @param {HTMLElement} container
+     * @returns {Array<HTMLElement>}
+     * */
+    function getReferencedElements(container) {
+        if (!container || !container.querySelectorAll) return [];
+        const elements = Array.from(container.querySelectorAll(REF_SELECTOR));
+        if (container.matches && container.matches(REF_SELECTOR)) elements.unshift(container);
+        return elements;
+    }
+
     class ElementReferenceRegistry {
         /**
          * Register {ElementReference} by the name and context
@@ -99,8 +159,13 @@
          * @returns {ElementReference} (returns existing one if it is already registered)
          * */
         static registerElement($el) {
-            const subj = new ElementReference(ns.ElementAccessors.findTarget($el));
-            if (refs.indexOf(subj) === -1) refs.push(subj);
+            $el = ns.ElementAccessors.findTarget($el);
+            const registered = $el[0] && refsByElement.get($el[0]);
+            if (registered) return registered;
+
+            const subj = new ElementReference($el);
+            subj.removed = false;
+            addReference(subj);
             return subj;
         }
 
@@ -128,20 +193,61 @@
          * @returns {Array<ElementReference>}
          * */
         static getAllByRefName(refName, $context) {
-            return refs.filter((ref) => ref.is(refName, $context));
+            const namedRefs = refsByName.get(refName) || [];
+            return $context ? namedRefs.filter((ref) => ref.isWithin($context)) : namedRefs.slice();
+        }
+
+        /**
+         * Register the references of the elements within the provided container, including the container itself
+         * @param {HTMLElement} container
+         * @returns {Array<ElementReference>} references of the elements
+         * */
+        static registerWithin(container) {
+            return getReferencedElements(container).map((el) => ElementReferenceRegistry.registerElement($(el)));
+        }
+
+        /**
+         * Remove the detached references of the elements within the provided container, including the container itself
+         * @param {HTMLElement} container
+         * @returns {Array<ElementReference>} removed references
+         * */
+        static disposeWithin(container) {
+            const disposed = new Set();
+            getReferencedElements(container).forEach((el) => {
+                const ref = refsByElement.get(el) || refsByElement.get(ns.ElementAccessors.findTarget($(el))[0]);
+                if (!ref || !ref.isOutdated() || disposed.has(ref)) return;
+                ref.remove();
+                unindexReference(ref);
+                disposed.add(ref);
+            });
+            if (disposed.size) {
+                let actualCount = 0;
+                for (const ref of refs) {
+                    if (!disposed.has(ref)) refs[actualCount++] = ref;
+                }
+                refs.length = actualCount;
+            }
+            return Array.from(disposed);
         }
 
         /**
          * Remove the references that are detached
+         * @returns {Array<ElementReference>} removed references
          * */
         static actualize() {
-            for (let i = 0; i < refs.length; ++i) {
-                const ref = refs[i];
+            const removed = [];
+            let actualCount = 0;
+            for (const ref of refs) {
                 if (ref.isOutdated()) {
                     ref.remove();
-                    refs.splice(i--, 1);
+                    unindexReference(ref);
+                    removed.push(ref);
+                } else {
+                    refs[actualCount++] = ref;
                 }
             }
+            refs.length = actualCount;
+            return removed;
         }
     }
     ns.ElementReferenceRegistry = ElementReferenceRegistry;
@@ -27,9 +27,11 @@
         constructor(name, $context) {
             super(`$group${GROUP_REF_SQ.next()}`);
             this.refs = [];
+            this._refsSet = new Set();
             this.name = name;
             this.$context = $context;
             this.onChange = this.update.bind(this);
+            this.onChange.node = this;
 
             this.updateRefList();
         }
@@ -40,6 +42,7 @@
         remove() {
             super.remove();
             delete this.refs;
+            delete this._refsSet;
             delete this.$context;
         }
 
@@ -50,15 +53,61 @@
             return (this.refs || []).map((ref) => ref.value);
         }
 
+        /**
+         * Get the references the group reads, see {@link UpdateScheduler}
+         * @returns {Array<ElementReference>}
+         * */
+        get inputs() {
+            return this.refs || [];
+        }
+
+        /**
+         * Get the reference the group changes, see {@link UpdateScheduler}
+         * @returns {GroupReference}
+         * */
+        get output() {
+            return this;
+        }
+
         /**
          * Update the child references list
          * */
         updateRefList() {
             this.refs.forEach((ref) => ref.unsubscribe(this.onChange));
             this.refs = ns.ElementReferenceRegistry.getAllByRefName(this.name, this.$context);
+            this._refsSet = new Set(this.refs);
             this.refs.forEach((ref) => ref.subscribe(this.onChange));
         }
 
+        /**
+         * Add the element reference to the child references list if it is within the group context
+         * @param {ElementReference} ref
+         * @returns {boolean} true if the reference was added
+         * */
+        addRef(ref) {
+            if (ref.name !== this.name || this._refsSet.has(ref) || !ref.isWithin(this.$context)) return false;
+            this.refs.push(ref);
+            this._refsSet.add(ref);
+            ref.subscribe(this.onChange);
+            return true;
+        }
+
+        /**
+         * Remove the element references from the child references list
+         * @param {Set<ElementReference>} refs
+         * @returns {boolean} true if any reference was removed
+         * */
+        removeRefs(refs) {
+            const removed = this.refs.filter((ref) => refs.has(ref));
+            if (!removed.length) return false;
+            removed.forEach((ref) => {
+                this._refsSet.delete(ref);
+                ref.unsubscribe(this.onChange);
+            });
+            this.refs = this.refs.filter((ref) => !refs.has(ref));
+            return true;
+        }
+
         /**
          * Check if the group reference matches the provided definition
          * @param {string} name
@@ -74,22 +123,74 @@
          * @returns {boolean}
          * */
         isOutdated() {
-            return !this.listenersCount || !this.$context.closest('html').length;
+            return !this.listenersCount || !this.$context.toArray().some((el) => el.isConnected);
         }
     }
 
     let refs = [];
+    let refsByName = new Map();
+    let refsByContext = new WeakMap();
+
+    /**
+     * Add the reference to the list and to the indexes
+     * @param {GroupReference} ref
+     * */
+    function addReference(ref) {
+        refs.push(ref);
+        if (!refsByName.has(ref.name)) refsByName.set(ref.name, []);
+        refsByName.get(ref.name).push(ref);
+        if (ref.$context.length === 1) {
+            const contextEl = ref.$context[0];
+            if (!refsByContext.has(contextEl)) refsByContext.set(contextEl, new Map());
+            refsByContext.get(contextEl).set(ref.name, ref);
+        }
+    }
+
+    /**
+     * Remove the outdated references from the list and from the indexes
+     * @param {Set<GroupReference>} outdated
+     * */
+    function removeReferences(outdated) {
+        if (!outdated.size) return;
+        outdated.forEach((ref) => {
+            const namedRefs = refsByName.get(ref.name) || [];
+            const index = namedRefs.indexOf(ref);
+            if (index !== -1) namedRefs.splice(index, 1);
+            if (!namedRefs.length) refsByName.delete(ref.name);
+            const contextRefs = ref.$context && ref.$context.length === 1 && refsByContext.get(ref.$context[0]);
+            if (contextRefs && contextRefs.get(ref.name) === ref) contextRefs.delete(ref.name);
+            ref.remove();
+        });
+        refs = refs.filter((ref) => !outdated.has(ref));
+    }
+
+    /**
+     * Update the group references that have changed, and remove the outdated ones
+     * @param {Set<GroupReference>} changed
+     * */
+    function updateReferences(changed) {
+        const outdated = new Set();
+        changed.forEach((ref) => ref.isOutdated() ? outdated.add(ref) : ref.update());
+        removeReferences(outdated);
+    }
+
     class GroupReferenceRegistry {
         /**
          * Register {GroupReference}.
          * Return the existing one if it is already registered
          * */
         static register(name, $context) {
-            for (const ref of refs) {
-                if (ref.is(name, $context)) return ref;
+            if ($context.length === 1) {
+                const contextRefs = refsByContext.get($context[0]);
+                const registered = contextRefs && contextRefs.get(name);
+                if (registered) return registered;
+            } else {
+                for (const ref of refsByName.get(name) || []) {
+                    if (ref.$context.length !== 1 && ref.is(name, $context)) return ref;
+                }
             }
             const newRef = new GroupReference(name, $context);
-            refs.push(newRef);
+            addReference(newRef);
             return newRef;
         }
 
@@ -100,18 +201,39 @@
         static get refs() { return refs; }
 
         /**
-         * Remove the outdated references and update the actual ones
+         * Add the new element references to the group references with the same names and matching contexts
+         * @param {Array<ElementReference>} elementRefs
          * */
-        static actualize() {
-            refs = refs.filter((ref) => {
-                if (ref.isOutdated()) {
-                    ref.remove();
-                    return false;
-                }
-                ref.updateRefList();
-                ref.update();
-                return true;
+        static addElementReferences(elementRefs) {
+            const changed = new Set();
+            elementRefs.forEach((elementRef) => {
+                (refsByName.get(elementRef.name) || []).forEach((ref) => ref.addRef(elementRef) && changed.add(ref));
             });
+            updateReferences(changed);
+        }
+
+        /**
+         * Remove the disposed element references from the group references with the same names
+         * @param {Array<ElementReference>} elementRefs
+         * */
+        static removeElementReferences(elementRefs) {
+            const removedByName = new Map();
+            elementRefs.forEach((elementRef) => {
+                if (!removedByName.has(elementRef.name)) removedByName.set(elementRef.name, new Set());
+                removedByName.get(elementRef.name).add(elementRef);
+            });
+            const changed = new Set();
+            removedByName.forEach((removed, name) => {
+                (refsByName.get(name) || []).forEach((ref) => ref.removeRefs(removed) && changed.add(ref));
+            });
+            updateReferences(changed);
+        }
+
+        /**
+         * Remove the outdated references
+         * */
+        static actualize() {
+            removeReferences(new Set(refs.filter((ref) => ref.isOutdated())));
         }
     }
     ns.GroupReferenceRegistry = GroupReferenceRegistry;
@@ -27,9 +27,11 @@
     class ObservedReference {
         /**
          * @property {string} id alias to access a reference in parsed query
+         * @property {boolean} removed whether the reference was removed from its registry
          * */
         constructor(id) {
             this.id = id;
+            this.removed = false;
             this._listenersSet = new Set();
         }
 
@@ -38,6 +40,7 @@
          * */
         remove() {
             this._listenersSet.clear();
+            this.removed = true;
         }
 
         /**
@@ -57,14 +60,10 @@
         }
 
         /**
-         * Emit change
+         * Emit change. Listeners are notified by the {@link UpdateScheduler} once the current code completes
          * */
         emit() {
-            this._listenersSet.forEach((listener) => {
-                if (listener.call(null, this)) {
-                    this._listenersSet.delete(listener);
-                }
-            });
+            ns.UpdateScheduler.schedule(this);
         }
 
         // noinspection JSMethodCanBeStatic
@@ -89,6 +88,14 @@
             }
         }
 
+        /**
+         * Return the actual listeners
+         * @returns {Set<function>}
+         * */
+        get listeners() {
+            return this._listenersSet;
+        }
+
         /**
          * Return the number of actual listeners
          * @returns {number}